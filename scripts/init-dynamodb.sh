@@ -65,6 +65,85 @@ aws dynamodb create-table $AWS_ARGS \
     --provisioned-throughput \
         ReadCapacityUnits=5,WriteCapacityUnits=5
 
+# Create ProcessedMessage table (webhook deduplication)
+echo "Creating ProcessedMessage table..."
+aws dynamodb create-table $AWS_ARGS \
+    --table-name ProcessedMessage \
+    --attribute-definitions \
+        AttributeName=messageId,AttributeType=S \
+    --key-schema \
+        AttributeName=messageId,KeyType=HASH \
+    --provisioned-throughput \
+        ReadCapacityUnits=5,WriteCapacityUnits=5
+
+aws dynamodb update-time-to-live $AWS_ARGS \
+    --table-name ProcessedMessage \
+    --time-to-live-specification "Enabled=true, AttributeName=expiresAt"
+
+# Create Idempotency table (stored responses for retried requests)
+echo "Creating Idempotency table..."
+aws dynamodb create-table $AWS_ARGS \
+    --table-name Idempotency \
+    --attribute-definitions \
+        AttributeName=idempotencyKey,AttributeType=S \
+    --key-schema \
+        AttributeName=idempotencyKey,KeyType=HASH \
+    --provisioned-throughput \
+        ReadCapacityUnits=5,WriteCapacityUnits=5
+
+aws dynamodb update-time-to-live $AWS_ARGS \
+    --table-name Idempotency \
+    --time-to-live-specification "Enabled=true, AttributeName=expiresAt"
+
+# Create MessageDelivery table (outbound message status tracking)
+echo "Creating MessageDelivery table..."
+aws dynamodb create-table $AWS_ARGS \
+    --table-name MessageDelivery \
+    --attribute-definitions \
+        AttributeName=messageId,AttributeType=S \
+        AttributeName=eventId,AttributeType=S \
+    --key-schema \
+        AttributeName=messageId,KeyType=HASH \
+    --global-secondary-indexes \
+        "[
+            {
+                \"IndexName\": \"eventId-index\",
+                \"KeySchema\": [{\"AttributeName\":\"eventId\",\"KeyType\":\"HASH\"}],
+                \"Projection\": {\"ProjectionType\":\"ALL\"},
+                \"ProvisionedThroughput\": {\"ReadCapacityUnits\":5,\"WriteCapacityUnits\":5}
+            }
+        ]" \
+    --provisioned-throughput \
+        ReadCapacityUnits=5,WriteCapacityUnits=5
+
+# Create EventArchive table (finished events, one partition per month)
+echo "Creating EventArchive table..."
+aws dynamodb create-table $AWS_ARGS \
+    --table-name EventArchive \
+    --attribute-definitions \
+        AttributeName=archiveMonth,AttributeType=S \
+        AttributeName=eventKey,AttributeType=S \
+    --key-schema \
+        AttributeName=archiveMonth,KeyType=HASH \
+        AttributeName=eventKey,KeyType=RANGE \
+    --provisioned-throughput \
+        ReadCapacityUnits=5,WriteCapacityUnits=5
+
+# Create Lease table (cluster shard leases)
+echo "Creating Lease table..."
+aws dynamodb create-table $AWS_ARGS \
+    --table-name Lease \
+    --attribute-definitions \
+        AttributeName=leaseKey,AttributeType=S \
+    --key-schema \
+        AttributeName=leaseKey,KeyType=HASH \
+    --provisioned-throughput \
+        ReadCapacityUnits=5,WriteCapacityUnits=5
+
+aws dynamodb update-time-to-live $AWS_ARGS \
+    --table-name Lease \
+    --time-to-live-specification "Enabled=true, AttributeName=deleteAt"
+
 echo "All tables created successfully!"
 
 # List tables to verify
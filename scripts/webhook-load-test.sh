@@ -0,0 +1,45 @@
+#!/bin/bash
+
+# Drives the webhook -> processing -> outbound path against a local instance
+# started with the loadtest profile:
+#   ./mvnw spring-boot:run -Dspring.profiles.active=local,loadtest
+#
+# Usage: ./scripts/webhook-load-test.sh [requests] [concurrency] [messages-per-request]
+
+set -e
+
+REQUESTS=${1:-500}
+CONCURRENCY=${2:-20}
+BATCH=${3:-5}
+APP_URL=${APP_URL:-http://localhost:8080}
+SIMULATOR_URL=${SIMULATOR_URL:-http://localhost:8089}
+
+post_batch() {
+    local request=$1
+    local messages=""
+    for ((i = 0; i < BATCH; i++)); do
+        local sender=$(printf "3160%07d" $(( (request * BATCH + i) % 5000 )))
+        [ -n "$messages" ] && messages="$messages,"
+        messages="$messages{\"id\":\"wamid.LOAD$request-$i-$RANDOM\",\"from\":\"$sender\",\"type\":\"text\",\"text\":{\"body\":\"HELP\"}}"
+    done
+    curl -s -o /dev/null -w "%{http_code}\n" -X POST "$APP_URL/api/webhook" \
+        -H "Content-Type: application/json" \
+        -d "{\"object\":\"whatsapp_business_account\",\"entry\":[{\"changes\":[{\"value\":{\"messages\":[$messages]}}]}]}"
+}
+export -f post_batch
+export APP_URL BATCH
+
+echo "Resetting simulator..."
+curl -s -X DELETE "$SIMULATOR_URL/__simulator/messages" > /dev/null
+
+echo "Posting $REQUESTS webhook calls ($BATCH messages each) with concurrency $CONCURRENCY..."
+START=$(date +%s.%N)
+seq 1 "$REQUESTS" | xargs -P "$CONCURRENCY" -I {} bash -c 'post_batch {}' | sort | uniq -c
+END=$(date +%s.%N)
+
+echo "Webhook calls took $(echo "$END - $START" | bc) s"
+echo "Waiting for outbound sends to drain..."
+sleep 5
+echo "Simulator stats:"
+curl -s "$SIMULATOR_URL/__simulator/stats"
+echo
@@ -17,6 +17,28 @@ public class OpenAIConfig {
     @Value("${openai.api.max-tokens:150}")
     private Integer maxTokens;
 
+    @Value("${openai.api.url:https://api.openai.com/v1/chat/completions}")
+    private String url;
+
+    // Deadline for one chat-completions call, after which the regex parser is used
+    @Value("${openai.api.timeout-ms:3000}")
+    private Long timeoutMs;
+
+    // Calls in flight at once; requests beyond this skip the API and use the regex parser
+    @Value("${openai.api.max-concurrent-requests:16}")
+    private Integer maxConcurrentRequests;
+
+    // Requests the local extractor understands with at least this confidence never reach the API
+    @Value("${openai.fast-path.min-confidence:0.8}")
+    private Double minLocalConfidence;
+
+    // Requests arriving within this window share one API call, up to batch-max-size messages
+    @Value("${openai.batch.window-ms:20}")
+    private Long batchWindowMs;
+
+    @Value("${openai.batch.max-size:8}")
+    private Integer batchMaxSize;
+
     public String getApiKey() {
         return apiKey;
     }
@@ -32,4 +54,28 @@ public class OpenAIConfig {
     public Integer getMaxTokens() {
         return maxTokens;
     }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public Double getMinLocalConfidence() {
+        return minLocalConfidence;
+    }
+
+    public Long getBatchWindowMs() {
+        return batchWindowMs;
+    }
+
+    public Integer getBatchMaxSize() {
+        return batchMaxSize;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.socialsports.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Task schedulers for @Scheduled jobs, one pool per job class so a slow job cannot
+ * hold back jobs of another class. Jobs pick their pool with
+ * {@code @Scheduled(scheduler = ...)}; jobs that name none run on the background pool,
+ * registered under Spring's default "taskScheduler" name.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    /** Reminder reconciliation scan */
+    public static final String REMINDERS_SCHEDULER = "remindersTaskScheduler";
+    /** Long running maintenance: stats refresh, event archival */
+    public static final String MAINTENANCE_SCHEDULER = "maintenanceTaskScheduler";
+    /** Shard lease heartbeat alone, so no other job can delay renewal past the lease TTL */
+    public static final String LEASES_SCHEDULER = "leasesTaskScheduler";
+    /** Short, frequent housekeeping: delivery flushes, evictions, feed heartbeats */
+    public static final String BACKGROUND_SCHEDULER = "taskScheduler";
+
+    @Bean(name = REMINDERS_SCHEDULER)
+    public ThreadPoolTaskScheduler remindersTaskScheduler(
+            @Value("${scheduling.pools.reminders.size:1}") int poolSize) {
+        return taskScheduler("sched-reminders-", poolSize);
+    }
+
+    @Bean(name = MAINTENANCE_SCHEDULER)
+    public ThreadPoolTaskScheduler maintenanceTaskScheduler(
+            @Value("${scheduling.pools.maintenance.size:2}") int poolSize) {
+        return taskScheduler("sched-maintenance-", poolSize);
+    }
+
+    @Bean(name = LEASES_SCHEDULER)
+    public ThreadPoolTaskScheduler leasesTaskScheduler() {
+        return taskScheduler("sched-leases-", 1);
+    }
+
+    @Bean(name = BACKGROUND_SCHEDULER)
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${scheduling.pools.background.size:2}") int poolSize) {
+        return taskScheduler("sched-background-", poolSize);
+    }
+
+    private static ThreadPoolTaskScheduler taskScheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        scheduler.setRemoveOnCancelPolicy(true);
+        // Let a running job finish its batch on shutdown rather than interrupting it halfway
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+}
@@ -1,7 +1,9 @@
 package com.socialsports.config;
 
 import com.socialsports.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,15 +24,27 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
 
+    // Whether the WhatsApp webhook is reachable without a JWT (e.g. for load tests)
+    @Value("${security.webhook.public:false}")
+    private boolean publicWebhook;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        if (publicWebhook) {
+            http.authorizeHttpRequests().requestMatchers("/api/webhook").permitAll();
+        }
+
         http
             .csrf().disable()
             .cors().configurationSource(corsConfigurationSource())
             .and()
             .authorizeHttpRequests()
+            // Async results (e.g. /api/events/parse) are re-dispatched after the original request was authorized
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/api/users/register", "/api/users/login", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
             .requestMatchers("/api/events/sport-types").permitAll()
+            // Browser EventSource cannot send an Authorization header; the feed only carries event summaries
+            .requestMatchers("/api/events/feed").permitAll()
             .requestMatchers("/api/stats").permitAll()
             .anyRequest().authenticated()
             .and()
@@ -46,8 +60,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token"));
-        configuration.setExposedHeaders(Arrays.asList("x-auth-token"));
+        configuration.setAllowedHeaders(Arrays.asList("authorization", "content-type", "x-auth-token", "idempotency-key"));
+        configuration.setExposedHeaders(Arrays.asList("x-auth-token", "idempotent-replayed", "x-export-watermark"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
@@ -0,0 +1,54 @@
+package com.socialsports.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialsports.simulator.ChatCompletionsSimulator;
+import com.socialsports.simulator.GraphApiSimulator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Starts in-process stand-ins for upstream APIs when the "loadtest" profile is active
+ */
+@Configuration
+@Profile("loadtest")
+public class SimulatorConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public GraphApiSimulator graphApiSimulator(
+            ObjectMapper objectMapper,
+            @Value("${simulator.graph.port:8089}") int port,
+            @Value("${simulator.graph.latency-ms:150}") long latencyMs,
+            @Value("${simulator.graph.latency-jitter-ms:50}") long latencyJitterMs,
+            @Value("${simulator.graph.error-rate:0.0}") double errorRate,
+            @Value("${simulator.graph.rate-limit-rate:0.0}") double rateLimitRate,
+            @Value("${simulator.graph.max-recorded:10000}") int maxRecorded) {
+        return new GraphApiSimulator(objectMapper, new GraphApiSimulator.Settings(
+                port, latencyMs, latencyJitterMs, errorRate, rateLimitRate, maxRecorded));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ChatCompletionsSimulator chatCompletionsSimulator(
+            ObjectMapper objectMapper,
+            @Value("${simulator.openai.port:8090}") int port,
+            @Value("${simulator.openai.latency-ms:800}") long latencyMs,
+            @Value("${simulator.openai.latency-jitter-ms:400}") long latencyJitterMs,
+            @Value("${simulator.openai.error-rate:0.0}") double errorRate,
+            @Value("${simulator.openai.rate-limit-rate:0.0}") double rateLimitRate,
+            @Value("${simulator.openai.script-path:}") String scriptPath) throws IOException {
+        ChatCompletionsSimulator simulator = new ChatCompletionsSimulator(objectMapper,
+                new ChatCompletionsSimulator.Settings(port, latencyMs, latencyJitterMs, errorRate, rateLimitRate));
+        if (!scriptPath.isBlank()) {
+            try (InputStream script = Files.newInputStream(Path.of(scriptPath))) {
+                simulator.loadScript(script);
+            }
+        }
+        return simulator;
+    }
+}
@@ -0,0 +1,20 @@
+package com.socialsports.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Answers invalid request input, such as an unknown summary field, with a 400 response
+ * that carries the reason
+ */
+@RestControllerAdvice(assignableTypes = {EventController.class, TestDataController.class})
+public class BadRequestHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -0,0 +1,41 @@
+package com.socialsports.controller;
+
+import com.socialsports.model.DeliveryStats;
+import com.socialsports.service.DeliveryTrackingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/deliveries")
+@RequiredArgsConstructor
+@Tag(name = "Deliveries", description = "Outbound WhatsApp message delivery tracking")
+public class DeliveryController {
+
+    private final DeliveryTrackingService deliveryTrackingService;
+
+    /**
+     * Get delivery metrics for the messages sent about an event.
+     * Queue latency (our side) and upstream latency (WhatsApp side) are reported separately.
+     *
+     * @param eventId ID of the event
+     * @return Delivery counts, rates and latency percentiles
+     */
+    @Operation(summary = "Get delivery stats for an event")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Retrieved delivery stats")
+    })
+    @GetMapping("/events/{eventId}")
+    public ResponseEntity<DeliveryStats> getEventDeliveryStats(
+            @Parameter(description = "ID of the event") @PathVariable String eventId) {
+        return ResponseEntity.ok(deliveryTrackingService.getEventDeliveryStats(eventId));
+    }
+}
@@ -2,6 +2,7 @@ package com.socialsports.controller;
 
 import com.socialsports.model.Event;
 import com.socialsports.model.EventStatus;
+import com.socialsports.model.EventSummary;
 import com.socialsports.model.SportType;
 import com.socialsports.service.EventService;
 import com.socialsports.service.LLMService;
@@ -24,6 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/events")
@@ -38,16 +41,21 @@ public class EventController {
 
     @Operation(summary = "Get all upcoming events with pagination and filtering")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Retrieved all upcoming events")
+        @ApiResponse(responseCode = "200", description = "Retrieved all upcoming events"),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested")
     })
     @GetMapping
-    public ResponseEntity<List<Event>> getUpcomingEvents(
+    public ResponseEntity<List<EventSummary>> getUpcomingEvents(
             @RequestParam(required = false) SportType sportType,
             @RequestParam(required = false) Integer skillLevel,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma separated summary fields to return, e.g. id,eventTime,participantCount")
+            @RequestParam(required = false) String fields) {
         
-        List<Event> events = eventService.getUpcomingEvents(sportType, skillLevel, page, size);
+        Set<String> summaryFields = EventSummary.parseFields(fields);
+        List<EventSummary> events = eventService.getUpcomingEventSummaries(sportType, skillLevel, page, size,
+                summaryFields);
         return ResponseEntity.ok(events);
     }
 
@@ -99,14 +107,22 @@ public class EventController {
         @ApiResponse(responseCode = "400", description = "Failed to parse the request")
     })
     @PostMapping("/parse")
-    public ResponseEntity<Map<String, Object>> parseEventRequest(@RequestBody Map<String, String> request) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> parseEventRequest(@RequestBody Map<String, String> request) {
+        String message = request.get("message");
+        if (message == null || message.isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        // Completed asynchronously so the request thread is released while the LLM call is in flight
         try {
-            String message = request.get("message");
-            Map<String, Object> parsedEvent = llmService.parseNaturalLanguageEventRequest(message);
-            return ResponseEntity.ok(parsedEvent);
+            return llmService.parseNaturalLanguageEventRequestAsync(message)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> {
+                        log.error("Error parsing natural language event request", e);
+                        return ResponseEntity.badRequest().build();
+                    });
         } catch (Exception e) {
             log.error("Error parsing natural language event request", e);
-            return ResponseEntity.badRequest().build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
     }
 
@@ -171,21 +187,27 @@ public class EventController {
      * @param skillLevel Optional skill level filter
      * @param page Page number for pagination
      * @param size Page size for pagination
-     * @return List of events the user is participating in
+     * @param fields Optional sparse fieldset of summary fields
+     * @return Summaries of the events the user is participating in
      */
     @Operation(summary = "Get events for a specific user")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Retrieved user events successfully")
+        @ApiResponse(responseCode = "200", description = "Retrieved user events successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown field requested")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Event>> getUserEvents(
+    public ResponseEntity<List<EventSummary>> getUserEvents(
             @Parameter(description = "ID of the user to get events for") @PathVariable String userId,
             @RequestParam(required = false) SportType sportType,
             @RequestParam(required = false) Integer skillLevel,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma separated summary fields to return, e.g. id,eventTime,participantCount")
+            @RequestParam(required = false) String fields) {
         
-        List<Event> events = eventService.getUserEvents(userId, sportType, skillLevel, page, size);
+        Set<String> summaryFields = EventSummary.parseFields(fields);
+        List<EventSummary> events = eventService.getUserEventSummaries(userId, sportType, skillLevel, page, size,
+                summaryFields);
         return ResponseEntity.ok(events);
     }
     
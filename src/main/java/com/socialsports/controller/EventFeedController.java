@@ -0,0 +1,59 @@
+package com.socialsports.controller;
+
+import com.socialsports.model.SportType;
+import com.socialsports.service.EventFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Live feed of event changes as server-sent events. Each change arrives as an SSE event
+ * named after its type (created, participant_joined, participant_left, canceled, completed)
+ * with the event's summary as JSON data. Clients load GET /api/events once and then
+ * apply these updates instead of polling.
+ */
+@RestController
+@RequestMapping("/api/events")
+@Tag(name = "Events", description = "Event management endpoints")
+public class EventFeedController {
+
+    private final EventFeed eventFeed;
+
+    public EventFeedController(EventFeed eventFeed) {
+        this.eventFeed = eventFeed;
+    }
+
+    @Operation(summary = "Subscribe to event changes as server-sent events")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Subscribed, updates follow as they happen"),
+        @ApiResponse(responseCode = "503", description = "Too many subscribers on this node, retry later")
+    })
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(
+            @RequestParam(required = false) SportType sportType,
+            @RequestParam(required = false) Integer skillLevel,
+            @Parameter(description = "Only changes to these events, comma separated")
+            @RequestParam(required = false) List<String> eventIds) {
+
+        EventFeed.Filter filter = new EventFeed.Filter(sportType, skillLevel,
+                eventIds == null ? null : Set.copyOf(eventIds));
+        try {
+            return ResponseEntity.ok(eventFeed.subscribe(filter));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
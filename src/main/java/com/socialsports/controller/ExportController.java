@@ -0,0 +1,96 @@
+package com.socialsports.controller;
+
+import com.socialsports.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming exports of whole tables as NDJSON, gzip compressed when the client accepts it.
+ * The X-Export-Watermark response header holds the time the export started; passing it
+ * as {@code since} on the next export fetches only what changed in between.
+ * Only active with export.enabled=true, as exports include every user's phone number.
+ */
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "Bulk NDJSON exports")
+@ConditionalOnProperty(name = "export.enabled", havingValue = "true")
+public class ExportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String WATERMARK_HEADER = "X-Export-Watermark";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        long writeTo(OutputStream out) throws IOException;
+    }
+
+    @Operation(summary = "Export events as NDJSON")
+    @GetMapping("/events")
+    public void exportEvents(
+            @Parameter(description = "Only events updated at or after this time, e.g. the previous export's watermark")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+
+        stream(response, "events", acceptEncoding, out -> exportService.exportEvents(since, out));
+    }
+
+    @Operation(summary = "Export users as NDJSON")
+    @GetMapping("/users")
+    public void exportUsers(
+            @Parameter(description = "Only users updated at or after this time, e.g. the previous export's watermark")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+
+        stream(response, "users", acceptEncoding, out -> exportService.exportUsers(since, out));
+    }
+
+    private static void stream(HttpServletResponse response, String name, String acceptEncoding, Export export)
+            throws IOException {
+        // Taken before the scan starts, so changes made during the export are picked up by the next one
+        String watermark = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + ".ndjson\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(WATERMARK_HEADER, watermark);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            export.writeTo(compressed);
+            compressed.finish();
+        } else {
+            export.writeTo(out);
+        }
+        out.flush();
+    }
+}
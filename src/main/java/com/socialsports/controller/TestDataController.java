@@ -1,6 +1,7 @@
 package com.socialsports.controller;
 
 import com.socialsports.model.Event;
+import com.socialsports.model.EventSummary;
 import com.socialsports.model.User;
 import com.socialsports.repository.EventRepository;
 import com.socialsports.repository.UserRepository;
@@ -9,11 +10,14 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Controller for test data related endpoints.
@@ -82,10 +86,15 @@ public class TestDataController {
     /**
      * Get all test events.
      *
-     * @return A list of all test events
+     * @param fields Optional comma separated summary fields to return
+     * @return Summaries of all test events
      */
     @GetMapping("/events")
-    public ResponseEntity<List<Event>> getAllTestEvents() {
-        return ResponseEntity.ok(eventRepository.findAll());
+    public ResponseEntity<List<EventSummary>> getAllTestEvents(@RequestParam(required = false) String fields) {
+        Set<String> summaryFields = EventSummary.parseFields(fields);
+        List<EventSummary> events = eventRepository.findAll(EventSummary.attributesFor(summaryFields)).stream()
+                .map(event -> EventSummary.from(event, summaryFields))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(events);
     }
 } 
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.socialsports.controller;
 
-import com.socialsports.service.MessageProcessingService;
+import com.socialsports.model.WebhookPayload;
+import com.socialsports.service.DeliveryTrackingService;
+import com.socialsports.service.MessageDispatcher;
+import com.socialsports.util.LogRedaction;
+import com.socialsports.util.WebhookPayloadParser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,11 +14,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/webhook")
@@ -23,7 +30,13 @@ import java.util.Map;
 @Tag(name = "WhatsApp Webhook", description = "WhatsApp webhook endpoints for message handling")
 public class WhatsAppWebhookController {
 
-    private final MessageProcessingService messageProcessingService;
+    private final MessageDispatcher messageDispatcher;
+    private final WebhookPayloadParser webhookPayloadParser;
+    private final DeliveryTrackingService deliveryTrackingService;
+
+    // Fraction of webhook calls whose (redacted) summary is logged at INFO
+    @Value("${webhook.log.sample-rate:0.01}")
+    private double logSampleRate;
 
     /**
      * Handles WhatsApp API verification
@@ -54,71 +67,50 @@ public class WhatsAppWebhookController {
      */
     @Operation(summary = "Receive WhatsApp messages", description = "Endpoint that receives incoming messages from WhatsApp")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Message received and processed")
+        @ApiResponse(responseCode = "200", description = "Messages and status callbacks received and queued for processing")
     })
     @PostMapping
     public ResponseEntity<String> receiveMessage(
             @Parameter(description = "WhatsApp message payload", required = true) 
-            @RequestBody Map<String, Object> payload) {
-        log.info("Received webhook payload: {}", payload);
-        
+            @RequestBody byte[] body) {
         try {
-            // Extract the relevant data from the payload
-            // Note: This is a simplified example. In a real implementation, 
-            // you would need to handle the actual WhatsApp API payload structure
-            
-            // For Twilio
-            if (payload.containsKey("From") && payload.containsKey("Body")) {
-                String from = (String) payload.get("From");
-                String body = (String) payload.get("Body");
-                
-                messageProcessingService.processMessage(from, body);
-                return ResponseEntity.ok().build();
+            WebhookPayload payload = webhookPayloadParser.parse(body);
+            logPayload(payload, body.length);
+
+            if (!payload.getMessages().isEmpty()) {
+                messageDispatcher.dispatchAll(payload.getMessages());
             }
-            
-            // For WhatsApp Business API
-            if (payload.containsKey("entry")) {
-                // Extract the sender and message from the WhatsApp Business API payload
-                // This is a simplified example - actual parsing will depend on the exact structure
-                
-                @SuppressWarnings("unchecked")
-                var entries = (java.util.List<Map<String, Object>>) payload.get("entry");
-                
-                if (!entries.isEmpty()) {
-                    @SuppressWarnings("unchecked")
-                    var changes = (java.util.List<Map<String, Object>>) entries.get(0).get("changes");
-                    
-                    if (!changes.isEmpty()) {
-                        @SuppressWarnings("unchecked")
-                        var value = (Map<String, Object>) changes.get(0).get("value");
-                        
-                        @SuppressWarnings("unchecked")
-                        var messages = (java.util.List<Map<String, Object>>) value.get("messages");
-                        
-                        if (messages != null && !messages.isEmpty()) {
-                            var message = messages.get(0);
-                            var from = (String) message.get("from");
-                            
-                            @SuppressWarnings("unchecked")
-                            var text = (Map<String, Object>) message.get("text");
-                            
-                            if (text != null) {
-                                var body = (String) text.get("body");
-                                messageProcessingService.processMessage(from, body);
-                            }
-                        }
-                    }
-                }
-                
-                return ResponseEntity.ok().build();
+            if (!payload.getStatuses().isEmpty()) {
+                deliveryTrackingService.recordStatusUpdates(payload.getStatuses());
             }
-            
-            log.warn("Unsupported payload format");
-            return ResponseEntity.ok().build(); // Always return 200 to WhatsApp
-            
+        } catch (IOException e) {
+            log.warn("Unparseable webhook payload ({} bytes): {}", body.length, e.getMessage());
         } catch (Exception e) {
             log.error("Error processing webhook payload", e);
-            return ResponseEntity.ok().build(); // Always return 200 to WhatsApp
+        }
+        return ResponseEntity.ok().build(); // Always return 200 to WhatsApp
+    }
+
+    /**
+     * Logs a redacted summary of the payload: a debug line per call and an info line
+     * for a sampled fraction. Message bodies and full phone numbers are never logged.
+     */
+    private void logPayload(WebhookPayload payload, int size) {
+        boolean sampled = logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+        if (!sampled && !log.isDebugEnabled()) {
+            return;
+        }
+
+        String senders = payload.getMessages().stream()
+                .map(message -> LogRedaction.phoneNumber(message.getFrom()))
+                .collect(Collectors.joining(", "));
+        String summary = String.format("format=%s bytes=%d messages=%d statuses=%d senders=[%s]",
+                payload.getFormat(), size, payload.getMessages().size(), payload.getStatuses().size(), senders);
+
+        if (sampled) {
+            log.info("Received webhook payload (sampled): {}", summary);
+        } else {
+            log.debug("Received webhook payload: {}", summary);
         }
     }
-}
\ No newline at end of file
+}
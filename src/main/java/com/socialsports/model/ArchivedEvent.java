@@ -0,0 +1,53 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A finished (completed or canceled) event moved out of the Event table.
+ * Partitioned by the month the event took place, so a month of history is one query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class ArchivedEvent {
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private String archiveMonth;  // yyyy-MM of the event time
+    private String eventKey;      // Event time and ID, sorts a month chronologically
+    private Event event;
+    private LocalDateTime archivedAt;
+
+    @DynamoDbPartitionKey
+    public String getArchiveMonth() {
+        return archiveMonth;
+    }
+
+    @DynamoDbSortKey
+    public String getEventKey() {
+        return eventKey;
+    }
+
+    public static String monthOf(LocalDateTime eventTime) {
+        return eventTime.format(MONTH);
+    }
+
+    public static ArchivedEvent of(Event event, LocalDateTime archivedAt) {
+        return ArchivedEvent.builder()
+                .archiveMonth(monthOf(event.getEventTime()))
+                .eventKey(event.getEventTimeString() + "#" + event.getId())
+                .event(event)
+                .archivedAt(archivedAt)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.socialsports.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A chat message parsed into its command and argument.
+ * For JOIN, LEAVE and CANCEL the argument is the event ID; for CREATE EVENT it is
+ * the remainder of the message after the keywords. Commands without an argument
+ * are shared instances.
+ */
+public final class Command {
+
+    private static final Map<CommandType, Command> NO_ARGUMENT = new EnumMap<>(CommandType.class);
+
+    static {
+        for (CommandType type : CommandType.values()) {
+            NO_ARGUMENT.put(type, new Command(type, null));
+        }
+    }
+
+    private final CommandType type;
+    private final String argument;
+
+    private Command(CommandType type, String argument) {
+        this.type = type;
+        this.argument = argument;
+    }
+
+    public static Command of(CommandType type, String argument) {
+        return argument == null ? NO_ARGUMENT.get(type) : new Command(type, argument);
+    }
+
+    public CommandType getType() {
+        return type;
+    }
+
+    public String getArgument() {
+        return argument;
+    }
+
+    @Override
+    public String toString() {
+        return argument == null ? type.name() : type + " " + argument;
+    }
+}
@@ -0,0 +1,11 @@
+package com.socialsports.model;
+
+public enum CommandType {
+    JOIN,
+    LEAVE,
+    CANCEL,
+    CREATE_EVENT,
+    EVENTS,
+    HELP,
+    UNKNOWN
+}
@@ -0,0 +1,28 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Delivery metrics for the outbound messages of one event
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryStats {
+    private String eventId;
+    private int totalMessages;
+    private Map<DeliveryStatus, Integer> byStatus;  // Current status counts
+    private double deliveryRate;                    // Delivered or read / total
+    private double readRate;                        // Read / total
+    private double failureRate;                     // Failed / total
+    private Long medianQueueMillis;                 // Queued in our app -> accepted by the Graph API
+    private Long p95QueueMillis;
+    private Long medianUpstreamMillis;              // Accepted by the Graph API -> delivered to the handset
+    private Long p95UpstreamMillis;
+}
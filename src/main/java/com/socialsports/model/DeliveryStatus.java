@@ -0,0 +1,25 @@
+package com.socialsports.model;
+
+/**
+ * Lifecycle of an outbound WhatsApp message, in progression order
+ */
+public enum DeliveryStatus {
+    ACCEPTED,   // Graph API accepted the send request
+    SENT,
+    DELIVERED,
+    READ,
+    FAILED;
+
+    public static DeliveryStatus fromWebhookValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value) {
+            case "sent" -> SENT;
+            case "delivered" -> DELIVERED;
+            case "read" -> READ;
+            case "failed" -> FAILED;
+            default -> null;
+        };
+    }
+}
@@ -29,6 +29,7 @@ public class Event {
     private String creatorPhoneNumber;
     private List<String> participantPhoneNumbers;
     private Integer participantLimit;
+    private List<String> waitlistPhoneNumbers; // Joined a full event, promoted in order when someone leaves
     private Integer skillLevel;
     private EventStatus status;
     private String whatsappGroupId;
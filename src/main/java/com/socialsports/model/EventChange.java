@@ -0,0 +1,21 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published by EventService after an event was saved
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChange {
+    private EventChangeType type;
+    private Event event;         // State after the change
+    private LocalDateTime occurredAt;
+}
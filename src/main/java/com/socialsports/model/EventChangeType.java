@@ -0,0 +1,10 @@
+package com.socialsports.model;
+
+public enum EventChangeType {
+    CREATED,
+    PARTICIPANT_JOINED,
+    PARTICIPANT_LEFT,
+    CANCELED,
+    COMPLETED,
+    REMINDER_SENT
+}
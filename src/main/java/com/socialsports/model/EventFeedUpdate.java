@@ -0,0 +1,23 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change pushed to event feed subscribers. Carries the event's list view,
+ * so live seat counts go out without participant phone numbers.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFeedUpdate {
+    private long sequence;          // Increases with every update sent by this node
+    private EventChangeType type;
+    private EventSummary event;     // State after the change
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,32 @@
+package com.socialsports.model;
+
+import java.util.Map;
+
+/**
+ * Event details extracted locally from a natural-language request, with a confidence
+ * score between 0 and 1 for how completely and unambiguously the request was understood.
+ * Details use the keys sportType, time, location and playerCount.
+ */
+public final class EventRequestExtraction {
+
+    private final Map<String, Object> details;
+    private final double confidence;
+
+    public EventRequestExtraction(Map<String, Object> details, double confidence) {
+        this.details = details;
+        this.confidence = confidence;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    @Override
+    public String toString() {
+        return details + " (confidence " + confidence + ")";
+    }
+}
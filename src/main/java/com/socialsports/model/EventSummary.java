@@ -0,0 +1,119 @@
+package com.socialsports.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * List view of an event: counts instead of participant phone numbers, and no
+ * reminder or group bookkeeping. With a sparse fieldset only the requested
+ * fields are filled in; unset fields are left out of the JSON.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventSummary {
+
+    // Summary field -> Event attributes it is built from, which are all a list query needs to read
+    private static final Map<String, Field> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", new Field(List.of("id"), (summary, event) -> summary.setId(event.getId())));
+        FIELDS.put("sportType", new Field(List.of("sportType"),
+                (summary, event) -> summary.setSportType(event.getSportType())));
+        FIELDS.put("location", new Field(List.of("location"),
+                (summary, event) -> summary.setLocation(event.getLocation())));
+        FIELDS.put("eventTime", new Field(List.of("eventTimeString"),
+                (summary, event) -> summary.setEventTime(event.getEventTime())));
+        FIELDS.put("status", new Field(List.of("status"), (summary, event) -> summary.setStatus(event.getStatus())));
+        FIELDS.put("skillLevel", new Field(List.of("skillLevel"),
+                (summary, event) -> summary.setSkillLevel(event.getSkillLevel())));
+        FIELDS.put("participantLimit", new Field(List.of("participantLimit"),
+                (summary, event) -> summary.setParticipantLimit(event.getParticipantLimit())));
+        FIELDS.put("participantCount", new Field(List.of("participantPhoneNumbers"),
+                (summary, event) -> summary.setParticipantCount(size(event.getParticipantPhoneNumbers()))));
+        FIELDS.put("waitlistCount", new Field(List.of("waitlistPhoneNumbers"),
+                (summary, event) -> summary.setWaitlistCount(size(event.getWaitlistPhoneNumbers()))));
+        FIELDS.put("bookingLink", new Field(List.of("bookingLink"),
+                (summary, event) -> summary.setBookingLink(event.getBookingLink())));
+    }
+
+    public static final Set<String> ALL_FIELDS = Collections.unmodifiableSet(FIELDS.keySet());
+
+    private record Field(List<String> attributes, BiConsumer<EventSummary, Event> copy) {
+    }
+
+    private String id;
+    private SportType sportType;
+    private String location;
+    private LocalDateTime eventTime;
+    private EventStatus status;
+    private Integer skillLevel;
+    private Integer participantLimit;
+    private Integer participantCount;
+    private Integer waitlistCount;
+    private String bookingLink;
+
+    public static EventSummary from(Event event) {
+        return from(event, ALL_FIELDS);
+    }
+
+    public static EventSummary from(Event event, Set<String> fields) {
+        EventSummary summary = new EventSummary();
+        fields.forEach(field -> FIELDS.get(field).copy().accept(summary, event));
+        return summary;
+    }
+
+    /**
+     * Parses a comma separated sparse fieldset, e.g. {@code id,eventTime,participantCount}
+     *
+     * @return The requested fields, or all fields when none are given
+     * @throws IllegalArgumentException for an unknown field name
+     */
+    public static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + ALL_FIELDS);
+            }
+            parsed.add(name);
+        }
+        return parsed.isEmpty() ? ALL_FIELDS : parsed;
+    }
+
+    /**
+     * Event attributes to read to build summaries with the given fields
+     *
+     * @param alsoRead Further attributes the caller needs, e.g. to filter on
+     */
+    public static Set<String> attributesFor(Set<String> fields, String... alsoRead) {
+        Set<String> attributes = new LinkedHashSet<>(Arrays.asList(alsoRead));
+        fields.forEach(field -> attributes.addAll(FIELDS.get(field).attributes()));
+        return attributes;
+    }
+
+    private static int size(List<String> list) {
+        return list == null ? 0 : list.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * A request made with an Idempotency-Key header and, once it finished, its response.
+ * Items expire through the DynamoDB TTL attribute {@code expiresAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class IdempotencyRecord {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    private String idempotencyKey;  // Caller, method, path and client key
+    private String requestHash;     // SHA-256 of the request body, to detect a key reused for another request
+    private String state;           // IN_PROGRESS or COMPLETED
+    private Long startedAt;         // Epoch millis
+    private Integer responseStatus;
+    private String contentType;
+    private String responseBody;
+    private Long expiresAt;         // Epoch seconds, used as DynamoDB TTL attribute
+
+    @DynamoDbPartitionKey
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
@@ -0,0 +1,19 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single inbound chat message extracted from a webhook payload
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboundMessage {
+    private String id;    // Provider message ID (WhatsApp "id" / Twilio "MessageSid")
+    private String from;  // Sender phone number
+    private String body;  // Text content
+}
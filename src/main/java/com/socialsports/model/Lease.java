@@ -0,0 +1,31 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * A time-limited claim by one application node, e.g. on a reminder shard ("reminders/3")
+ * or on its own liveness ("node/&lt;nodeId&gt;"). Holders renew before expiresAt;
+ * an expired lease may be taken over by any node.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class Lease {
+
+    private String leaseKey;
+    private String owner;       // Node ID of the holder
+    private Long expiresAt;     // Epoch millis
+    private Long deleteAt;      // Epoch seconds, DynamoDB TTL attribute, well after expiresAt
+
+    @DynamoDbPartitionKey
+    public String getLeaseKey() {
+        return leaseKey;
+    }
+}
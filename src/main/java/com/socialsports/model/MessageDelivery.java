@@ -0,0 +1,89 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+
+/**
+ * Delivery tracking record for one outbound WhatsApp message.
+ * Timestamps are epoch millis so an item stays small; a field is only set
+ * once the message reaches that state.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class MessageDelivery {
+
+    private String messageId;
+    private String eventId;
+    private String recipient;
+    private DeliveryStatus status;
+    private Long queuedAt;      // Handed to WhatsAppService
+    private Long acceptedAt;    // Accepted by the Graph API
+    private Long sentAt;
+    private Long deliveredAt;
+    private Long readAt;
+    private Long failedAt;
+    private Integer errorCode;
+
+    @DynamoDbPartitionKey
+    public String getMessageId() {
+        return messageId;
+    }
+
+    @DynamoDbSecondaryPartitionKey(indexNames = {"eventId-index"})
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Combines two partial records for the same message. Fields already set are kept,
+     * and the status only moves forward, so callbacks can be applied in any order.
+     */
+    public MessageDelivery merge(MessageDelivery other) {
+        eventId = eventId != null ? eventId : other.eventId;
+        recipient = recipient != null ? recipient : other.recipient;
+        queuedAt = queuedAt != null ? queuedAt : other.queuedAt;
+        acceptedAt = acceptedAt != null ? acceptedAt : other.acceptedAt;
+        sentAt = sentAt != null ? sentAt : other.sentAt;
+        deliveredAt = deliveredAt != null ? deliveredAt : other.deliveredAt;
+        readAt = readAt != null ? readAt : other.readAt;
+        failedAt = failedAt != null ? failedAt : other.failedAt;
+        errorCode = errorCode != null ? errorCode : other.errorCode;
+        if (status == null || (other.status != null && other.status.ordinal() > status.ordinal())) {
+            status = other.status;
+        }
+        return this;
+    }
+
+    /**
+     * Builds a partial record from a status callback
+     */
+    public static MessageDelivery fromStatusUpdate(StatusUpdate update) {
+        DeliveryStatus status = DeliveryStatus.fromWebhookValue(update.getStatus());
+        if (status == null) {
+            return null;
+        }
+        Long at = update.getTimestamp() != null ? update.getTimestamp() * 1000 : System.currentTimeMillis();
+        MessageDelivery delivery = MessageDelivery.builder()
+                .messageId(update.getMessageId())
+                .recipient(update.getRecipientId())
+                .status(status)
+                .errorCode(update.getErrorCode())
+                .build();
+        switch (status) {
+            case SENT -> delivery.setSentAt(at);
+            case DELIVERED -> delivery.setDeliveredAt(at);
+            case READ -> delivery.setReadAt(at);
+            case FAILED -> delivery.setFailedAt(at);
+            default -> { }
+        }
+        return delivery;
+    }
+}
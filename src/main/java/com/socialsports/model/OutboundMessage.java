@@ -0,0 +1,20 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A text message waiting to be sent through the Graph API
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboundMessage {
+    private String recipient;
+    private String body;
+    private String eventId;    // Event the message is about, if any
+    private long queuedAt;     // Epoch millis when the message was handed to WhatsAppService
+}
@@ -0,0 +1,28 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * Marker for an inbound webhook message that has already been processed.
+ * Items expire through the DynamoDB TTL attribute {@code expiresAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class ProcessedMessage {
+
+    private String messageId;
+    private Long expiresAt; // Epoch seconds, used as DynamoDB TTL attribute
+
+    @DynamoDbPartitionKey
+    public String getMessageId() {
+        return messageId;
+    }
+}
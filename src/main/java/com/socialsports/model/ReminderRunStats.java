@@ -0,0 +1,25 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one reminder scan over the upcoming events
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderRunStats {
+    private LocalDateTime startedAt;
+    private long durationMillis;
+    private int eventsScanned;       // Upcoming events returned by the scan
+    private int eventsProcessed;     // Of those, events in this node's shards
+    private int remindersSent;
+    private int eventsAutoCanceled;
+    private int failures;            // Events whose processing threw
+}
@@ -0,0 +1,28 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Last run and running totals of one scheduled job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobStatus {
+    private String job;
+    private Instant lastStartedAt;
+    private long lastDurationMillis;
+    private String lastOutcome;      // success or failure
+    private String lastError;
+    private boolean running;
+    private long runs;
+    private long failures;
+    private long overruns;           // Runs that took longer than the job's interval
+    private long misfires;           // Runs that started late against the job's interval
+}
@@ -0,0 +1,21 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A delivery status callback (sent/delivered/read/failed) for an outbound message
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusUpdate {
+    private String messageId;
+    private String status;       // Raw WhatsApp status value
+    private Long timestamp;      // Epoch seconds
+    private String recipientId;
+    private Integer errorCode;   // First error code for failed messages
+}
@@ -0,0 +1,7 @@
+package com.socialsports.model;
+
+public enum WebhookFormat {
+    CLOUD_API,
+    TWILIO,
+    UNKNOWN
+}
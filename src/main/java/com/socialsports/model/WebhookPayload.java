@@ -0,0 +1,24 @@
+package com.socialsports.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed view of an inbound webhook call, holding only the fields we act on
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookPayload {
+    private WebhookFormat format;
+    @Builder.Default
+    private List<InboundMessage> messages = new ArrayList<>();
+    @Builder.Default
+    private List<StatusUpdate> statuses = new ArrayList<>();
+}
@@ -0,0 +1,62 @@
+package com.socialsports.repository;
+
+import com.socialsports.model.ArchivedEvent;
+import com.socialsports.model.Event;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class EventArchiveRepository {
+
+    // DynamoDB limit per BatchWriteItem call
+    private static final int MAX_BATCH_WRITE = 25;
+
+    private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
+    private final DynamoDbTable<ArchivedEvent> archiveTable;
+
+    public EventArchiveRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        this.dynamoDbEnhancedClient = dynamoDbEnhancedClient;
+        this.archiveTable = dynamoDbEnhancedClient.table("EventArchive", TableSchema.fromBean(ArchivedEvent.class));
+    }
+
+    /**
+     * Writes the archived events in batches and returns those DynamoDB left unprocessed
+     */
+    public List<ArchivedEvent> saveAll(Collection<ArchivedEvent> archivedEvents) {
+        List<ArchivedEvent> unprocessed = new ArrayList<>();
+        List<ArchivedEvent> items = new ArrayList<>(archivedEvents);
+        for (int start = 0; start < items.size(); start += MAX_BATCH_WRITE) {
+            WriteBatch.Builder<ArchivedEvent> batch = WriteBatch.builder(ArchivedEvent.class)
+                    .mappedTableResource(archiveTable);
+            items.subList(start, Math.min(start + MAX_BATCH_WRITE, items.size())).forEach(batch::addPutItem);
+            BatchWriteResult result = dynamoDbEnhancedClient.batchWriteItem(r -> r.writeBatches(batch.build()));
+            unprocessed.addAll(result.unprocessedPutItemsForTable(archiveTable));
+        }
+        return unprocessed;
+    }
+
+    /**
+     * The events that took place in the given month
+     */
+    public List<Event> findByMonth(YearMonth month) {
+        QueryConditional queryConditional = QueryConditional
+                .keyEqualTo(Key.builder().partitionValue(month.toString()).build());
+
+        return archiveTable.query(queryConditional)
+                .items()
+                .stream()
+                .map(ArchivedEvent::getEvent)
+                .toList();
+    }
+}
@@ -5,20 +5,38 @@ import com.socialsports.model.EventStatus;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class EventRepository {
 
+    // DynamoDB limit per BatchWriteItem call
+    private static final int MAX_BATCH_WRITE = 25;
+
     private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
     private final DynamoDbTable<Event> eventTable;
 
@@ -32,10 +50,98 @@ public class EventRepository {
         return event;
     }
 
+    /**
+     * Saves an event unless the given reminder is already marked as sent in the stored item,
+     * so that only one node sends each reminder. Like {@link #saveIfParticipantsUnchanged} it also
+     * fails if the participants changed since the event was read, so the claim never overwrites a join.
+     *
+     * @return true if saved, false if another writer marked the reminder or changed the participants first
+     */
+    public boolean saveIfReminderNotSent(Event event, String reminder, int participantCount, int waitlistCount) {
+        Expression notSent = Expression.builder()
+                .expression("attribute_not_exists(#sent.#reminder) OR #sent.#reminder = :false")
+                .expressionNames(Map.of("#sent", "remindersSent", "#reminder", reminder))
+                .expressionValues(Map.of(":false", AttributeValue.builder().bool(false).build()))
+                .build();
+
+        return putIf(event, Expression.join(notSent,
+                participantsUnchanged(event, participantCount, waitlistCount), " AND "));
+    }
+
+    /**
+     * Saves an event unless its stored participant list or waitlist changed size since it was read,
+     * so that changes committed on different nodes do not overwrite each other. Unless the event
+     * being saved is itself a cancellation, the write also fails once the stored event is canceled.
+     *
+     * @return true if saved, false if another writer changed the participants first
+     */
+    public boolean saveIfParticipantsUnchanged(Event event, int participantCount, int waitlistCount) {
+        return putIf(event, participantsUnchanged(event, participantCount, waitlistCount));
+    }
+
+    private boolean putIf(Event event, Expression condition) {
+        try {
+            eventTable.putItem(PutItemEnhancedRequest.builder(Event.class)
+                    .item(event)
+                    .conditionExpression(condition)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    private static Expression participantsUnchanged(Event event, int participantCount, int waitlistCount) {
+        String expression = sizeIs("#participants", ":participants", participantCount)
+                + " AND " + sizeIs("#waitlist", ":waitlist", waitlistCount);
+        Map<String, String> names = new HashMap<>(Map.of(
+                "#participants", "participantPhoneNumbers", "#waitlist", "waitlistPhoneNumbers"));
+        Map<String, AttributeValue> values = new HashMap<>(Map.of(
+                ":participants", AttributeValue.builder().n(Integer.toString(participantCount)).build(),
+                ":waitlist", AttributeValue.builder().n(Integer.toString(waitlistCount)).build()));
+        if (event.getStatus() != EventStatus.CANCELED) {
+            // Keeps a change read before a cancellation from reopening the event
+            expression += " AND #status <> :canceled";
+            names.put("#status", "status");
+            values.put(":canceled", AttributeValue.builder().s(EventStatus.CANCELED.name()).build());
+        }
+        return Expression.builder()
+                .expression(expression)
+                .expressionNames(names)
+                .expressionValues(values)
+                .build();
+    }
+
+    private static String sizeIs(String name, String value, int size) {
+        // Empty lists may not be stored at all
+        return size == 0
+                ? "(attribute_not_exists(" + name + ") OR size(" + name + ") = " + value + ")"
+                : "size(" + name + ") = " + value;
+    }
+
+    /**
+     * Reads one event by its full primary key, strongly consistent so that a retry after
+     * a lost conditional write sees the winning change
+     */
+    public Optional<Event> findByKey(String id, String eventTimeString) {
+        return Optional.ofNullable(eventTable.getItem(GetItemEnhancedRequest.builder()
+                .key(Key.builder().partitionValue(id).sortValue(eventTimeString).build())
+                .consistentRead(true)
+                .build()));
+    }
+
+    /**
+     * Finds an event by its ID alone. The ID is the partition key, so this queries that one
+     * partition instead of scanning the table; use {@link #findByKey} when the sort key is known.
+     */
     public Optional<Event> findById(String id) {
-        return eventTable.scan().items()
+        return eventTable.query(QueryEnhancedRequest.builder()
+                        .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(id).build()))
+                        .consistentRead(true)
+                        .limit(1)
+                        .build())
+                .items()
                 .stream()
-                .filter(event -> event.getId().equals(id))
                 .findFirst();
     }
     
@@ -47,6 +153,17 @@ public class EventRepository {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Upcoming events with only the given attributes read, for list views.
+     * Attributes needed for the upcoming filter itself are always read.
+     */
+    public List<Event> findUpcomingEvents(LocalDateTime fromDateTime, Collection<String> attributes) {
+        return scan(attributes, "id", "eventTimeString", "status")
+                .filter(event -> event.getEventTime().isAfter(fromDateTime) &&
+                        !event.getStatus().equals(EventStatus.CANCELED))
+                .collect(Collectors.toList());
+    }
+    
     public List<Event> findEventsByCreator(String creatorPhoneNumber) {
         // Note: In a real implementation, this would require a secondary index on creatorPhoneNumber
         // For demo purposes, this simplified approach scans all items
@@ -60,6 +177,35 @@ public class EventRepository {
         eventTable.deleteItem(event);
     }
     
+    /**
+     * Deletes the events in batches and returns those DynamoDB left unprocessed
+     */
+    public List<Event> deleteAll(Collection<Event> events) {
+        List<Event> unprocessed = new ArrayList<>();
+        List<Event> items = new ArrayList<>(events);
+        for (int start = 0; start < items.size(); start += MAX_BATCH_WRITE) {
+            WriteBatch.Builder<Event> batch = WriteBatch.builder(Event.class)
+                    .mappedTableResource(eventTable);
+            items.subList(start, Math.min(start + MAX_BATCH_WRITE, items.size())).forEach(batch::addDeleteItem);
+            BatchWriteResult result = dynamoDbEnhancedClient.batchWriteItem(r -> r.writeBatches(batch.build()));
+            result.unprocessedDeleteItemsForTable(eventTable).forEach(key -> items.stream()
+                    .filter(event -> key.equals(eventTable.keyFrom(event)))
+                    .findFirst()
+                    .ifPresent(unprocessed::add));
+        }
+        return unprocessed;
+    }
+    
+    /**
+     * Find events that started before the given time, whatever their status
+     */
+    public List<Event> findStartedBefore(LocalDateTime cutoff) {
+        return eventTable.scan().items()
+                .stream()
+                .filter(event -> event.getEventTime().isBefore(cutoff))
+                .collect(Collectors.toList());
+    }
+    
     /**
      * Find all events in the database.
      * 
@@ -73,6 +219,13 @@ public class EventRepository {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * All events with only the given attributes read
+     */
+    public List<Event> findAll(Collection<String> attributes) {
+        return scan(attributes).collect(Collectors.toList());
+    }
+    
     /**
      * Find events where the specified user is a participant.
      * 
@@ -88,4 +241,49 @@ public class EventRepository {
                 .filter(event -> !event.getStatus().equals(EventStatus.CANCELED))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+    
+    /**
+     * Events where the user is a participant, with only the given attributes read
+     */
+    public List<Event> findEventsByParticipant(String userId, LocalDateTime fromDateTime,
+                                               Collection<String> attributes) {
+        return scan(attributes, "id", "eventTimeString", "status", "participantPhoneNumbers")
+                .filter(event -> event.getParticipantPhoneNumbers() != null
+                        && event.getParticipantPhoneNumbers().contains(userId))
+                .filter(event -> fromDateTime == null || event.getEventTime().isAfter(fromDateTime))
+                .filter(event -> !event.getStatus().equals(EventStatus.CANCELED))
+                .collect(Collectors.toList());
+    }
+
+    private Stream<Event> scan(Collection<String> attributes, String... alwaysRead) {
+        // A projection keeps large attributes such as remindersSent out of the read entirely
+        Set<String> projection = new LinkedHashSet<>(attributes);
+        projection.addAll(Arrays.asList(alwaysRead));
+        return eventTable.scan(ScanEnhancedRequest.builder()
+                        .attributesToProject(projection)
+                        .build())
+                .items()
+                .stream();
+    }
+    
+    /**
+     * Streams events for export. Scan pages are fetched lazily while the stream is
+     * consumed, so only one page is held in memory at a time.
+     *
+     * @param updatedSince Only events updated at or after this time, or null for all
+     * @param pageSize Items read per scan request
+     */
+    public Stream<Event> streamAll(LocalDateTime updatedSince, int pageSize) {
+        ScanEnhancedRequest.Builder request = ScanEnhancedRequest.builder().limit(pageSize);
+        if (updatedSince != null) {
+            // Format the bound the way the attribute converter stores updatedAt (toString drops
+            // zero seconds), so string order is time order and an equal timestamp still matches
+            request.filterExpression(Expression.builder()
+                    .expression("updatedAt >= :since")
+                    .expressionValues(Map.of(":since", AttributeValue.builder()
+                            .s(updatedSince.toString()).build()))
+                    .build());
+        }
+        return eventTable.scan(request.build()).items().stream();
+    }
+}
@@ -0,0 +1,72 @@
+package com.socialsports.repository;
+
+import com.socialsports.model.IdempotencyRecord;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyRepository {
+
+    private final DynamoDbTable<IdempotencyRecord> idempotencyTable;
+
+    public IdempotencyRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        this.idempotencyTable = dynamoDbEnhancedClient.table("Idempotency",
+                TableSchema.fromBean(IdempotencyRecord.class));
+    }
+
+    /**
+     * Records a request as in progress unless its key is already taken. An expired record
+     * (TTL deletion in DynamoDB is lazy) or one stuck in progress since before
+     * {@code staleBefore}, e.g. because its node died, does not count.
+     *
+     * @param nowSeconds Current time in epoch seconds
+     * @param staleBefore Epoch millis before which an in-progress record is abandoned
+     * @return true if the caller now owns the key
+     */
+    public boolean tryStart(IdempotencyRecord record, long nowSeconds, long staleBefore) {
+        Expression free = Expression.builder()
+                .expression("attribute_not_exists(idempotencyKey) OR expiresAt < :now"
+                        + " OR (#state = :inProgress AND startedAt < :staleBefore)")
+                .expressionNames(Map.of("#state", "state"))
+                .expressionValues(Map.of(
+                        ":now", AttributeValue.builder().n(Long.toString(nowSeconds)).build(),
+                        ":inProgress", AttributeValue.builder().s(IdempotencyRecord.IN_PROGRESS).build(),
+                        ":staleBefore", AttributeValue.builder().n(Long.toString(staleBefore)).build()))
+                .build();
+
+        try {
+            idempotencyTable.putItem(PutItemEnhancedRequest.builder(IdempotencyRecord.class)
+                    .item(record)
+                    .conditionExpression(free)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    public Optional<IdempotencyRecord> findByKey(String idempotencyKey) {
+        // Strongly consistent, a replay right after completion must see the stored response
+        return Optional.ofNullable(idempotencyTable.getItem(r -> r
+                .key(Key.builder().partitionValue(idempotencyKey).build())
+                .consistentRead(true)));
+    }
+
+    public void save(IdempotencyRecord record) {
+        idempotencyTable.putItem(record);
+    }
+
+    public void delete(String idempotencyKey) {
+        idempotencyTable.deleteItem(Key.builder().partitionValue(idempotencyKey).build());
+    }
+}
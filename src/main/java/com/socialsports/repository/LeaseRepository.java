@@ -0,0 +1,113 @@
+package com.socialsports.repository;
+
+import com.socialsports.model.Lease;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+public class LeaseRepository {
+
+    // How long an expired lease stays before DynamoDB TTL removes it, e.g. node leases of crashed nodes
+    private static final long DELETE_AFTER_EXPIRY_SECONDS = 24 * 60 * 60;
+
+    private final DynamoDbTable<Lease> leaseTable;
+
+    public LeaseRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        this.leaseTable = dynamoDbEnhancedClient.table("Lease", TableSchema.fromBean(Lease.class));
+    }
+
+    /**
+     * Takes or renews a lease. Succeeds when the lease is free, expired or already held by the owner.
+     *
+     * @param leaseKey The lease to claim
+     * @param owner The claiming node
+     * @param now Current time in epoch millis
+     * @param expiresAt New expiry in epoch millis
+     * @return true if the owner now holds the lease
+     */
+    public boolean tryAcquire(String leaseKey, String owner, long now, long expiresAt) {
+        Expression claimable = Expression.builder()
+                .expression("attribute_not_exists(leaseKey) OR expiresAt < :now OR #owner = :owner")
+                .expressionNames(Map.of("#owner", "owner"))
+                .expressionValues(Map.of(
+                        ":now", AttributeValue.builder().n(Long.toString(now)).build(),
+                        ":owner", AttributeValue.builder().s(owner).build()))
+                .build();
+
+        try {
+            leaseTable.putItem(PutItemEnhancedRequest.builder(Lease.class)
+                    .item(Lease.builder()
+                            .leaseKey(leaseKey)
+                            .owner(owner)
+                            .expiresAt(expiresAt)
+                            .deleteAt(expiresAt / 1000 + DELETE_AFTER_EXPIRY_SECONDS)
+                            .build())
+                    .conditionExpression(claimable)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives a lease up, if the owner still holds it
+     */
+    public void release(String leaseKey, String owner) {
+        Expression heldByOwner = Expression.builder()
+                .expression("#owner = :owner")
+                .expressionNames(Map.of("#owner", "owner"))
+                .expressionValues(Map.of(":owner", AttributeValue.builder().s(owner).build()))
+                .build();
+
+        try {
+            leaseTable.deleteItem(DeleteItemEnhancedRequest.builder()
+                    .key(Key.builder().partitionValue(leaseKey).build())
+                    .conditionExpression(heldByOwner)
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            // Already taken over by another node
+        }
+    }
+
+    /**
+     * Deletes a lease that expired before the cutoff, unless it was renewed meanwhile
+     *
+     * @param leaseKey The lease to delete
+     * @param cutoff Epoch millis the lease must have expired before
+     */
+    public void deleteExpired(String leaseKey, long cutoff) {
+        Expression expiredBefore = Expression.builder()
+                .expression("expiresAt < :cutoff")
+                .expressionValues(Map.of(":cutoff", AttributeValue.builder().n(Long.toString(cutoff)).build()))
+                .build();
+
+        try {
+            leaseTable.deleteItem(DeleteItemEnhancedRequest.builder()
+                    .key(Key.builder().partitionValue(leaseKey).build())
+                    .conditionExpression(expiredBefore)
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            // Renewed since it was read
+        }
+    }
+
+    /**
+     * All leases; the table holds one item per shard and per node, so a scan is cheap
+     */
+    public List<Lease> findAll() {
+        return leaseTable.scan().items().stream().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,109 @@
+package com.socialsports.repository;
+
+import com.socialsports.model.DeliveryStatus;
+import com.socialsports.model.MessageDelivery;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+public class MessageDeliveryRepository {
+
+    // DynamoDB limit per BatchGetItem call
+    private static final int MAX_BATCH_GET = 100;
+
+    private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
+    private final DynamoDbTable<MessageDelivery> deliveryTable;
+
+    public MessageDeliveryRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        this.dynamoDbEnhancedClient = dynamoDbEnhancedClient;
+        this.deliveryTable = dynamoDbEnhancedClient.table("MessageDelivery", TableSchema.fromBean(MessageDelivery.class));
+    }
+
+    /**
+     * Loads the existing records for the given message IDs, batching the reads
+     */
+    public List<MessageDelivery> findAllById(Collection<String> messageIds) {
+        List<MessageDelivery> result = new ArrayList<>();
+        List<String> ids = new ArrayList<>(messageIds);
+        for (int start = 0; start < ids.size(); start += MAX_BATCH_GET) {
+            ReadBatch.Builder<MessageDelivery> batch = ReadBatch.builder(MessageDelivery.class)
+                    .mappedTableResource(deliveryTable);
+            for (String id : ids.subList(start, Math.min(start + MAX_BATCH_GET, ids.size()))) {
+                batch.addGetItem(Key.builder().partitionValue(id).build());
+            }
+            BatchGetResultPageIterable pages = dynamoDbEnhancedClient.batchGetItem(r -> r.readBatches(batch.build()));
+            pages.resultsForTable(deliveryTable).forEach(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the records, each unless the stored item's status is already further along.
+     * BatchWriteItem cannot carry conditions, so these are single conditional puts; a record
+     * merged from a stale read then never moves a message back, e.g. from READ to DELIVERED.
+     *
+     * @return The records not written because the stored status moved on, to merge and write again
+     */
+    public List<MessageDelivery> saveAll(Collection<MessageDelivery> deliveries) {
+        List<MessageDelivery> notWritten = new ArrayList<>();
+        for (MessageDelivery delivery : deliveries) {
+            try {
+                deliveryTable.putItem(PutItemEnhancedRequest.builder(MessageDelivery.class)
+                        .item(delivery)
+                        .conditionExpression(notBehind(delivery.getStatus()))
+                        .build());
+            } catch (ConditionalCheckFailedException e) {
+                notWritten.add(delivery);
+            }
+        }
+        return notWritten;
+    }
+
+    private static Expression notBehind(DeliveryStatus status) {
+        // Statuses are stored by name, so "not further along" is the list of names up to this one
+        StringBuilder expression = new StringBuilder("attribute_not_exists(messageId) OR attribute_not_exists(#status)");
+        Map<String, AttributeValue> values = new HashMap<>();
+        if (status != null) {
+            List<String> placeholders = new ArrayList<>();
+            for (DeliveryStatus earlier : DeliveryStatus.values()) {
+                if (earlier.ordinal() <= status.ordinal()) {
+                    placeholders.add(":s" + earlier.ordinal());
+                    values.put(":s" + earlier.ordinal(), AttributeValue.builder().s(earlier.name()).build());
+                }
+            }
+            expression.append(" OR #status IN (").append(String.join(", ", placeholders)).append(")");
+        }
+        Expression.Builder builder = Expression.builder()
+                .expression(expression.toString())
+                .expressionNames(Map.of("#status", "status"));
+        return values.isEmpty() ? builder.build() : builder.expressionValues(values).build();
+    }
+
+    public List<MessageDelivery> findByEventId(String eventId) {
+        QueryConditional queryConditional = QueryConditional
+                .keyEqualTo(Key.builder().partitionValue(eventId).build());
+
+        return deliveryTable.index("eventId-index")
+                .query(queryConditional)
+                .stream()
+                .flatMap(page -> page.items().stream())
+                .collect(Collectors.toList());
+    }
+}
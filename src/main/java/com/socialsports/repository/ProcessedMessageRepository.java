@@ -0,0 +1,66 @@
+package com.socialsports.repository;
+
+import com.socialsports.model.ProcessedMessage;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Repository
+public class ProcessedMessageRepository {
+
+    private final DynamoDbTable<ProcessedMessage> processedMessageTable;
+
+    public ProcessedMessageRepository(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+        this.processedMessageTable = dynamoDbEnhancedClient.table("ProcessedMessage",
+                TableSchema.fromBean(ProcessedMessage.class));
+    }
+
+    /**
+     * Records a message ID unless a live (non-expired) record already exists.
+     * TTL deletion in DynamoDB is lazy, so expired items are treated as absent.
+     *
+     * @param messageId The provider message ID
+     * @param expiresAt When the record may be forgotten
+     * @return true if the message was recorded, false if it had already been processed
+     */
+    public boolean markProcessed(String messageId, Instant expiresAt) {
+        ProcessedMessage item = ProcessedMessage.builder()
+                .messageId(messageId)
+                .expiresAt(expiresAt.getEpochSecond())
+                .build();
+
+        Expression notSeen = Expression.builder()
+                .expression("attribute_not_exists(messageId) OR expiresAt < :now")
+                .expressionValues(Map.of(":now",
+                        AttributeValue.builder().n(Long.toString(Instant.now().getEpochSecond())).build()))
+                .build();
+
+        try {
+            processedMessageTable.putItem(PutItemEnhancedRequest.builder(ProcessedMessage.class)
+                    .item(item)
+                    .conditionExpression(notSeen)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Removes the record of a message ID, so a redelivery of the message is processed
+     *
+     * @param messageId The provider message ID
+     */
+    public void forget(String messageId) {
+        processedMessageTable.deleteItem(Key.builder().partitionValue(messageId).build());
+    }
+}
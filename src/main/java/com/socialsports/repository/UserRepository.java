@@ -4,16 +4,21 @@ import com.socialsports.model.User;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class UserRepository {
@@ -88,4 +93,24 @@ public class UserRepository {
                 .stream()
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+    
+    /**
+     * Streams all users, or those updated at or after the given time, reading the table
+     * page by page as the stream is consumed, so memory use does not grow with the table
+     *
+     * @param updatedSince Only users updated at or after this time, or null for all
+     * @param pageSize Items read per scan request
+     */
+    public Stream<User> streamAll(LocalDateTime updatedSince, int pageSize) {
+        ScanEnhancedRequest.Builder request = ScanEnhancedRequest.builder().limit(pageSize);
+        if (updatedSince != null) {
+            // Same format as the stored attribute, which toString writes without zero seconds
+            request.filterExpression(Expression.builder()
+                    .expression("updatedAt >= :since")
+                    .expressionValues(Map.of(":since", AttributeValue.builder()
+                            .s(updatedSince.toString()).build()))
+                    .build());
+        }
+        return userTable.scan(request.build()).items().stream();
+    }
+}
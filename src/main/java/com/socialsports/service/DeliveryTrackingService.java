@@ -0,0 +1,203 @@
+package com.socialsports.service;
+
+import com.socialsports.model.DeliveryStats;
+import com.socialsports.model.DeliveryStatus;
+import com.socialsports.model.MessageDelivery;
+import com.socialsports.model.StatusUpdate;
+import com.socialsports.repository.MessageDeliveryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks outbound WhatsApp messages and their delivery status callbacks.
+ * Outbound registrations and callbacks are queued as partial records and written
+ * in batches: each flush merges everything queued per message ID, reads the
+ * existing items with one batch get and writes the results with puts that never
+ * move a stored status backwards. At most max-pending records wait for a flush;
+ * beyond that new records are dropped and counted, as tracking is best effort.
+ */
+@Service
+@Slf4j
+public class DeliveryTrackingService {
+
+    private final MessageDeliveryRepository messageDeliveryRepository;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final Counter dropped;
+
+    private final ConcurrentLinkedQueue<MessageDelivery> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public DeliveryTrackingService(MessageDeliveryRepository messageDeliveryRepository, MeterRegistry meterRegistry,
+                                   @Value("${whatsapp.delivery-tracking.enabled:true}") boolean enabled,
+                                   @Value("${whatsapp.delivery-tracking.max-batch-size:500}") int maxBatchSize,
+                                   @Value("${whatsapp.delivery-tracking.max-pending:100000}") int maxPending) {
+        this.messageDeliveryRepository = messageDeliveryRepository;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPending = maxPending;
+        this.dropped = Counter.builder("whatsapp.delivery_tracking.dropped")
+                .description("Delivery records dropped because too many were waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a message the Graph API accepted
+     */
+    public void recordOutbound(String messageId, String recipient, String eventId, long queuedAt, long acceptedAt) {
+        if (!enabled || messageId == null) {
+            return;
+        }
+        enqueue(MessageDelivery.builder()
+                .messageId(messageId)
+                .recipient(recipient)
+                .eventId(eventId)
+                .status(DeliveryStatus.ACCEPTED)
+                .queuedAt(queuedAt)
+                .acceptedAt(acceptedAt)
+                .build());
+    }
+
+    /**
+     * Queues status callbacks from a webhook call for the next batch write
+     */
+    public void recordStatusUpdates(List<StatusUpdate> updates) {
+        if (!enabled) {
+            return;
+        }
+        for (StatusUpdate update : updates) {
+            MessageDelivery delivery = MessageDelivery.fromStatusUpdate(update);
+            if (delivery != null) {
+                enqueue(delivery);
+            }
+        }
+    }
+
+    public void flush() {
+        // Bound the work to what is queued now; records re-queued by this flush wait for the next one
+        int rounds = (pendingCount.get() + maxBatchSize - 1) / maxBatchSize;
+        for (int round = 0; round < rounds; round++) {
+            Map<String, MessageDelivery> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                writeBatch(batch);
+            } catch (Exception e) {
+                log.error("Error writing {} delivery records, re-queueing: {}", batch.size(), e.getMessage());
+                batch.values().forEach(this::enqueue);
+                return;
+            }
+        }
+    }
+
+    public DeliveryStats getEventDeliveryStats(String eventId) {
+        List<MessageDelivery> deliveries = messageDeliveryRepository.findByEventId(eventId);
+
+        Map<DeliveryStatus, Integer> byStatus = new EnumMap<>(DeliveryStatus.class);
+        List<Long> queueMillis = new ArrayList<>();
+        List<Long> upstreamMillis = new ArrayList<>();
+        for (MessageDelivery delivery : deliveries) {
+            if (delivery.getStatus() != null) {
+                byStatus.merge(delivery.getStatus(), 1, Integer::sum);
+            }
+            if (delivery.getQueuedAt() != null && delivery.getAcceptedAt() != null) {
+                queueMillis.add(delivery.getAcceptedAt() - delivery.getQueuedAt());
+            }
+            if (delivery.getAcceptedAt() != null && delivery.getDeliveredAt() != null) {
+                upstreamMillis.add(delivery.getDeliveredAt() - delivery.getAcceptedAt());
+            }
+        }
+
+        int total = deliveries.size();
+        int read = byStatus.getOrDefault(DeliveryStatus.READ, 0);
+        int delivered = byStatus.getOrDefault(DeliveryStatus.DELIVERED, 0) + read;
+        int failed = byStatus.getOrDefault(DeliveryStatus.FAILED, 0);
+
+        return DeliveryStats.builder()
+                .eventId(eventId)
+                .totalMessages(total)
+                .byStatus(byStatus)
+                .deliveryRate(ratio(delivered, total))
+                .readRate(ratio(read, total))
+                .failureRate(ratio(failed, total))
+                .medianQueueMillis(percentile(queueMillis, 50))
+                .p95QueueMillis(percentile(queueMillis, 95))
+                .medianUpstreamMillis(percentile(upstreamMillis, 50))
+                .p95UpstreamMillis(percentile(upstreamMillis, 95))
+                .build();
+    }
+
+    private void enqueue(MessageDelivery delivery) {
+        // Reserve a slot first so concurrent callers cannot overshoot the bound
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        pending.add(delivery);
+    }
+
+    /**
+     * Takes up to maxBatchSize queued fragments, merged per message ID
+     */
+    private Map<String, MessageDelivery> drain() {
+        Map<String, MessageDelivery> batch = new LinkedHashMap<>();
+        MessageDelivery fragment;
+        int taken = 0;
+        while (taken < maxBatchSize && (fragment = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            taken++;
+            MessageDelivery existing = batch.get(fragment.getMessageId());
+            if (existing == null) {
+                batch.put(fragment.getMessageId(), fragment);
+            } else {
+                existing.merge(fragment);
+            }
+        }
+        return batch;
+    }
+
+    private void writeBatch(Map<String, MessageDelivery> batch) {
+        for (MessageDelivery stored : messageDeliveryRepository.findAllById(batch.keySet())) {
+            MessageDelivery update = batch.get(stored.getMessageId());
+            if (update != null) {
+                update.merge(stored);
+            }
+        }
+
+        List<MessageDelivery> notWritten = messageDeliveryRepository.saveAll(batch.values());
+        if (!notWritten.isEmpty()) {
+            // Merged again with the newer stored record on the next flush
+            log.debug("{} delivery records lost to a newer stored status, retrying on next flush", notWritten.size());
+            notWritten.forEach(this::enqueue);
+        }
+        log.debug("Wrote {} delivery records", batch.size());
+    }
+
+    private static double ratio(int count, int total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    private static Long percentile(List<Long> values, int percentile) {
+        List<Long> sorted = values.stream().filter(Objects::nonNull).sorted().toList();
+        if (sorted.isEmpty()) {
+            return null;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
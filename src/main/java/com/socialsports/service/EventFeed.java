@@ -0,0 +1,259 @@
+package com.socialsports.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
+import com.socialsports.model.EventFeedUpdate;
+import com.socialsports.model.EventSummary;
+import com.socialsports.model.SportType;
+import com.socialsports.util.ThreadFactories;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes event changes to clients over server-sent events, so they can follow
+ * live availability instead of polling the event list. Fed by the EventChange
+ * notifications EventService publishes, it never reads DynamoDB.
+ *
+ * <p>Each subscriber has a bounded queue drained by a shared sender pool, so publishing
+ * a change never waits for a client. A subscriber whose queue overflows is disconnected;
+ * EventSource clients reconnect on their own and should then reload the list.
+ * Subscribers only see changes made on the node they are connected to.</p>
+ */
+@Service
+@Slf4j
+public class EventFeed {
+
+    static final Set<EventChangeType> FEED_TYPES = EnumSet.of(EventChangeType.CREATED,
+            EventChangeType.PARTICIPANT_JOINED, EventChangeType.PARTICIPANT_LEFT,
+            EventChangeType.CANCELED, EventChangeType.COMPLETED);
+
+    /**
+     * What a subscriber wants to see; null or empty criteria match every event
+     */
+    public record Filter(SportType sportType, Integer skillLevel, Set<String> eventIds) {
+        boolean matches(Event event) {
+            return (sportType == null || sportType == event.getSportType())
+                    && (skillLevel == null || skillLevel.equals(event.getSkillLevel()))
+                    && (eventIds == null || eventIds.isEmpty() || eventIds.contains(event.getId()));
+        }
+    }
+
+    private final class Subscriber {
+        final Filter filter;
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        boolean draining;
+        boolean closed;
+
+        Subscriber(Filter filter, SseEmitter emitter) {
+            this.filter = filter;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues an event, starting a drain unless one is running already
+         *
+         * @param onlyIfIdle Skip the event when anything is queued or being sent
+         */
+        void offer(SseEmitter.SseEventBuilder event, boolean onlyIfIdle) {
+            boolean overflow = false;
+            synchronized (this) {
+                if (closed || (onlyIfIdle && draining)) {
+                    return;
+                }
+                if (queue.size() < queueCapacity) {
+                    queue.add(event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                } else {
+                    overflow = true;
+                }
+            }
+            if (!overflow) {
+                senders.execute(this::drain);
+            } else if (remove(this, "overflow")) {
+                // Not on the publishing thread: completing waits for a send stuck on this slow client
+                senders.execute(emitter::complete);
+            }
+        }
+
+        void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = queue.poll();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (Exception e) {
+                    // Client went away; the container may report it through onError as well
+                    remove(this, "send_failed");
+                    return;
+                }
+            }
+        }
+
+        void disconnect(String reason) {
+            if (remove(this, reason)) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService senders;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    @Autowired
+    public EventFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                     @Value("${event.feed.max-subscribers:10000}") int maxSubscribers,
+                     @Value("${event.feed.queue-capacity:256}") int queueCapacity,
+                     @Value("${event.feed.timeout-ms:1800000}") long timeoutMillis,
+                     @Value("${event.feed.sender-threads:4}") int senderThreads,
+                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(objectMapper, meterRegistry, maxSubscribers, queueCapacity, timeoutMillis, virtualThreads
+                ? Executors.newThreadPerTaskExecutor(ThreadFactories.named("event-feed", true))
+                : Executors.newFixedThreadPool(Math.max(1, senderThreads), ThreadFactories.named("event-feed", false)));
+    }
+
+    EventFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry, int maxSubscribers, int queueCapacity,
+              long timeoutMillis, ExecutorService senders) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.timeoutMillis = timeoutMillis;
+        this.senders = senders;
+        Gauge.builder("event.feed.subscribers", subscribers, Set::size)
+                .description("Clients currently subscribed to the event feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a feed for the given filter
+     *
+     * @throws IllegalStateException if the node already serves the maximum number of subscribers
+     */
+    public SseEmitter subscribe(Filter filter) {
+        return subscribe(filter, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Filter filter, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            meterRegistry.counter("event.feed.rejected").increment();
+            throw new IllegalStateException("Too many event feed subscribers");
+        }
+        Subscriber subscriber = new Subscriber(filter, emitter);
+        emitter.onCompletion(() -> remove(subscriber, "closed"));
+        emitter.onTimeout(() -> remove(subscriber, "timeout"));
+        emitter.onError(e -> remove(subscriber, "error"));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        if (!FEED_TYPES.contains(change.getType()) || subscribers.isEmpty()) {
+            return;
+        }
+        Event event = change.getEvent();
+        String id = null;
+        String json = null;
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.filter.matches(event)) {
+                continue;
+            }
+            if (json == null) {
+                // Serialized once for every subscriber it goes to
+                EventFeedUpdate update = EventFeedUpdate.builder()
+                        .sequence(sequence.incrementAndGet())
+                        .type(change.getType())
+                        .event(EventSummary.from(event))
+                        .occurredAt(change.getOccurredAt())
+                        .build();
+                id = Long.toString(update.getSequence());
+                json = toJson(update);
+                if (json == null) {
+                    return;
+                }
+            }
+            // Builders are single use, each subscriber gets its own
+            subscriber.offer(SseEmitter.event().id(id).name(change.getType().name().toLowerCase()).data(json), false);
+            meterRegistry.counter("event.feed.updates").increment();
+        }
+    }
+
+    /**
+     * Sends a comment to idle subscribers, which keeps proxies from closing quiet
+     * connections and finds clients that are gone
+     */
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"), true);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.disconnect("shutdown"));
+        senders.shutdown();
+    }
+
+    private String toJson(EventFeedUpdate update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            // Never fail the change that was published
+            log.warn("Could not serialize event feed update for event {}: {}",
+                    update.getEvent().getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean remove(Subscriber subscriber, String reason) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return false;
+            }
+            subscriber.closed = true;
+            subscriber.queue.clear();
+        }
+        subscribers.remove(subscriber);
+        meterRegistry.counter("event.feed.disconnects", "reason", reason).increment();
+        return true;
+    }
+}
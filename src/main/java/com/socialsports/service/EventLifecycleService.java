@@ -0,0 +1,115 @@
+package com.socialsports.service;
+
+import com.socialsports.model.ArchivedEvent;
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
+import com.socialsports.model.EventStatus;
+import com.socialsports.repository.EventArchiveRepository;
+import com.socialsports.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves finished events out of the hot Event table.
+ * Events that started more than a grace period ago become COMPLETED (canceled ones stay
+ * CANCELED) and are written to the EventArchive table, partitioned by month, then
+ * deleted from Event in batches. The archive is written first, so a run that fails
+ * halfway leaves the event in place and the next run archives it again.
+ */
+@Service
+@Slf4j
+public class EventLifecycleService {
+
+    private final EventRepository eventRepository;
+    private final EventArchiveRepository eventArchiveRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration completeAfter;
+    private final Clock clock;
+
+    @Autowired
+    public EventLifecycleService(EventRepository eventRepository, EventArchiveRepository eventArchiveRepository,
+                                 ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                 @Value("${event.lifecycle.enabled:true}") boolean enabled,
+                                 @Value("${event.lifecycle.complete-after-hours:3}") long completeAfterHours) {
+        this(eventRepository, eventArchiveRepository, eventPublisher, meterRegistry, enabled,
+                Duration.ofHours(completeAfterHours), Clock.systemDefaultZone());
+    }
+
+    EventLifecycleService(EventRepository eventRepository, EventArchiveRepository eventArchiveRepository,
+                          ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry, boolean enabled,
+                          Duration completeAfter, Clock clock) {
+        this.eventRepository = eventRepository;
+        this.eventArchiveRepository = eventArchiveRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.completeAfter = completeAfter;
+        this.clock = clock;
+    }
+
+    /**
+     * Completes and archives every event that has finished
+     *
+     * @return Number of events moved to the archive
+     */
+    public int archiveFinishedEvents() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Event> finished = eventRepository.findStartedBefore(now.minus(completeAfter));
+        if (finished.isEmpty()) {
+            return 0;
+        }
+
+        List<Event> completed = new ArrayList<>();
+        List<ArchivedEvent> archived = new ArrayList<>(finished.size());
+        for (Event event : finished) {
+            if (event.getStatus() != EventStatus.CANCELED && event.getStatus() != EventStatus.COMPLETED) {
+                event.setStatus(EventStatus.COMPLETED);
+                event.setUpdatedAt(now);
+                completed.add(event);
+            }
+            archived.add(ArchivedEvent.of(event, now));
+        }
+
+        // Only delete what reached the archive
+        Set<String> notArchived = new HashSet<>();
+        eventArchiveRepository.saveAll(archived).forEach(item -> notArchived.add(item.getEvent().getId()));
+        List<Event> toDelete = finished.stream()
+                .filter(event -> !notArchived.contains(event.getId()))
+                .toList();
+        int notDeleted = eventRepository.deleteAll(toDelete).size();
+
+        for (Event event : completed) {
+            if (!notArchived.contains(event.getId())) {
+                eventPublisher.publishEvent(EventChange.builder()
+                        .type(EventChangeType.COMPLETED)
+                        .event(event)
+                        .occurredAt(now)
+                        .build());
+            }
+        }
+
+        int moved = toDelete.size() - notDeleted;
+        meterRegistry.counter("event.lifecycle.archived").increment(moved);
+        log.info("Archived {} finished events ({} newly completed, {} left for the next run)", moved,
+                completed.size(), notArchived.size() + notDeleted);
+        return moved;
+    }
+}
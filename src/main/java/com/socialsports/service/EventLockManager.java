@@ -0,0 +1,83 @@
+package com.socialsports.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes read-modify-write changes to the same event within this JVM.
+ * Event IDs hash onto a fixed number of lock stripes, so memory stays bounded however
+ * many events exist and changes to events on different stripes never wait for each
+ * other. Two events sharing a stripe only wait longer, they are never wrong.
+ * Locks are reentrant, so a locked change may call another one for the same event.
+ *
+ * <p>This only covers a single node. Across nodes, every change to an existing event
+ * is a conditional write on the participant and waitlist sizes it read (see
+ * EventRepository#saveIfParticipantsUnchanged), and a change that loses re-reads the
+ * event and decides again.</p>
+ */
+@Service
+public class EventLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final Counter contended;
+    private final Timer waitTimer;
+
+    public EventLockManager(MeterRegistry meterRegistry,
+                            @Value("${event.locks.stripes:256}") int stripeCount) {
+        // A power of two so the stripe is a mask of the hash
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(Math.min(stripeCount, 1 << 16) - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.contended = Counter.builder("event.locks.contended")
+                .description("Event changes that had to wait for another change on the same stripe")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("event.locks.wait")
+                .description("Time contended event changes waited for their lock")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an action holding the lock of the event's stripe
+     */
+    public <T> T withLock(String eventId, Supplier<T> action) {
+        ReentrantLock lock = stripeOf(eventId);
+        if (!lock.tryLock()) {
+            contended.increment();
+            long start = System.nanoTime();
+            lock.lock();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void runWithLock(String eventId, Runnable action) {
+        withLock(eventId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    ReentrantLock stripeOf(String eventId) {
+        int hash = eventId.hashCode();
+        // Spread the high bits down, IDs often differ only in their last characters
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,315 @@
+package com.socialsports.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.socialsports.model.SportType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches parsed natural-language event requests by normalized message text, so repeat
+ * phrasings skip the LLM call. Entries are evicted least-recently-used beyond the size
+ * limit and expire after a TTL. An optional NDJSON file keeps entries across restarts.
+ */
+@Service
+@Slf4j
+public class EventRequestCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[!?.,;]+(?=\\s|$)");
+    private static final Pattern RELATIVE_DATE = Pattern.compile(
+            "\\b(?:(day after tomorrow)|(today)|(tomorrow)|(?:(next)\\s+|on\\s+)?(monday|tuesday|wednesday|thursday|friday|saturday|sunday))\\b");
+    private static final Pattern ISO_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Path persistentPath;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    // Normalized message -> parsed details, in access order so the least recently used is evicted first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Object journalLock = new Object();
+    private BufferedWriter journal;
+    private int journalLines;
+
+    private record Entry(Map<String, Object> details, long expiresAt) {
+    }
+
+    @Autowired
+    public EventRequestCache(MeterRegistry meterRegistry,
+                             ObjectMapper objectMapper,
+                             @Value("${openai.cache.max-entries:10000}") int maxEntries,
+                             @Value("${openai.cache.ttl-minutes:360}") long ttlMinutes,
+                             @Value("${openai.cache.persistent-path:}") String persistentPath) {
+        this(meterRegistry, objectMapper, maxEntries, Duration.ofMinutes(ttlMinutes),
+                persistentPath.isBlank() ? null : Path.of(persistentPath), Clock.systemDefaultZone());
+    }
+
+    EventRequestCache(MeterRegistry meterRegistry, ObjectMapper objectMapper, int maxEntries, Duration ttl,
+                      Path persistentPath, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.persistentPath = persistentPath;
+        this.clock = clock;
+        this.hitCounter = Counter.builder("llm.cache.requests")
+                .tag("result", "hit")
+                .description("Natural-language parse requests answered from the cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("llm.cache.requests")
+                .tag("result", "miss")
+                .description("Natural-language parse requests not found in the cache")
+                .register(meterRegistry);
+        Gauge.builder("llm.cache.size", this, EventRequestCache::size)
+                .description("Parsed requests currently held in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the cache key for a message: lower case, collapsed whitespace, no trailing
+     * punctuation, and relative dates ("tomorrow", "on friday") replaced by the ISO date
+     * they refer to. A bare weekday may be today, "next friday" is always a later day.
+     * Messages without any date are anchored to today, because the parsed result then
+     * depends on the day the request was made.
+     */
+    public String key(String message) {
+        LocalDate today = LocalDate.now(clock);
+        String text = WHITESPACE.matcher(message.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+        text = TRAILING_PUNCTUATION.matcher(text).replaceAll("");
+
+        Matcher matcher = RELATIVE_DATE.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            LocalDate date;
+            if (matcher.group(1) != null) {
+                date = today.plusDays(2);
+            } else if (matcher.group(2) != null) {
+                date = today;
+            } else if (matcher.group(3) != null) {
+                date = today.plusDays(1);
+            } else {
+                DayOfWeek day = DayOfWeek.valueOf(matcher.group(5).toUpperCase(Locale.ROOT));
+                date = today.with(matcher.group(4) != null
+                        ? TemporalAdjusters.next(day)
+                        : TemporalAdjusters.nextOrSame(day));
+            }
+            matcher.appendReplacement(resolved, date.toString());
+        }
+        matcher.appendTail(resolved);
+        text = resolved.toString();
+
+        return ISO_DATE.matcher(text).find() ? text : today + " " + text;
+    }
+
+    /**
+     * @return A copy of the cached details, or null on a miss
+     */
+    public Map<String, Object> get(String key) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hitCounter.increment();
+                return new HashMap<>(entry.details());
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    public void put(String key, Map<String, Object> details) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long expiresAt = clock.millis() + ttl.toMillis();
+        Map<String, Object> copy = Collections.unmodifiableMap(new HashMap<>(details));
+        synchronized (entries) {
+            remember(key, new Entry(copy, expiresAt));
+        }
+        append(key, copy, expiresAt);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Loads unexpired entries from the persistent file and rewrites it without stale lines
+     */
+    @PostConstruct
+    public void load() {
+        if (persistentPath == null || maxEntries <= 0) {
+            return;
+        }
+        long now = clock.millis();
+        try {
+            if (Files.exists(persistentPath)) {
+                for (String line : Files.readAllLines(persistentPath, StandardCharsets.UTF_8)) {
+                    readLine(line, now);
+                }
+            }
+            synchronized (journalLock) {
+                compact();
+            }
+            log.info("Loaded {} cached event requests from {}", size(), persistentPath);
+        } catch (IOException e) {
+            // The cache is an optimization; run memory-only rather than fail startup
+            log.warn("Could not load event request cache from {}: {}", persistentPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (journalLock) {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    log.warn("Could not close event request cache file: {}", e.getMessage());
+                }
+                journal = null;
+            }
+        }
+    }
+
+    private void remember(String key, Entry entry) {
+        entries.put(key, entry);
+        if (entries.size() > maxEntries) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void readLine(String line, long now) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            long expiresAt = node.path("expiresAt").asLong();
+            if (expiresAt > now) {
+                synchronized (entries) {
+                    remember(node.path("key").asText(), new Entry(fromJson(node.path("details")), expiresAt));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Skipping unreadable cache line: {}", e.getMessage());
+        }
+    }
+
+    private void append(String key, Map<String, Object> details, long expiresAt) {
+        if (persistentPath == null) {
+            return;
+        }
+        synchronized (journalLock) {
+            try {
+                if (journal == null) {
+                    journal = Files.newBufferedWriter(persistentPath, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                journal.write(line(key, details, expiresAt));
+                journal.newLine();
+                journal.flush();
+                // Superseded and evicted entries pile up in an append-only file; rewrite it from memory
+                if (++journalLines > 2 * maxEntries) {
+                    compact();
+                }
+            } catch (IOException e) {
+                log.warn("Could not write event request cache file {}: {}", persistentPath, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rewrites the persistent file with the current entries. Callers hold journalLock.
+     */
+    private void compact() throws IOException {
+        close();
+        List<String> lines = new ArrayList<>();
+        synchronized (entries) {
+            entries.forEach((key, entry) -> lines.add(line(key, entry.details(), entry.expiresAt())));
+        }
+        Path parent = persistentPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = persistentPath.resolveSibling(persistentPath.getFileName() + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, persistentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journalLines = lines.size();
+    }
+
+    private String line(String key, Map<String, Object> details, long expiresAt) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("key", key);
+        node.put("expiresAt", expiresAt);
+        ObjectNode fields = node.putObject("details");
+        details.forEach((name, value) -> {
+            if (value instanceof Integer number) {
+                fields.put(name, number);
+            } else if (value != null) {
+                fields.put(name, value.toString());
+            }
+        });
+        return node.toString();
+    }
+
+    private static Map<String, Object> fromJson(JsonNode fields) {
+        Map<String, Object> details = new HashMap<>();
+        if (fields.hasNonNull("sportType")) {
+            details.put("sportType", SportType.valueOf(fields.get("sportType").asText()));
+        }
+        if (fields.hasNonNull("time")) {
+            details.put("time", LocalDateTime.parse(fields.get("time").asText()));
+        }
+        if (fields.hasNonNull("location")) {
+            details.put("location", fields.get("location").asText());
+        }
+        if (fields.hasNonNull("playerCount")) {
+            details.put("playerCount", fields.get("playerCount").asInt());
+        }
+        return Collections.unmodifiableMap(details);
+    }
+}
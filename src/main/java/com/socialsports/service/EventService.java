@@ -1,17 +1,31 @@
 package com.socialsports.service;
 
 import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
 import com.socialsports.model.EventStatus;
+import com.socialsports.model.EventSummary;
+import com.socialsports.model.ReminderRunStats;
 import com.socialsports.model.SportType;
 import com.socialsports.model.User;
 import com.socialsports.repository.EventRepository;
+import com.socialsports.service.JoinAdmissionQueue.JoinRequest;
+import com.socialsports.util.ThreadFactories;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,9 +33,27 @@ import java.util.stream.Collectors;
 @Slf4j
 public class EventService {
 
+    public static final String REMINDER_24H = "24h";
+    public static final String REMINDER_2H = "2h";
+
+    /**
+     * How long before the event each reminder is due
+     */
+    public static final Map<String, Duration> REMINDER_LEAD_TIMES = Map.of(
+            REMINDER_24H, Duration.ofHours(24),
+            REMINDER_2H, Duration.ofHours(2));
+
+    // Conditional writes of one change before giving up on a fast changing event
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final EventRepository eventRepository;
     private final UserService userService;
     private final WhatsAppService whatsAppService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardLeaseManager shardLeaseManager;
+    private final MeterRegistry meterRegistry;
+    private final EventLockManager eventLocks;
+    private final JoinAdmissionQueue joinAdmissionQueue;
 
     @Value("${event.minimum.advance.hours}")
     private int minimumAdvanceHours;
@@ -29,6 +61,14 @@ public class EventService {
     @Value("${event.auto.cancel.hours}")
     private int autoCancelHours;
 
+    @Value("${event.reminders.concurrency:32}")
+    private int reminderConcurrency;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private enum ReminderOutcome { NONE, SENT, AUTO_CANCELED }
+
     public Event createEvent(String creatorId, SportType sportType, String location, 
                             LocalDateTime eventTime, Integer participantLimit, Integer skillLevel, 
                             String bookingLink) {
@@ -60,8 +100,8 @@ public class EventService {
         participants.add(creatorId); // Creator automatically joins the event
         
         Map<String, Boolean> remindersSent = new HashMap<>();
-        remindersSent.put("24h", false);
-        remindersSent.put("2h", false);
+        remindersSent.put(REMINDER_24H, false);
+        remindersSent.put(REMINDER_2H, false);
         
         Event event = Event.builder()
                 .id(eventId)
@@ -80,6 +120,7 @@ public class EventService {
                 .build();
         
         Event savedEvent = eventRepository.save(event);
+        publishChange(EventChangeType.CREATED, savedEvent);
         
         // Update user's event count
         userService.incrementEventsCreated(creatorPhoneNumber);
@@ -99,24 +140,21 @@ public class EventService {
     }
     
     public List<Event> getUpcomingEvents(SportType sportType, Integer skillLevel, int page, int size) {
-        // Get all upcoming events
-        List<Event> events = getUpcomingEvents();
-        
-        // Apply filters
-        List<Event> filteredEvents = events.stream()
-            .filter(event -> sportType == null || event.getSportType() == sportType)
-            .filter(event -> skillLevel == null || event.getSkillLevel().equals(skillLevel))
-            .collect(Collectors.toList());
-        
-        // Apply pagination
-        int start = page * size;
-        int end = Math.min(start + size, filteredEvents.size());
-        
-        if (start >= filteredEvents.size()) {
-            return Collections.emptyList();
-        }
-        
-        return filteredEvents.subList(start, end);
+        return filterAndPage(getUpcomingEvents(), sportType, skillLevel, page, size);
+    }
+    
+    /**
+     * Upcoming events as list view summaries, reading only the attributes the requested fields need
+     * 
+     * @param fields Summary fields to fill in, see {@link EventSummary#parseFields}
+     */
+    public List<EventSummary> getUpcomingEventSummaries(SportType sportType, Integer skillLevel, int page, int size,
+                                                        Set<String> fields) {
+        List<Event> events = eventRepository.findUpcomingEvents(LocalDateTime.now(),
+                EventSummary.attributesFor(fields, "sportType", "skillLevel"));
+        return filterAndPage(events, sportType, skillLevel, page, size).stream()
+                .map(event -> EventSummary.from(event, fields))
+                .collect(Collectors.toList());
     }
     
     /**
@@ -140,13 +178,29 @@ public class EventService {
      * @return Filtered and paginated list of events the user is participating in
      */
     public List<Event> getUserEvents(String userId, SportType sportType, Integer skillLevel, int page, int size) {
-        // Get all user events
-        List<Event> events = getUserEvents(userId);
-        
+        return filterAndPage(getUserEvents(userId), sportType, skillLevel, page, size);
+    }
+    
+    /**
+     * Events a user participates in as list view summaries, reading only the attributes the requested fields need
+     * 
+     * @param fields Summary fields to fill in, see {@link EventSummary#parseFields}
+     */
+    public List<EventSummary> getUserEventSummaries(String userId, SportType sportType, Integer skillLevel,
+                                                    int page, int size, Set<String> fields) {
+        List<Event> events = eventRepository.findEventsByParticipant(userId, LocalDateTime.now(),
+                EventSummary.attributesFor(fields, "sportType", "skillLevel"));
+        return filterAndPage(events, sportType, skillLevel, page, size).stream()
+                .map(event -> EventSummary.from(event, fields))
+                .collect(Collectors.toList());
+    }
+    
+    private static List<Event> filterAndPage(List<Event> events, SportType sportType, Integer skillLevel,
+                                             int page, int size) {
         // Apply filters
         List<Event> filteredEvents = events.stream()
             .filter(event -> sportType == null || event.getSportType() == sportType)
-            .filter(event -> skillLevel == null || event.getSkillLevel().equals(skillLevel))
+            .filter(event -> skillLevel == null || skillLevel.equals(event.getSkillLevel()))
             .collect(Collectors.toList());
         
         // Apply pagination
@@ -160,140 +214,426 @@ public class EventService {
         return filteredEvents.subList(start, end);
     }
     
+    /**
+     * Joins an event, or its waitlist when the event is full and the waitlist is enabled.
+     * Joins pass through JoinAdmissionQueue, which rejects joins for full events up front
+     * and commits concurrent joins for the same event together.
+     */
     public Event joinEvent(String eventId, String userId) {
-        return getEventById(eventId).map(event -> {
-            // Check if the event is still accepting participants
-            if (!event.getStatus().equals(EventStatus.CREATED)) {
-                throw new IllegalStateException("This event is no longer accepting participants");
-            }
-            
-            // Check if the participant limit has been reached
-            if (event.getParticipantPhoneNumbers().size() >= event.getParticipantLimit()) {
-                throw new IllegalStateException("This event is already full");
-            }
-            
-            // Check if the user is already a participant
-            if (event.getParticipantPhoneNumbers().contains(userId)) {
-                throw new IllegalStateException("You are already a participant in this event");
-            }
-            
-            // Get the user by ID
-            Optional<User> user = userService.getUserById(userId);
-            if (!user.isPresent()) {
-                throw new IllegalStateException("User not found");
+        return joinAdmissionQueue.join(eventId, userId, batch -> commitJoins(eventId, batch));
+    }
+    
+    /**
+     * Adds a batch of joiners to the event with one conditional write, seating them in order
+     * while seats are left and waitlisting (or rejecting) the rest
+     * 
+     * @return The stored event
+     */
+    private Event commitJoins(String eventId, List<JoinRequest> batch) {
+        // Resolve users before taking the lock, it is held for the read and the write only
+        Map<JoinRequest, String> phoneNumbers = new LinkedHashMap<>();
+        for (JoinRequest request : batch) {
+            Optional<User> user = userService.getUserById(request.getUserId());
+            if (user.isPresent()) {
+                phoneNumbers.put(request, user.get().getPhoneNumber());
+            } else {
+                request.reject(new IllegalStateException("User not found"));
             }
-            
-            String userPhoneNumber = user.get().getPhoneNumber();
-            
-            // Add the participant
-            List<String> participants = new ArrayList<>(event.getParticipantPhoneNumbers());
-            participants.add(userId);
-            event.setParticipantPhoneNumbers(participants);
-            event.setUpdatedAt(LocalDateTime.now());
-            
-            // If this is the first time the event reaches the minimum number of participants, 
-            // create a WhatsApp group
-            if (participants.size() >= 2 && event.getWhatsappGroupId() == null) {
-                String groupName = event.getSportType() + " on " + event.getEventTime();
-                String groupId = whatsAppService.createWhatsAppGroup(groupName, participants);
-                event.setWhatsappGroupId(groupId);
-                event.setStatus(EventStatus.CONFIRMED);
+        }
+        if (phoneNumbers.isEmpty()) {
+            return getEventById(eventId).orElseThrow(() -> new NoSuchElementException("Event not found"));
+        }
+        
+        List<Runnable> notifications = new ArrayList<>();
+        Event committed = eventLocks.withLock(eventId, () -> {
+            String groupId = null;
+            for (int attempt = 1; ; attempt++) {
+                Event event = getEventById(eventId).orElseThrow(() -> new NoSuchElementException("Event not found"));
+                
+                // Check if the event is still accepting participants
+                if (!JoinAdmissionQueue.isOpen(event)) {
+                    throw new IllegalStateException("This event is no longer accepting participants");
+                }
+                
+                List<String> participants = new ArrayList<>(listOrEmpty(event.getParticipantPhoneNumbers()));
+                List<String> waitlist = new ArrayList<>(listOrEmpty(event.getWaitlistPhoneNumbers()));
+                int participantCount = participants.size();
+                int waitlistCount = waitlist.size();
+                int limit = event.getParticipantLimit() == null ? Integer.MAX_VALUE : event.getParticipantLimit();
+                
+                Map<JoinRequest, RuntimeException> rejections = new LinkedHashMap<>();
+                List<JoinRequest> joined = new ArrayList<>();
+                List<JoinRequest> waitlisted = new ArrayList<>();
+                for (JoinRequest request : phoneNumbers.keySet()) {
+                    String userId = request.getUserId();
+                    if (participants.contains(userId)) {
+                        rejections.put(request, new IllegalStateException("You are already a participant in this event"));
+                    } else if (waitlist.contains(userId)) {
+                        rejections.put(request, new IllegalStateException("You are already on the waitlist for this event"));
+                    } else if (participants.size() < limit) {
+                        participants.add(userId);
+                        joined.add(request);
+                    } else if (joinAdmissionQueue.isWaitlistEnabled()) {
+                        waitlist.add(userId);
+                        waitlisted.add(request);
+                    } else {
+                        rejections.put(request, new IllegalStateException("This event is already full"));
+                    }
+                }
+                
+                if (!joined.isEmpty() || !waitlisted.isEmpty()) {
+                    event.setParticipantPhoneNumbers(participants);
+                    event.setWaitlistPhoneNumbers(waitlist);
+                    event.setUpdatedAt(LocalDateTime.now());
+                    
+                    // If this is the first time the event reaches the minimum number of participants, 
+                    // create a WhatsApp group (once, even if the write below is retried)
+                    if (participants.size() >= 2 && event.getWhatsappGroupId() == null) {
+                        if (groupId == null) {
+                            String groupName = event.getSportType() + " on " + event.getEventTime();
+                            groupId = whatsAppService.createWhatsAppGroup(groupName, participants);
+                        }
+                        event.setWhatsappGroupId(groupId);
+                        event.setStatus(EventStatus.CONFIRMED);
+                    }
+                    
+                    if (!eventRepository.saveIfParticipantsUnchanged(event, participantCount, waitlistCount)) {
+                        // Another node changed the participants since our read: decide again on fresh state
+                        if (attempt >= MAX_WRITE_ATTEMPTS) {
+                            throw new IllegalStateException("This event is changing quickly, please try again");
+                        }
+                        continue;
+                    }
+                    if (!joined.isEmpty()) {
+                        publishChange(EventChangeType.PARTICIPANT_JOINED, event);
+                    }
+                }
+                
+                rejections.forEach(JoinRequest::reject);
+                for (JoinRequest request : joined) {
+                    String phoneNumber = phoneNumbers.get(request);
+                    notifications.add(() -> {
+                        // Update user's event count
+                        userService.incrementEventsJoined(phoneNumber);
+                        // Send join confirmation to the participant
+                        whatsAppService.sendEventJoinConfirmation(event, phoneNumber);
+                    });
+                }
+                for (JoinRequest request : waitlisted) {
+                    String phoneNumber = phoneNumbers.get(request);
+                    int position = waitlist.indexOf(request.getUserId()) + 1;
+                    notifications.add(() -> whatsAppService.sendTextMessage(phoneNumber,
+                            "The " + event.getSportType() + " event on " + event.getEventTime() + " is full. "
+                            + "You are number " + position + " on the waitlist and will join automatically "
+                            + "when a spot opens up."));
+                }
+                return event;
             }
-            
-            Event updatedEvent = eventRepository.save(event);
-            
-            // Update user's event count
-            userService.incrementEventsJoined(userPhoneNumber);
-            
-            // Send join confirmation to the participant
-            whatsAppService.sendEventJoinConfirmation(updatedEvent, userPhoneNumber);
-            
-            return updatedEvent;
-        }).orElseThrow(() -> new NoSuchElementException("Event not found"));
+        });
+        
+        notifications.forEach(Runnable::run);
+        return committed;
     }
     
     public Event cancelEvent(String eventId, String reason) {
-        return getEventById(eventId).map(event -> {
-            if (event.getStatus().equals(EventStatus.CANCELED)) {
-                throw new IllegalStateException("This event has already been canceled");
+        return eventLocks.withLock(eventId, () -> {
+            Event event = getEventById(eventId).orElseThrow(() -> new NoSuchElementException("Event not found"));
+            for (int attempt = 1; !cancel(event, reason); attempt++) {
+                // A join or leave committed on another node since our read: cancel the current event
+                if (attempt >= MAX_WRITE_ATTEMPTS) {
+                    throw new IllegalStateException("This event is changing quickly, please try again");
+                }
+                event = reload(event).orElseThrow(() -> new NoSuchElementException("Event not found"));
             }
-            
-            event.setStatus(EventStatus.CANCELED);
-            event.setUpdatedAt(LocalDateTime.now());
-            Event canceledEvent = eventRepository.save(event);
-            
-            // Send cancellation notification to all participants
-            whatsAppService.sendEventCancellationNotification(canceledEvent, reason);
-            
-            return canceledEvent;
-        }).orElseThrow(() -> new NoSuchElementException("Event not found"));
+            return event;
+        });
     }
     
-    public void leaveEvent(String eventId, String participantPhoneNumber) {
-        getEventById(eventId).ifPresent(event -> {
-            // Check if the user is a participant
-            if (!event.getParticipantPhoneNumbers().contains(participantPhoneNumber)) {
-                throw new IllegalStateException("You are not a participant in this event");
-            }
-            
-            // If the user is the creator, they can't leave - they have to cancel the event
-            if (event.getCreatorPhoneNumber().equals(participantPhoneNumber)) {
-                throw new IllegalStateException("As the creator, you can't leave the event. " +
-                                             "You can cancel it instead.");
+    /**
+     * Cancels the event and notifies its participants, unless its participants changed since it was read
+     * 
+     * @return false if another writer changed the event first; nothing was saved or sent
+     */
+    private boolean cancel(Event event, String reason) {
+        if (event.getStatus().equals(EventStatus.CANCELED)) {
+            throw new IllegalStateException("This event has already been canceled");
+        }
+        
+        int participantCount = listOrEmpty(event.getParticipantPhoneNumbers()).size();
+        int waitlistCount = listOrEmpty(event.getWaitlistPhoneNumbers()).size();
+        event.setStatus(EventStatus.CANCELED);
+        event.setUpdatedAt(LocalDateTime.now());
+        if (!eventRepository.saveIfParticipantsUnchanged(event, participantCount, waitlistCount)) {
+            return false;
+        }
+        publishChange(EventChangeType.CANCELED, event);
+        
+        // Send cancellation notification to all participants
+        whatsAppService.sendEventCancellationNotification(event, reason);
+        
+        return true;
+    }
+    
+    /**
+     * Takes a user off an event, or off its waitlist.
+     * Like joinEvent this takes the user ID, which is what both lists hold.
+     */
+    public void leaveEvent(String eventId, String userId) {
+        // Resolve the user before taking the lock, as commitJoins does
+        String phoneNumber = userService.getUserById(userId)
+                .map(User::getPhoneNumber)
+                .orElseThrow(() -> new IllegalStateException("User not found"));
+        eventLocks.runWithLock(eventId, () -> {
+            Optional<Event> event = getEventById(eventId);
+            for (int attempt = 1; event.isPresent() && !leave(event.get(), userId, phoneNumber); attempt++) {
+                if (attempt >= MAX_WRITE_ATTEMPTS) {
+                    throw new IllegalStateException("This event is changing quickly, please try again");
+                }
+                event = reload(event.get());
             }
-            
-            // Remove the participant
-            List<String> participants = new ArrayList<>(event.getParticipantPhoneNumbers());
-            participants.remove(participantPhoneNumber);
-            event.setParticipantPhoneNumbers(participants);
+        });
+    }
+    
+    /**
+     * Takes the participant off the event or its waitlist, promoting the first waitlisted user into a freed spot
+     * 
+     * @return false if another writer changed the participants since the event was read; nothing was saved or sent
+     */
+    private boolean leave(Event event, String userId, String phoneNumber) {
+        List<String> participants = new ArrayList<>(listOrEmpty(event.getParticipantPhoneNumbers()));
+        List<String> waitlist = new ArrayList<>(listOrEmpty(event.getWaitlistPhoneNumbers()));
+        int participantCount = participants.size();
+        int waitlistCount = waitlist.size();
+        
+        // Leaving the waitlist only takes the user off it
+        if (waitlist.remove(userId)) {
+            event.setWaitlistPhoneNumbers(waitlist);
             event.setUpdatedAt(LocalDateTime.now());
-            
-            // If there are not enough participants, change status back to CREATED
-            if (participants.size() < 2 && event.getStatus().equals(EventStatus.CONFIRMED)) {
-                event.setStatus(EventStatus.CREATED);
+            if (!eventRepository.saveIfParticipantsUnchanged(event, participantCount, waitlistCount)) {
+                return false;
             }
-            
-            eventRepository.save(event);
-            
-            // Send message to participant confirming they've left the event
-            whatsAppService.sendTextMessage(participantPhoneNumber, 
-                "You have successfully left the " + event.getSportType() + " event on " + 
+            publishChange(EventChangeType.PARTICIPANT_LEFT, event);
+            whatsAppService.sendTextMessage(phoneNumber,
+                "You have left the waitlist for the " + event.getSportType() + " event on " +
                 event.getEventTime());
-        });
+            return true;
+        }
+        
+        // Check if the user is a participant
+        if (!participants.contains(userId)) {
+            throw new IllegalStateException("You are not a participant in this event");
+        }
+        
+        // If the user is the creator, they can't leave - they have to cancel the event
+        if (event.getCreatorPhoneNumber().equals(phoneNumber)) {
+            throw new IllegalStateException("As the creator, you can't leave the event. " +
+                                         "You can cancel it instead.");
+        }
+        
+        // Remove the participant
+        participants.remove(userId);
+        
+        // Give the spot to the first user on the waitlist
+        String promoted = null;
+        if (!waitlist.isEmpty() && JoinAdmissionQueue.isOpen(event)) {
+            promoted = waitlist.remove(0);
+            participants.add(promoted);
+            event.setWaitlistPhoneNumbers(waitlist);
+        }
+        
+        event.setParticipantPhoneNumbers(participants);
+        event.setUpdatedAt(LocalDateTime.now());
+        
+        // If there are not enough participants, change status back to CREATED
+        if (participants.size() < 2 && event.getStatus().equals(EventStatus.CONFIRMED)) {
+            event.setStatus(EventStatus.CREATED);
+        }
+        
+        if (!eventRepository.saveIfParticipantsUnchanged(event, participantCount, waitlistCount)) {
+            return false;
+        }
+        publishChange(EventChangeType.PARTICIPANT_LEFT, event);
+        
+        // Send message to participant confirming they've left the event
+        whatsAppService.sendTextMessage(phoneNumber, 
+            "You have successfully left the " + event.getSportType() + " event on " + 
+            event.getEventTime());
+        
+        if (promoted != null) {
+            userService.getUserById(promoted).ifPresent(user -> {
+                userService.incrementEventsJoined(user.getPhoneNumber());
+                whatsAppService.sendEventJoinConfirmation(event, user.getPhoneNumber());
+            });
+        }
+        return true;
     }
     
-    public void sendEventReminders() {
+    /**
+     * Sends every reminder that is due, across the upcoming events in this node's shards.
+     * Reminders are normally sent on time by ReminderScheduler; this scan catches
+     * anything its timers missed. Events are processed in parallel on a bounded pool,
+     * and a failure on one event does not affect the others.
+     * 
+     * @return Counts and duration of this run
+     */
+    public ReminderRunStats sendEventReminders() {
+        long start = System.nanoTime();
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime oneDayFromNow = now.plusHours(24);
-        LocalDateTime twoHoursFromNow = now.plusHours(2);
-        
         List<Event> upcomingEvents = getUpcomingEvents();
         
-        for (Event event : upcomingEvents) {
-            // Send 24h reminder
-            if (event.getEventTime().isBefore(oneDayFromNow) && 
-                !event.getRemindersSent().get("24h") && 
-                event.getStatus().equals(EventStatus.CONFIRMED)) {
-                
-                whatsAppService.sendEventReminder(event);
-                event.getRemindersSent().put("24h", true);
-                eventRepository.save(event);
-            }
-            
-            // Send 2h reminder or auto-cancel if not enough participants
-            if (event.getEventTime().isBefore(twoHoursFromNow) && 
-                !event.getRemindersSent().get("2h")) {
-                
-                if (event.getStatus().equals(EventStatus.CONFIRMED)) {
-                    // Final reminder for confirmed events
-                    whatsAppService.sendEventReminder(event);
-                    event.getRemindersSent().put("2h", true);
-                    eventRepository.save(event);
-                } else if (event.getStatus().equals(EventStatus.CREATED)) {
-                    // Auto-cancel events that don't have minimum participants
-                    cancelEvent(event.getId(), "Not enough participants joined the event");
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger canceled = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, reminderConcurrency),
+                ThreadFactories.named("event-reminders", virtualThreads))) {
+            for (Event event : upcomingEvents) {
+                if (!shardLeaseManager.owns(event.getEventTime())) {
+                    continue;
                 }
+                processed.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        if (REMINDER_LEAD_TIMES.keySet().stream().noneMatch(reminder -> isDue(event, reminder, now))) {
+                            return;
+                        }
+                        // The scanned copy may be stale by now: act on the current item, under the event's lock
+                        eventLocks.runWithLock(event.getId(), () -> reload(event).ifPresent(current -> {
+                            for (String reminder : List.of(REMINDER_24H, REMINDER_2H)) {
+                                ReminderOutcome outcome = sendDueReminder(current, reminder, now);
+                                if (outcome == ReminderOutcome.SENT) {
+                                    sent.incrementAndGet();
+                                } else if (outcome == ReminderOutcome.AUTO_CANCELED) {
+                                    canceled.incrementAndGet();
+                                }
+                            }
+                        }));
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                        meterRegistry.counter("event.reminders", "outcome", "failed").increment();
+                        log.error("Error processing reminders for event {}: {}", event.getId(), e.getMessage(), e);
+                    }
+                });
             }
+        } // close() waits for every task
+        
+        long durationNanos = System.nanoTime() - start;
+        Timer.builder("event.reminders.run")
+                .description("Duration of reminder scans")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        
+        ReminderRunStats stats = ReminderRunStats.builder()
+                .startedAt(now)
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .eventsScanned(upcomingEvents.size())
+                .eventsProcessed(processed.get())
+                .remindersSent(sent.get())
+                .eventsAutoCanceled(canceled.get())
+                .failures(failures.get())
+                .build();
+        log.info("Reminder run: {} events scanned, {} in our shards, {} reminders sent, {} auto-canceled, "
+                        + "{} failed in {} ms", stats.getEventsScanned(), stats.getEventsProcessed(),
+                stats.getRemindersSent(), stats.getEventsAutoCanceled(), stats.getFailures(), stats.getDurationMillis());
+        return stats;
+    }
+    
+    /**
+     * Sends one reminder for an event if it is due and has not been sent yet
+     * 
+     * @param eventId The ID of the event
+     * @param eventTimeString The event's sort key, so the event is read by key rather than found by a scan
+     * @param reminder REMINDER_24H or REMINDER_2H
+     */
+    public void sendEventReminder(String eventId, String eventTimeString, String reminder) {
+        eventLocks.runWithLock(eventId, () -> eventRepository.findByKey(eventId, eventTimeString)
+                .ifPresent(event -> sendDueReminder(event, reminder, LocalDateTime.now())));
+    }
+    
+    private static boolean isDue(Event event, String reminder, LocalDateTime now) {
+        return event.getEventTime().isAfter(now)
+                && !event.getEventTime().isAfter(now.plus(REMINDER_LEAD_TIMES.get(reminder)))
+                && !Boolean.TRUE.equals(event.getRemindersSent().get(reminder));
+    }
+    
+    private ReminderOutcome sendDueReminder(Event event, String reminder, LocalDateTime now) {
+        if (!isDue(event, reminder, now)) {
+            return ReminderOutcome.NONE;
         }
+        
+        if (event.getStatus().equals(EventStatus.CONFIRMED)) {
+            // Claim first so that another node holding the same event does not send it too
+            event.getRemindersSent().put(reminder, true);
+            if (!eventRepository.saveIfReminderNotSent(event, reminder,
+                    listOrEmpty(event.getParticipantPhoneNumbers()).size(),
+                    listOrEmpty(event.getWaitlistPhoneNumbers()).size())) {
+                log.debug("{} reminder for event {} already sent by another node, or the event changed since "
+                        + "it was read; the next run decides again", reminder, event.getId());
+                return ReminderOutcome.NONE;
+            }
+            try {
+                whatsAppService.sendEventReminder(event, reminder);
+            } catch (RuntimeException e) {
+                // Give the claim back so the next run retries
+                releaseReminder(event, reminder);
+                throw e;
+            }
+            publishChange(EventChangeType.REMINDER_SENT, event);
+            meterRegistry.counter("event.reminders", "outcome", "sent").increment();
+            return ReminderOutcome.SENT;
+        } else if (reminder.equals(REMINDER_2H) && event.getStatus().equals(EventStatus.CREATED)) {
+            // Auto-cancel events that don't have minimum participants
+            if (!cancel(event, "Not enough participants joined the event")) {
+                log.debug("Event {} changed while auto-canceling it; the next run decides again", event.getId());
+                return ReminderOutcome.NONE;
+            }
+            meterRegistry.counter("event.reminders", "outcome", "auto_canceled").increment();
+            return ReminderOutcome.AUTO_CANCELED;
+        }
+        return ReminderOutcome.NONE;
+    }
+    
+    /**
+     * Marks a claimed reminder as not sent again. The claim is written back conditionally like
+     * any other change, re-reading the event when a join or leave committed in between.
+     */
+    private void releaseReminder(Event event, String reminder) {
+        Optional<Event> current = Optional.of(event);
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            Event stored = current.filter(e -> e.getStatus() != EventStatus.CANCELED).orElse(null);
+            if (stored == null) {
+                return;
+            }
+            stored.getRemindersSent().put(reminder, false);
+            if (eventRepository.saveIfParticipantsUnchanged(stored,
+                    listOrEmpty(stored.getParticipantPhoneNumbers()).size(),
+                    listOrEmpty(stored.getWaitlistPhoneNumbers()).size())) {
+                return;
+            }
+            current = reload(stored);
+        }
+        log.warn("Could not release the {} reminder claim for event {}, it will not be retried",
+                reminder, event.getId());
+    }
+    
+    /**
+     * Reads the current version of an event by its key, e.g. after a conditional write on it lost
+     * to another writer or when a scanned copy may be stale
+     */
+    private Optional<Event> reload(Event event) {
+        return eventRepository.findByKey(event.getId(), event.getEventTimeString());
+    }
+    
+    private static List<String> listOrEmpty(List<String> list) {
+        return list == null ? List.of() : list;
+    }
+    
+    private void publishChange(EventChangeType type, Event event) {
+        eventPublisher.publishEvent(EventChange.builder()
+                .type(type)
+                .event(event)
+                .occurredAt(LocalDateTime.now())
+                .build());
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.socialsports.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.socialsports.repository.EventRepository;
+import com.socialsports.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as NDJSON, one JSON object per line. Items go from the
+ * paged scan straight to the output stream, so an export holds one scan page
+ * at a time however large the table is.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final ObjectWriter writer;
+    private final int pageSize;
+
+    public ExportService(EventRepository eventRepository, UserRepository userRepository,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${export.page-size:500}") int pageSize) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        // One object per line, and the caller decides when the target stream is closed
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Writes events as NDJSON
+     *
+     * @param since Only events updated at or after this time, or null for all
+     * @return Number of events written
+     */
+    public long exportEvents(LocalDateTime since, OutputStream out) throws IOException {
+        return write("events", eventRepository.streamAll(since, pageSize), out);
+    }
+
+    /**
+     * Writes users as NDJSON
+     *
+     * @param since Only users updated at or after this time, or null for all
+     * @return Number of users written
+     */
+    public long exportUsers(LocalDateTime since, OutputStream out) throws IOException {
+        return write("users", userRepository.streamAll(since, pageSize), out);
+    }
+
+    private long write(String type, Stream<?> items, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long count = 0;
+        try (items; SequenceWriter lines = writer.writeValues(out)) {
+            Iterator<?> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                lines.write(iterator.next());
+                count++;
+            }
+        }
+        if (count > 0) {
+            // The separator only goes between objects; end the last line too
+            out.write('\n');
+        }
+        out.flush();
+
+        meterRegistry.counter("export.records", "type", type).increment(count);
+        log.info("Exported {} {} in {} ms", count, type, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+}
@@ -0,0 +1,143 @@
+package com.socialsports.service;
+
+import com.socialsports.model.IdempotencyRecord;
+import com.socialsports.repository.IdempotencyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Remembers requests made with an Idempotency-Key and their responses, so a client
+ * retrying the same request gets the stored response instead of running it again.
+ * A key is claimed with a conditional write before the request runs, which makes
+ * concurrent retries on any node see each other; records expire after the TTL.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    /**
+     * Outcome of claiming a key
+     *
+     * @param stored The completed record to replay, for REPLAY only
+     */
+    public record Claim(Status status, IdempotencyRecord stored) {
+        public enum Status {
+            ACQUIRED,     // First use of the key, the request should run
+            REPLAY,       // Completed before, replay the stored response
+            IN_PROGRESS,  // The original request is still running
+            MISMATCH      // The key was used for a different request
+        }
+    }
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRepository idempotencyRepository, MeterRegistry meterRegistry,
+                              @Value("${idempotency.enabled:true}") boolean enabled,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.in-progress-timeout-seconds:60}") long inProgressTimeoutSeconds) {
+        this(idempotencyRepository, meterRegistry, enabled, Duration.ofHours(ttlHours),
+                Duration.ofSeconds(inProgressTimeoutSeconds), Clock.systemUTC());
+    }
+
+    IdempotencyService(IdempotencyRepository idempotencyRepository, MeterRegistry meterRegistry, boolean enabled,
+                       Duration ttl, Duration inProgressTimeout, Clock clock) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Claims a key for a request about to run
+     *
+     * @param key The caller-scoped idempotency key
+     * @param requestHash Fingerprint of the request, to tell a retry from a different request
+     */
+    public Claim begin(String key, String requestHash) {
+        long now = clock.millis();
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .state(IdempotencyRecord.IN_PROGRESS)
+                .startedAt(now)
+                .expiresAt((now + ttl.toMillis()) / 1000)
+                .build();
+
+        // A second attempt covers a record expiring or being released between the two calls
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (idempotencyRepository.tryStart(record, now / 1000, now - inProgressTimeout.toMillis())) {
+                return counted(new Claim(Claim.Status.ACQUIRED, null));
+            }
+            Optional<IdempotencyRecord> existing = idempotencyRepository.findByKey(key);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            IdempotencyRecord stored = existing.get();
+            if (!requestHash.equals(stored.getRequestHash())) {
+                return counted(new Claim(Claim.Status.MISMATCH, null));
+            }
+            if (IdempotencyRecord.COMPLETED.equals(stored.getState())) {
+                return counted(new Claim(Claim.Status.REPLAY, stored));
+            }
+            return counted(new Claim(Claim.Status.IN_PROGRESS, null));
+        }
+        return counted(new Claim(Claim.Status.IN_PROGRESS, null));
+    }
+
+    /**
+     * Stores the response of a claimed request for replay
+     */
+    public void complete(String key, String requestHash, int status, String contentType, String body) {
+        long now = clock.millis();
+        try {
+            idempotencyRepository.save(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .state(IdempotencyRecord.COMPLETED)
+                    .startedAt(now)
+                    .responseStatus(status)
+                    .contentType(contentType)
+                    .responseBody(body)
+                    .expiresAt((now + ttl.toMillis()) / 1000)
+                    .build());
+        } catch (Exception e) {
+            // The request itself succeeded; a retry will then wait for the in-progress timeout
+            log.warn("Failed to store response for idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Gives up a claim without a response to replay, so a retry runs the request again
+     */
+    public void release(String key) {
+        try {
+            idempotencyRepository.delete(key);
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Claim counted(Claim claim) {
+        meterRegistry.counter("idempotency.requests", "outcome", claim.status().name().toLowerCase()).increment();
+        return claim;
+    }
+}
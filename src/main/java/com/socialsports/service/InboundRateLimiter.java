@@ -0,0 +1,164 @@
+package com.socialsports.service;
+
+import com.socialsports.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits inbound webhook messages per sender and globally.
+ * Per-sender buckets are split over a fixed number of stripes, each an LRU map
+ * behind its own lock, so senders on different stripes never contend and the
+ * number of tracked senders stays bounded.
+ */
+@Service
+public class InboundRateLimiter {
+
+    public enum Decision {
+        ALLOW,      // Process the message
+        THROTTLE,   // Over the limit: send one throttle notice, drop the message
+        DROP,       // Over the limit and already notified: drop silently
+        SHED        // Global limit reached: drop silently, the sender did nothing wrong
+    }
+
+    private static final int STRIPES = 64;
+
+    private final SenderStripe[] stripes = new SenderStripe[STRIPES];
+    private final TokenBucket globalBucket;
+    private final double senderCapacity;
+    private final double senderRefillPerSecond;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final Counter senderLimited;
+    private final Counter globalLimited;
+
+    @Autowired
+    public InboundRateLimiter(MeterRegistry meterRegistry,
+                              @Value("${webhook.rate-limit.sender.capacity:10}") double senderCapacity,
+                              @Value("${webhook.rate-limit.sender.refill-per-minute:20}") double senderRefillPerMinute,
+                              @Value("${webhook.rate-limit.global.capacity:500}") double globalCapacity,
+                              @Value("${webhook.rate-limit.global.refill-per-second:200}") double globalRefillPerSecond,
+                              @Value("${webhook.rate-limit.max-senders:100000}") int maxSenders,
+                              @Value("${webhook.rate-limit.idle-minutes:10}") long idleMinutes) {
+        this(meterRegistry, senderCapacity, senderRefillPerMinute / 60d, globalCapacity, globalRefillPerSecond,
+                maxSenders, TimeUnit.MINUTES.toNanos(idleMinutes), System::nanoTime);
+    }
+
+    InboundRateLimiter(MeterRegistry meterRegistry, double senderCapacity, double senderRefillPerSecond,
+                       double globalCapacity, double globalRefillPerSecond, int maxSenders, long idleNanos,
+                       LongSupplier nanoClock) {
+        this.senderCapacity = senderCapacity;
+        this.senderRefillPerSecond = senderRefillPerSecond;
+        this.idleNanos = idleNanos;
+        this.nanoClock = nanoClock;
+        this.globalBucket = new TokenBucket(globalCapacity, globalRefillPerSecond, nanoClock.getAsLong());
+        int maxPerStripe = Math.max(1, maxSenders / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new SenderStripe(maxPerStripe);
+        }
+        this.senderLimited = Counter.builder("webhook.messages.rate_limited")
+                .tag("scope", "sender")
+                .description("Inbound messages rejected by the per-sender limiter")
+                .register(meterRegistry);
+        this.globalLimited = Counter.builder("webhook.messages.rate_limited")
+                .tag("scope", "global")
+                .description("Inbound messages rejected by the global limiter")
+                .register(meterRegistry);
+    }
+
+    public Decision check(String senderPhoneNumber) {
+        long now = nanoClock.getAsLong();
+        SenderStripe stripe = stripes[Math.floorMod(senderPhoneNumber.hashCode(), STRIPES)];
+
+        synchronized (stripe) {
+            SenderState state = stripe.get(senderPhoneNumber);
+            if (state == null) {
+                state = new SenderState(new TokenBucket(senderCapacity, senderRefillPerSecond, now));
+                stripe.put(senderPhoneNumber, state);
+            }
+            state.lastSeenNanos = now;
+
+            if (!state.bucket.tryConsume(now)) {
+                senderLimited.increment();
+                return rejected(state);
+            }
+            boolean globalAllowed;
+            synchronized (globalBucket) {
+                globalAllowed = globalBucket.tryConsume(now);
+            }
+            if (!globalAllowed) {
+                // Not the sender's fault: keep their token and do not send them a notice
+                state.bucket.refund();
+                globalLimited.increment();
+                return Decision.SHED;
+            }
+
+            state.throttleNotified = false;
+            return Decision.ALLOW;
+        }
+    }
+
+    /**
+     * Forgets senders that have been idle longer than the configured timeout
+     */
+    public void evictIdleSenders() {
+        long now = nanoClock.getAsLong();
+        for (SenderStripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.values().removeIf(state -> now - state.lastSeenNanos > idleNanos);
+            }
+        }
+    }
+
+    public int trackedSenders() {
+        int total = 0;
+        for (SenderStripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size();
+            }
+        }
+        return total;
+    }
+
+    private static Decision rejected(SenderState state) {
+        if (state.throttleNotified) {
+            return Decision.DROP;
+        }
+        state.throttleNotified = true;
+        return Decision.THROTTLE;
+    }
+
+    private static final class SenderState {
+        private final TokenBucket bucket;
+        private long lastSeenNanos;
+        private boolean throttleNotified;
+
+        private SenderState(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    /**
+     * Access-ordered map that drops its least recently seen sender when full
+     */
+    private static final class SenderStripe extends LinkedHashMap<String, SenderState> {
+        private final int maxEntries;
+
+        private SenderStripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SenderState> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.socialsports.service;
+
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventStatus;
+import com.socialsports.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Admission stage in front of event joins, for join storms on popular events.
+ * Each event gets an in-memory view of its capacity (seats taken plus joins in flight),
+ * loaded once and then kept current from EventChange notifications. Joins for a full
+ * event are rejected from the view without touching DynamoDB, unless the waitlist is
+ * enabled, in which case they queue for a waitlist place.
+ *
+ * <p>Admitted joins for the same event are group committed: the first joiner becomes
+ * the leader and commits everything queued so far in one call, while joiners arriving
+ * meanwhile queue up for the leader's next commit. The commit call (EventService) re-reads
+ * the event and decides each join against the stored state, so the view only needs to be
+ * roughly right; it is refreshed from the committed event after every commit and
+ * reloaded, by primary key, when older than the configured TTL, to pick up changes made
+ * on other nodes.</p>
+ */
+@Service
+public class JoinAdmissionQueue {
+
+    private final EventRepository eventRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean waitlistEnabled;
+    private final long viewTtlMillis;
+    private final Clock clock;
+    private final Map<String, Admission> admissions;
+
+    /**
+     * One join waiting to be committed. The commit call rejects it, or leaves it to be
+     * completed with the committed event.
+     */
+    public static final class JoinRequest {
+        private final String userId;
+        private final CompletableFuture<Event> result = new CompletableFuture<>();
+
+        JoinRequest(String userId) {
+            this.userId = userId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public void reject(RuntimeException reason) {
+            result.completeExceptionally(reason);
+        }
+
+        public boolean isRejected() {
+            return result.isCompletedExceptionally();
+        }
+    }
+
+    private static final class Admission {
+        final List<JoinRequest> pending = new ArrayList<>();
+        List<JoinRequest> committingBatch = List.of();
+        final Set<String> members = new HashSet<>();   // Participants, waitlisted and in-flight joiners
+        final ReentrantLock loading = new ReentrantLock();   // One view load at a time, outside the monitor
+        boolean open;
+        int limit;
+        int seatsTaken;
+        int inFlight;   // Queued joins plus those of the batch being committed not yet seen as participants
+        long loadedAt = -1;
+        long version;   // Bumped on every update or invalidation, so a slow load never overwrites a newer view
+        boolean committing;
+        String eventTimeString;   // The event's sort key, known after the first load
+
+        void update(Event event, long now) {
+            if (event.getEventTimeString() != null) {
+                eventTimeString = event.getEventTimeString();
+            }
+            open = isOpen(event);
+            limit = event.getParticipantLimit() == null ? Integer.MAX_VALUE : event.getParticipantLimit();
+            List<String> participants = event.getParticipantPhoneNumbers() == null
+                    ? List.of() : event.getParticipantPhoneNumbers();
+            seatsTaken = participants.size();
+            members.clear();
+            members.addAll(participants);
+            // A change published by the commit itself already counts the batch among the seats taken
+            inFlight = pending.size() + (int) committingBatch.stream()
+                    .filter(request -> !members.contains(request.getUserId()))
+                    .count();
+            if (event.getWaitlistPhoneNumbers() != null) {
+                members.addAll(event.getWaitlistPhoneNumbers());
+            }
+            pending.forEach(request -> members.add(request.getUserId()));
+            committingBatch.forEach(request -> members.add(request.getUserId()));
+            loadedAt = now;
+            version++;
+        }
+
+        void invalidate() {
+            loadedAt = -1;
+            version++;
+        }
+
+        boolean isStale(long now, long ttlMillis) {
+            return loadedAt < 0 || now - loadedAt > ttlMillis;
+        }
+    }
+
+    @Autowired
+    public JoinAdmissionQueue(EventRepository eventRepository, MeterRegistry meterRegistry,
+                              @Value("${event.admission.enabled:true}") boolean enabled,
+                              @Value("${event.admission.waitlist.enabled:false}") boolean waitlistEnabled,
+                              @Value("${event.admission.view-ttl-ms:5000}") long viewTtlMillis,
+                              @Value("${event.admission.max-tracked-events:10000}") int maxTrackedEvents) {
+        this(eventRepository, meterRegistry, enabled, waitlistEnabled, Duration.ofMillis(viewTtlMillis),
+                maxTrackedEvents, Clock.systemUTC());
+    }
+
+    JoinAdmissionQueue(EventRepository eventRepository, MeterRegistry meterRegistry, boolean enabled,
+                       boolean waitlistEnabled, Duration viewTtl, int maxTrackedEvents, Clock clock) {
+        this.eventRepository = eventRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.waitlistEnabled = waitlistEnabled;
+        this.viewTtlMillis = viewTtl.toMillis();
+        this.clock = clock;
+        // Least recently joined events are forgotten first; a forgotten view is simply reloaded
+        this.admissions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Admission> eldest) {
+                return size() > Math.max(1, maxTrackedEvents);
+            }
+        };
+    }
+
+    public boolean isWaitlistEnabled() {
+        return waitlistEnabled;
+    }
+
+    /**
+     * Admits a join and waits until it is committed
+     *
+     * @param commit Commits a batch of joins for the event and returns the stored event
+     * @return The event after the commit that included this join
+     * @throws IllegalStateException if the join was rejected, instantly or by the commit
+     * @throws NoSuchElementException if the event does not exist
+     */
+    public Event join(String eventId, String userId, Function<List<JoinRequest>, Event> commit) {
+        JoinRequest request = new JoinRequest(userId);
+        if (!enabled) {
+            Event committed = commit.apply(List.of(request));
+            request.result.complete(committed);
+            return await(request);
+        }
+
+        Admission admission = admissionFor(eventId);
+        refreshIfStale(eventId, admission);
+        boolean leader;
+        synchronized (admission) {
+            if (!admission.open) {
+                rejected("closed");
+                throw new IllegalStateException("This event is no longer accepting participants");
+            }
+            if (admission.members.contains(userId)) {
+                rejected("duplicate");
+                throw new IllegalStateException("You are already a participant in this event");
+            }
+            if (!waitlistEnabled && admission.seatsTaken + admission.inFlight >= admission.limit) {
+                rejected("full");
+                throw new IllegalStateException("This event is already full");
+            }
+            admission.pending.add(request);
+            admission.members.add(userId);
+            admission.inFlight++;
+            leader = !admission.committing;
+            admission.committing = true;
+        }
+
+        if (leader) {
+            commitQueued(admission, commit);
+        }
+        return await(request);
+    }
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        Admission admission;
+        synchronized (admissions) {
+            admission = admissions.get(change.getEvent().getId());
+        }
+        if (admission != null) {
+            synchronized (admission) {
+                admission.update(change.getEvent(), clock.millis());
+            }
+        }
+    }
+
+    /**
+     * Commits batches until no joins are queued, handing the leader role back at the end
+     */
+    private void commitQueued(Admission admission, Function<List<JoinRequest>, Event> commit) {
+        while (true) {
+            List<JoinRequest> batch;
+            synchronized (admission) {
+                if (admission.pending.isEmpty()) {
+                    admission.committing = false;
+                    return;
+                }
+                batch = new ArrayList<>(admission.pending);
+                admission.pending.clear();
+                admission.committingBatch = batch;
+            }
+
+            Event committed = null;
+            RuntimeException failure = null;
+            try {
+                committed = commit.apply(batch);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            meterRegistry.counter("event.admission.commits").increment();
+            meterRegistry.counter("event.admission.committed_joins").increment(batch.size());
+
+            synchronized (admission) {
+                admission.committingBatch = List.of();
+                admission.inFlight = admission.pending.size();
+                if (committed != null) {
+                    admission.update(committed, clock.millis());
+                } else {
+                    batch.forEach(request -> admission.members.remove(request.getUserId()));
+                    admission.invalidate();
+                }
+            }
+            for (JoinRequest request : batch) {
+                if (failure != null) {
+                    request.reject(failure);
+                } else {
+                    request.result.complete(committed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reloads an expired view. The read happens outside the admission's monitor, so joins
+     * and change notifications for the event are not held up by DynamoDB, and concurrent
+     * joiners wait for the one load in progress instead of each reading the event.
+     */
+    private void refreshIfStale(String eventId, Admission admission) {
+        synchronized (admission) {
+            if (!admission.isStale(clock.millis(), viewTtlMillis)) {
+                return;
+            }
+        }
+        admission.loading.lock();
+        try {
+            String eventTimeString;
+            long version;
+            synchronized (admission) {
+                if (!admission.isStale(clock.millis(), viewTtlMillis)) {
+                    return;
+                }
+                eventTimeString = admission.eventTimeString;
+                version = admission.version;
+            }
+            Event event = load(eventId, eventTimeString)
+                    .orElseThrow(() -> new NoSuchElementException("Event not found"));
+            synchronized (admission) {
+                if (admission.version == version) {
+                    admission.update(event, clock.millis());
+                }
+            }
+        } finally {
+            admission.loading.unlock();
+        }
+    }
+
+    private Optional<Event> load(String eventId, String eventTimeString) {
+        // Only the first load has to look the event up by its ID alone
+        return eventTimeString == null
+                ? eventRepository.findById(eventId)
+                : eventRepository.findByKey(eventId, eventTimeString);
+    }
+
+    private Admission admissionFor(String eventId) {
+        synchronized (admissions) {
+            return admissions.computeIfAbsent(eventId, id -> new Admission());
+        }
+    }
+
+    private void rejected(String reason) {
+        meterRegistry.counter("event.admission.rejected", "reason", reason).increment();
+    }
+
+    private static Event await(JoinRequest request) {
+        try {
+            return request.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static boolean isOpen(Event event) {
+        return event.getStatus() == EventStatus.CREATED || event.getStatus() == EventStatus.CONFIRMED;
+    }
+}
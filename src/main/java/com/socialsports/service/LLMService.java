@@ -1,102 +1,318 @@
 package com.socialsports.service;
 
-import com.socialsports.model.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.socialsports.config.OpenAIConfig;
+import com.socialsports.model.EventRequestExtraction;
 import com.socialsports.model.SportType;
-import org.springframework.beans.factory.annotation.Value;
+import com.socialsports.util.EventRequestExtractor;
+import com.socialsports.util.MicroBatcher;
+import com.socialsports.util.ThreadFactories;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Extracts event details from free-text requests. Requests the local extractor understands
+ * with enough confidence are answered without a network call; the rest go to the OpenAI
+ * chat-completions API. Calls are asynchronous, bounded by a per-call deadline and a cap on
+ * calls in flight; when the API is slow, saturated, unavailable or returns something unusable
+ * the local result is used instead, so a caller always gets a result within the deadline.
+ * Requests arriving close together are micro-batched into one call to stay under provider rate limits.
+ */
 @Service
+@Slf4j
 public class LLMService {
-    private final RestTemplate restTemplate;
-    private final String openAiApiKey;
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
 
-    public LLMService(@Value("${openai.api.key}") String openAiApiKey) {
-        this.openAiApiKey = openAiApiKey;
-        this.restTemplate = new RestTemplate();
+    private static final String SYSTEM_PROMPT = """
+            You extract sports event details from chat messages. Today is %s.
+            The user sends a JSON array of messages. Reply with a single JSON object and nothing else:
+            {"results": [...]} with one object per message, in the same order, using these keys:
+            - "sportType": one of %s, or null
+            - "time": ISO-8601 local date-time (yyyy-MM-ddTHH:mm), or null
+            - "location": the venue name, or null
+            - "playerCount": number of other players wanted, or null
+            """;
+    private static final String SPORT_TYPES = Arrays.stream(SportType.values())
+            .map(Enum::name)
+            .collect(Collectors.joining(", "));
+
+    private final Settings settings;
+    private final URI apiUrl;
+    private final Semaphore inFlight;
+    private final ObjectMapper objectMapper;
+    private final EventRequestCache cache;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService batchScheduler;
+    private final MicroBatcher<String, Map<String, Object>> batcher;
+
+    @Autowired
+    public LLMService(OpenAIConfig config, ObjectMapper objectMapper, EventRequestCache cache) {
+        this(Settings.builder()
+                .apiKey(config.getApiKey())
+                .apiUrl(config.getUrl())
+                .model(config.getModel())
+                .temperature(config.getTemperature())
+                .maxTokens(config.getMaxTokens())
+                .timeout(Duration.ofMillis(config.getTimeoutMs()))
+                .maxConcurrentRequests(config.getMaxConcurrentRequests())
+                .minLocalConfidence(config.getMinLocalConfidence())
+                .batchWindow(Duration.ofMillis(config.getBatchWindowMs()))
+                .batchMaxSize(config.getBatchMaxSize())
+                .build(), objectMapper, cache);
+    }
+
+    public LLMService(Settings settings, ObjectMapper objectMapper, EventRequestCache cache) {
+        this.settings = settings;
+        this.apiUrl = URI.create(settings.getApiUrl());
+        this.inFlight = new Semaphore(settings.getMaxConcurrentRequests());
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(settings.getTimeout())
+                .build();
+        if (settings.getBatchMaxSize() > 1 && !settings.getBatchWindow().isZero()) {
+            this.batchScheduler = Executors.newSingleThreadScheduledExecutor(ThreadFactories.named("llm-batch", false));
+            this.batcher = new MicroBatcher<>(settings.getBatchWindow(), settings.getBatchMaxSize(),
+                    this::complete, batchScheduler);
+        } else {
+            this.batchScheduler = null;
+            this.batcher = null;
+        }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        if (batcher != null) {
+            batcher.flush();
+            batchScheduler.shutdown();
+        }
+    }
+
+    /**
+     * Blocking variant of {@link #parseNaturalLanguageEventRequestAsync(String)}; waits at most the call deadline
+     */
     public Map<String, Object> parseNaturalLanguageEventRequest(String message) {
-        // Example: "I want to play tennis tomorrow at 3pm at Central Courts with 3 other people"
-        Map<String, Object> eventDetails = new HashMap<>();
-        
-        // Call OpenAI API to extract structured information
-        String prompt = String.format("""
-            Extract the following information from this sports event request: '%s'
-            - Sport type
-            - Date and time
-            - Location
-            - Number of players
-            - Any additional details
-            Format the response as JSON.
-            """, message);
-
-        // TODO: Implement OpenAI API call here
-        // For now, using regex-based parsing as fallback
-        return parseWithRegex(message);
+        return parseNaturalLanguageEventRequestAsync(message).join();
     }
 
-    private Map<String, Object> parseWithRegex(String message) {
-        Map<String, Object> details = new HashMap<>();
-        
-        // Basic patterns for demonstration
-        for (SportType sport : SportType.values()) {
-            if (message.toLowerCase().contains(sport.name().toLowerCase())) {
-                details.put("sportType", sport);
-                break;
-            }
+    /**
+     * Parses a request such as "I want to play tennis tomorrow at 3pm at Central Courts with 3 other people".
+     * Fields the model leaves out are filled in from the local extraction. The future never completes
+     * exceptionally because of the API; failures and timeouts fall back to the local result.
+     * Answers from the model are cached by normalized message text, fallback results are not.
+     * Requests arriving within the batch window share one API call.
+     */
+    public CompletableFuture<Map<String, Object>> parseNaturalLanguageEventRequestAsync(String message) {
+        EventRequestExtraction extraction = EventRequestExtractor.extract(message, LocalDateTime.now());
+        Map<String, Object> local = extraction.getDetails();
+        String apiKey = settings.getApiKey();
+        if (extraction.getConfidence() >= settings.getMinLocalConfidence() || apiKey == null || apiKey.isBlank()) {
+            return CompletableFuture.completedFuture(local);
+        }
+        String cacheKey = cache.key(message);
+        Map<String, Object> cached = cache.get(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
-        // Time pattern (e.g., "3pm", "15:00")
-        Pattern timePattern = Pattern.compile("(\\d{1,2})(?::|\\s)?(\\d{2})?\\s*(am|pm)?", Pattern.CASE_INSENSITIVE);
-        Matcher timeMatcher = timePattern.matcher(message);
-        if (timeMatcher.find()) {
-            details.put("time", parseTimeString(timeMatcher.group()));
+        CompletableFuture<Map<String, Object>> answer = batcher != null
+                ? batcher.submit(message)
+                : complete(List.of(message)).thenApply(results -> results.get(0));
+        return answer.handle((details, error) -> {
+            if (error != null) {
+                if (unwrap(error) instanceof RejectedExecutionException) {
+                    log.debug("OpenAI concurrency limit reached, using local extraction");
+                } else {
+                    log.warn("OpenAI request failed, using local extraction: {}", describe(error));
+                }
+                return local;
+            }
+            local.forEach(details::putIfAbsent);
+            cache.put(cacheKey, details);
+            return details;
+        });
+    }
+
+    /**
+     * One chat-completions call for a batch of messages, answered with one result per message
+     */
+    private CompletableFuture<List<Map<String, Object>>> complete(List<String> messages) {
+        // Never queue behind slow calls: when the cap is reached, callers get the local result right away
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("concurrency limit reached"));
         }
 
-        // Number of players pattern
-        Pattern playerPattern = Pattern.compile("(\\d+)\\s+(?:other\\s+)?(?:player|people|person)s?");
-        Matcher playerMatcher = playerPattern.matcher(message);
-        if (playerMatcher.find()) {
-            details.put("playerCount", Integer.parseInt(playerMatcher.group(1)));
+        HttpRequest request;
+        try {
+            request = buildRequest(messages);
+        } catch (JsonProcessingException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
         }
 
-        // Location pattern (after "at")
-        Pattern locationPattern = Pattern.compile("at\\s+([\\w\\s]+?)(?=\\s+(?:with|for|on|at|$))");
-        Matcher locationMatcher = locationPattern.matcher(message);
-        if (locationMatcher.find()) {
-            details.put("location", locationMatcher.group(1).trim());
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .orTimeout(settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> inFlight.release())
+                .thenApply(response -> readCompletion(response, messages.size()));
+    }
+
+    private HttpRequest buildRequest(List<String> messages) throws JsonProcessingException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", settings.getModel());
+        body.put("temperature", settings.getTemperature());
+        body.put("max_tokens", settings.getMaxTokens() * messages.size());
+        ArrayNode prompt = body.putArray("messages");
+        prompt.addObject()
+                .put("role", "system")
+                .put("content", String.format(SYSTEM_PROMPT, LocalDate.now(), SPORT_TYPES));
+        prompt.addObject()
+                .put("role", "user")
+                .put("content", objectMapper.writeValueAsString(messages));
+
+        return HttpRequest.newBuilder(apiUrl)
+                .timeout(settings.getTimeout())
+                .header("Authorization", "Bearer " + settings.getApiKey())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    /**
+     * Maps the model's JSON answer onto the same keys and types the local extractor produces
+     */
+    private List<Map<String, Object>> readCompletion(HttpResponse<String> response, int expected) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("OpenAI returned status " + response.statusCode());
+        }
+        try {
+            JsonNode content = objectMapper.readTree(response.body())
+                    .path("choices").path(0).path("message").path("content");
+            if (!content.isTextual()) {
+                throw new IllegalStateException("OpenAI response has no message content");
+            }
+            JsonNode answer = objectMapper.readTree(stripCodeFence(content.asText()));
+            JsonNode results = answer.path("results");
+            if (!results.isArray()) {
+                // A single-message request is sometimes answered with the bare object
+                if (expected != 1 || !answer.isObject()) {
+                    throw new IllegalStateException("OpenAI response has no results array");
+                }
+                results = objectMapper.createArrayNode().add(answer);
+            }
+            if (results.size() != expected) {
+                throw new IllegalStateException("OpenAI returned " + results.size() + " results for " + expected + " messages");
+            }
+            List<Map<String, Object>> details = new ArrayList<>(expected);
+            results.forEach(fields -> details.add(toDetails(fields)));
+            return details;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
+    private Map<String, Object> toDetails(JsonNode fields) {
+        Map<String, Object> details = new HashMap<>();
+        String sportType = fields.path("sportType").asText(null);
+        if (sportType != null) {
+            Arrays.stream(SportType.values())
+                    .filter(sport -> sport.name().equalsIgnoreCase(sportType))
+                    .findFirst()
+                    .ifPresent(sport -> details.put("sportType", sport));
+        }
+        String time = fields.path("time").asText(null);
+        if (time != null) {
+            try {
+                details.put("time", LocalDateTime.parse(time));
+            } catch (DateTimeParseException e) {
+                log.debug("Ignoring unparseable time from OpenAI: {}", time);
+            }
+        }
+        String location = fields.path("location").asText(null);
+        if (location != null && !location.isBlank()) {
+            details.put("location", location.trim());
+        }
+        JsonNode playerCount = fields.path("playerCount");
+        if (playerCount.canConvertToInt() && playerCount.asInt() > 0) {
+            details.put("playerCount", playerCount.asInt());
+        }
         return details;
     }
 
-    private LocalDateTime parseTimeString(String timeStr) {
-        // Simple time parsing logic - extend as needed
-        LocalDateTime now = LocalDateTime.now();
-        Pattern pattern = Pattern.compile("(\\d{1,2})(?::(\\d{2}))?(am|pm)?", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(timeStr);
-        
-        if (matcher.find()) {
-            int hours = Integer.parseInt(matcher.group(1));
-            int minutes = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
-            String ampm = matcher.group(3);
-            
-            if (ampm != null && ampm.equalsIgnoreCase("pm") && hours < 12) {
-                hours += 12;
+    private static String stripCodeFence(String content) {
+        String trimmed = content.trim();
+        if (trimmed.startsWith("```")) {
+            int start = trimmed.indexOf('\n');
+            int end = trimmed.lastIndexOf("```");
+            if (start > 0 && end > start) {
+                return trimmed.substring(start + 1, end);
             }
-            
-            return now.withHour(hours).withMinute(minutes);
         }
-        
-        return null;
+        return trimmed;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = unwrap(error);
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Settings {
+        private String apiKey;
+        private String apiUrl;
+        @Builder.Default
+        private String model = "gpt-4";
+        private double temperature;
+        @Builder.Default
+        private int maxTokens = 150;                    // Per message; a batch asks for this many per message
+        @Builder.Default
+        private Duration timeout = Duration.ofSeconds(3);
+        @Builder.Default
+        private int maxConcurrentRequests = 16;          // Upstream calls in flight, each carrying a whole batch
+        @Builder.Default
+        private double minLocalConfidence = 0.8;
+        @Builder.Default
+        private Duration batchWindow = Duration.ZERO;    // Zero disables batching
+        @Builder.Default
+        private int batchMaxSize = 1;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package com.socialsports.service;
+
+import com.socialsports.repository.ProcessedMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Detects webhook redeliveries by WhatsApp message ID.
+ * Seen IDs are kept in a bounded, time-expiring in-memory set, optionally
+ * backed by the ProcessedMessage table so duplicates are also caught across restarts.
+ */
+@Service
+@Slf4j
+public class MessageDeduplicator {
+
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final Clock clock;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final boolean persistent;
+    private final Counter duplicateCounter;
+
+    // Message ID -> expiry (epoch millis), in insertion order so the eldest expire first
+    private final LinkedHashMap<String, Long> seen = new LinkedHashMap<>();
+
+    @Autowired
+    public MessageDeduplicator(ProcessedMessageRepository processedMessageRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${webhook.dedup.max-entries:100000}") int maxEntries,
+                               @Value("${webhook.dedup.ttl-minutes:60}") long ttlMinutes,
+                               @Value("${webhook.dedup.persistent:false}") boolean persistent) {
+        this(processedMessageRepository, meterRegistry, maxEntries, Duration.ofMinutes(ttlMinutes),
+                persistent, Clock.systemUTC());
+    }
+
+    MessageDeduplicator(ProcessedMessageRepository processedMessageRepository, MeterRegistry meterRegistry,
+                        int maxEntries, Duration ttl, boolean persistent, Clock clock) {
+        this.processedMessageRepository = processedMessageRepository;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.persistent = persistent;
+        this.clock = clock;
+        this.duplicateCounter = Counter.builder("webhook.messages.duplicates")
+                .description("Inbound webhook messages dropped as redeliveries")
+                .register(meterRegistry);
+        Gauge.builder("webhook.messages.dedup.size", this, MessageDeduplicator::size)
+                .description("Message IDs currently held in the in-memory dedup set")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the message ID and reports whether it had been seen before.
+     * Messages without an ID are never treated as duplicates.
+     *
+     * @param messageId The provider message ID
+     * @return true if the message is a redelivery and should be dropped
+     */
+    public boolean isDuplicate(String messageId) {
+        if (messageId == null) {
+            return false;
+        }
+
+        long now = clock.millis();
+        synchronized (seen) {
+            evictExpired(now);
+            Long expiresAt = seen.get(messageId);
+            if (expiresAt != null) {
+                duplicateCounter.increment();
+                return true;
+            }
+            remember(messageId, now);
+        }
+
+        if (persistent && !markPersisted(messageId, now)) {
+            duplicateCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Forgets a message ID registered by {@link #isDuplicate}, for a message that was
+     * dropped before it could be processed, so its redelivery is not discarded
+     *
+     * @param messageId The provider message ID
+     */
+    public void forget(String messageId) {
+        if (messageId == null) {
+            return;
+        }
+        synchronized (seen) {
+            seen.remove(messageId);
+        }
+        if (persistent) {
+            try {
+                processedMessageRepository.forget(messageId);
+            } catch (Exception e) {
+                log.warn("Could not forget processed message {}: {}", messageId, e.getMessage());
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (seen) {
+            return seen.size();
+        }
+    }
+
+    private boolean markPersisted(String messageId, long now) {
+        try {
+            return processedMessageRepository.markProcessed(messageId, Instant.ofEpochMilli(now).plus(ttl));
+        } catch (Exception e) {
+            // Fail open: a lost dedup record is better than dropping a real message
+            log.warn("Could not persist processed message {}: {}", messageId, e.getMessage());
+            return true;
+        }
+    }
+
+    private void remember(String messageId, long now) {
+        seen.put(messageId, now + ttl.toMillis());
+        if (seen.size() > maxEntries) {
+            Iterator<String> eldest = seen.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Long>> iterator = seen.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() > now) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.socialsports.service;
+
+import com.socialsports.model.InboundMessage;
+import com.socialsports.util.LogRedaction;
+import com.socialsports.util.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches inbound messages to {@link MessageProcessingService}.
+ * Each sender is pinned to one single-threaded lane, so messages from the same
+ * sender are processed in arrival order while different senders run in parallel.
+ * Lanes queue a bounded number of messages; when a lane is full, further messages
+ * for it are dropped and counted instead of piling up in memory, and their IDs are
+ * forgotten by the deduplicator so that a redelivery can still be processed.
+ */
+@Service
+@Slf4j
+public class MessageDispatcher {
+
+    private final MessageProcessingService messageProcessingService;
+    private final MessageDeduplicator messageDeduplicator;
+    private final InboundRateLimiter inboundRateLimiter;
+    private final ExecutorService[] lanes;
+    private final Counter laneFull;
+
+    public MessageDispatcher(MessageProcessingService messageProcessingService,
+                             MessageDeduplicator messageDeduplicator,
+                             InboundRateLimiter inboundRateLimiter,
+                             MeterRegistry meterRegistry,
+                             @Value("${webhook.dispatch.lanes:8}") int laneCount,
+                             @Value("${webhook.dispatch.lane-capacity:1000}") int laneCapacity,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.messageProcessingService = messageProcessingService;
+        this.messageDeduplicator = messageDeduplicator;
+        this.inboundRateLimiter = inboundRateLimiter;
+        this.lanes = new ExecutorService[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            // One thread keeps a sender's messages in order; AbortPolicy lets dispatch() count what does not fit
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, laneCapacity)),
+                    ThreadFactories.named("message-lane-" + i, virtualThreads),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        this.laneFull = Counter.builder("webhook.messages.lane_full")
+                .description("Inbound messages dropped because their dispatch lane was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue every message of a webhook batch, preserving their order per sender
+     */
+    public void dispatchAll(List<InboundMessage> messages) {
+        for (InboundMessage message : messages) {
+            dispatch(message);
+        }
+    }
+
+    public void dispatch(InboundMessage message) {
+        if (message.getFrom() == null || message.getBody() == null) {
+            log.debug("Skipping message {} without sender or text", message.getId());
+            return;
+        }
+        if (messageDeduplicator.isDuplicate(message.getId())) {
+            log.info("Dropping redelivered message {} from {}", message.getId(),
+                    LogRedaction.phoneNumber(message.getFrom()));
+            return;
+        }
+
+        switch (inboundRateLimiter.check(message.getFrom())) {
+            case ALLOW -> enqueue(message, () -> process(message));
+            case THROTTLE -> {
+                log.info("Throttling messages from {}", LogRedaction.phoneNumber(message.getFrom()));
+                enqueue(message, () -> sendThrottleNotice(message.getFrom()));
+            }
+            case DROP -> log.debug("Dropping rate-limited message {} from {}", message.getId(),
+                    LogRedaction.phoneNumber(message.getFrom()));
+            case SHED -> log.debug("Shedding message {} from {} over the global limit", message.getId(),
+                    LogRedaction.phoneNumber(message.getFrom()));
+        }
+    }
+
+    private void enqueue(InboundMessage message, Runnable task) {
+        try {
+            laneFor(message.getFrom()).execute(task);
+        } catch (RejectedExecutionException e) {
+            laneFull.increment();
+            messageDeduplicator.forget(message.getId());
+            log.warn("Dropping message {} from {}: its dispatch lane is full", message.getId(),
+                    LogRedaction.phoneNumber(message.getFrom()));
+        }
+    }
+
+    private void sendThrottleNotice(String phoneNumber) {
+        try {
+            messageProcessingService.sendThrottleNotice(phoneNumber);
+        } catch (Exception e) {
+            log.warn("Could not send throttle notice to {}: {}", LogRedaction.phoneNumber(phoneNumber), e.getMessage());
+        }
+    }
+
+    private void process(InboundMessage message) {
+        try {
+            messageProcessingService.processMessage(message.getFrom(), message.getBody());
+        } catch (Exception e) {
+            log.error("Error processing message {} from {}", message.getId(),
+                    LogRedaction.phoneNumber(message.getFrom()), e);
+        }
+    }
+
+    private ExecutorService laneFor(String sender) {
+        return lanes[Math.floorMod(sender.hashCode(), lanes.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            lane.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.socialsports.service;
 
+import com.socialsports.model.Command;
 import com.socialsports.model.SportType;
 import com.socialsports.model.User;
+import com.socialsports.util.CommandParser;
+import com.socialsports.util.LogRedaction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,10 +25,11 @@ public class MessageProcessingService {
     private final EventService eventService;
     private final WhatsAppService whatsAppService;
     
-    private static final Pattern JOIN_PATTERN = Pattern.compile("JOIN\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
-    private static final Pattern CANCEL_PATTERN = Pattern.compile("CANCEL\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
+    private static final String CREATE_EVENT_EXAMPLE =
+            "CREATE EVENT PADEL AT City Sports Club ON 2023-04-15 18:30 FOR 4 PLAYERS SKILL 3 BOOKING http://example.com";
+    private static final DateTimeFormatter EVENT_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    // Matched against the arguments following the CREATE EVENT keywords
     private static final Pattern CREATE_EVENT_PATTERN = Pattern.compile(
-            "CREATE\\s+EVENT\\s+" +         // Command
             "(PADEL|TENNIS|FOOTBALL|BASKETBALL|VOLLEYBALL)\\s+" +  // Sport type
             "AT\\s+(.+?)\\s+" +             // Location
             "ON\\s+(.+?)\\s+" +             // Date/time
@@ -35,85 +39,76 @@ public class MessageProcessingService {
             Pattern.CASE_INSENSITIVE);
     
     public void processMessage(String senderPhoneNumber, String messageContent) {
-        log.info("Processing message from {}: {}", senderPhoneNumber, messageContent);
+        // Message bodies and full phone numbers stay out of the logs, as in the webhook controller
+        log.debug("Processing {}-character message from {}", messageContent == null ? 0 : messageContent.length(),
+                LogRedaction.phoneNumber(senderPhoneNumber));
         
         // Register user if not already registered
-        userService.getUserByPhoneNumber(senderPhoneNumber)
+        User user = userService.getUserByPhoneNumber(senderPhoneNumber)
                 .orElseGet(() -> userService.createUser(senderPhoneNumber, "User" + senderPhoneNumber.substring(senderPhoneNumber.length() - 4)));
         
-        // Process based on message intent
-        if (messageContent.toUpperCase().startsWith("JOIN")) {
-            processJoinRequest(senderPhoneNumber, messageContent);
-        } else if (messageContent.toUpperCase().startsWith("CANCEL")) {
-            processCancelRequest(senderPhoneNumber, messageContent);
-        } else if (messageContent.toUpperCase().startsWith("CREATE EVENT")) {
-            processCreateEventRequest(senderPhoneNumber, messageContent);
-        } else if (messageContent.toUpperCase().startsWith("LEAVE")) {
-            processLeaveRequest(senderPhoneNumber, messageContent);
-        } else if (messageContent.toUpperCase().startsWith("HELP")) {
-            sendHelpMessage(senderPhoneNumber);
-        } else if (messageContent.toUpperCase().startsWith("EVENTS")) {
-            sendUpcomingEvents(senderPhoneNumber);
-        } else {
-            sendUnknownCommandMessage(senderPhoneNumber);
+        // Parse once, then route on the command type
+        Command command = CommandParser.parse(messageContent);
+        switch (command.getType()) {
+            case JOIN -> processJoinRequest(senderPhoneNumber, user.getUserId(), command.getArgument());
+            case CANCEL -> processCancelRequest(senderPhoneNumber, command.getArgument());
+            case CREATE_EVENT -> processCreateEventRequest(senderPhoneNumber, command.getArgument());
+            case LEAVE -> processLeaveRequest(senderPhoneNumber, user.getUserId(), command.getArgument());
+            case HELP -> sendHelpMessage(senderPhoneNumber);
+            case EVENTS -> sendUpcomingEvents(senderPhoneNumber);
+            default -> sendUnknownCommandMessage(senderPhoneNumber);
         }
     }
     
-    private void processJoinRequest(String phoneNumber, String message) {
-        Matcher matcher = JOIN_PATTERN.matcher(message);
-        if (matcher.find()) {
-            String eventId = matcher.group(1);
-            try {
-                eventService.joinEvent(eventId, phoneNumber);
-            } catch (NoSuchElementException e) {
-                whatsAppService.sendTextMessage(phoneNumber, "Event not found. Please check the event ID and try again.");
-            } catch (IllegalStateException e) {
-                whatsAppService.sendTextMessage(phoneNumber, e.getMessage());
-            }
-        } else {
+    private void processJoinRequest(String phoneNumber, String userId, String eventId) {
+        if (eventId == null) {
             whatsAppService.sendTextMessage(phoneNumber, "Invalid JOIN command. Please use the format: JOIN [eventId]");
+            return;
+        }
+        try {
+            // Events list participants by user ID
+            eventService.joinEvent(eventId, userId);
+        } catch (NoSuchElementException e) {
+            whatsAppService.sendTextMessage(phoneNumber, "Event not found. Please check the event ID and try again.");
+        } catch (IllegalStateException e) {
+            whatsAppService.sendTextMessage(phoneNumber, e.getMessage());
         }
     }
     
-    private void processCancelRequest(String phoneNumber, String message) {
-        Matcher matcher = CANCEL_PATTERN.matcher(message);
-        if (matcher.find()) {
-            String eventId = matcher.group(1);
-            try {
-                eventService.getEventById(eventId).ifPresent(event -> {
-                    if (event.getCreatorPhoneNumber().equals(phoneNumber)) {
-                        eventService.cancelEvent(eventId, "Canceled by event creator");
-                        whatsAppService.sendTextMessage(phoneNumber, "Event canceled successfully");
-                    } else {
-                        whatsAppService.sendTextMessage(phoneNumber, "Only the event creator can cancel an event. To leave an event, use LEAVE [eventId]");
-                    }
-                });
-            } catch (NoSuchElementException e) {
-                whatsAppService.sendTextMessage(phoneNumber, "Event not found. Please check the event ID and try again.");
-            }
-        } else {
+    private void processCancelRequest(String phoneNumber, String eventId) {
+        if (eventId == null) {
             whatsAppService.sendTextMessage(phoneNumber, "Invalid CANCEL command. Please use the format: CANCEL [eventId]");
+            return;
+        }
+        try {
+            eventService.getEventById(eventId).ifPresent(event -> {
+                if (event.getCreatorPhoneNumber().equals(phoneNumber)) {
+                    eventService.cancelEvent(eventId, "Canceled by event creator");
+                    whatsAppService.sendTextMessage(phoneNumber, "Event canceled successfully");
+                } else {
+                    whatsAppService.sendTextMessage(phoneNumber, "Only the event creator can cancel an event. To leave an event, use LEAVE [eventId]");
+                }
+            });
+        } catch (NoSuchElementException e) {
+            whatsAppService.sendTextMessage(phoneNumber, "Event not found. Please check the event ID and try again.");
         }
     }
     
-    private void processLeaveRequest(String phoneNumber, String message) {
-        Pattern leavePattern = Pattern.compile("LEAVE\\s+(\\S+)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = leavePattern.matcher(message);
-        if (matcher.find()) {
-            String eventId = matcher.group(1);
-            try {
-                eventService.leaveEvent(eventId, phoneNumber);
-            } catch (IllegalStateException e) {
-                whatsAppService.sendTextMessage(phoneNumber, e.getMessage());
-            }
-        } else {
+    private void processLeaveRequest(String phoneNumber, String userId, String eventId) {
+        if (eventId == null) {
             whatsAppService.sendTextMessage(phoneNumber, "Invalid LEAVE command. Please use the format: LEAVE [eventId]");
+            return;
+        }
+        try {
+            eventService.leaveEvent(eventId, userId);
+        } catch (IllegalStateException e) {
+            whatsAppService.sendTextMessage(phoneNumber, e.getMessage());
         }
     }
     
-    private void processCreateEventRequest(String phoneNumber, String message) {
-        Matcher matcher = CREATE_EVENT_PATTERN.matcher(message);
-        if (matcher.find()) {
+    private void processCreateEventRequest(String phoneNumber, String arguments) {
+        Matcher matcher = arguments != null ? CREATE_EVENT_PATTERN.matcher(arguments) : null;
+        if (matcher != null && matcher.find()) {
             try {
                 SportType sportType = SportType.valueOf(matcher.group(1).toUpperCase());
                 String location = matcher.group(2);
@@ -124,8 +119,7 @@ public class MessageProcessingService {
                 
                 LocalDateTime eventTime;
                 try {
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-                    eventTime = LocalDateTime.parse(dateTimeStr, formatter);
+                    eventTime = LocalDateTime.parse(dateTimeStr, EVENT_TIME_FORMAT);
                 } catch (DateTimeParseException e) {
                     whatsAppService.sendTextMessage(phoneNumber, 
                         "Invalid date/time format. Please use format: YYYY-MM-DD HH:MM (e.g., 2023-04-15 18:30)");
@@ -157,8 +151,7 @@ public class MessageProcessingService {
             }
         } else {
             whatsAppService.sendTextMessage(phoneNumber, 
-                "Invalid CREATE EVENT command. Example format: " +
-                "CREATE EVENT PADEL AT City Sports Club ON 2023-04-15 18:30 FOR 4 PLAYERS SKILL 3 BOOKING http://example.com");
+                "Invalid CREATE EVENT command. Example format: " + CREATE_EVENT_EXAMPLE);
         }
     }
     
@@ -166,8 +159,8 @@ public class MessageProcessingService {
         String helpMessage = 
             "*SocialSports Bot Commands*\n\n" +
             "• *CREATE EVENT [sport] AT [location] ON [date] FOR [number] PLAYERS SKILL [1-5] BOOKING [optional-url]* - Create a new event\n" +
-            "• *JOIN [eventId]* - Join an existing event\n" +
-            "• *LEAVE [eventId]* - Leave an event you joined\n" +
+            "• *JOIN [eventId]* (or IN) - Join an existing event\n" +
+            "• *LEAVE [eventId]* (or OUT) - Leave an event you joined\n" +
             "• *CANCEL [eventId]* - Cancel an event (creator only)\n" +
             "• *EVENTS* - Show upcoming events\n" +
             "• *HELP* - Show this help message";
@@ -196,6 +189,11 @@ public class MessageProcessingService {
         whatsAppService.sendTextMessage(phoneNumber, message.toString());
     }
     
+    public void sendThrottleNotice(String phoneNumber) {
+        whatsAppService.sendTextMessage(phoneNumber,
+            "You're sending messages faster than we can handle. Please wait a minute and try again.");
+    }
+    
     private void sendUnknownCommandMessage(String phoneNumber) {
         whatsAppService.sendTextMessage(phoneNumber, 
             "I don't understand that command. Type HELP to see available commands.");
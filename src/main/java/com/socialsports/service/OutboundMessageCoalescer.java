@@ -0,0 +1,169 @@
+package com.socialsports.service;
+
+import com.socialsports.model.OutboundMessage;
+import com.socialsports.util.LogRedaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Buffers outbound text messages per recipient for a short window and sends
+ * them as one multi-section message. A batch is flushed when its window ends,
+ * when it reaches the message cap, or when the next message would push it past
+ * the WhatsApp text length limit. A merged message keeps the event ID of its
+ * sections only when they all concern the same event, and the queue time of the first.
+ */
+@Slf4j
+public class OutboundMessageCoalescer {
+
+    static final int MAX_TEXT_LENGTH = 4096; // WhatsApp text body limit
+    static final String SECTION_SEPARATOR = "\n\n———\n\n";
+
+    private final Duration window;
+    private final int maxMessages;
+    private final Consumer<OutboundMessage> sender;
+    private final ScheduledExecutorService scheduler;
+    private final Executor deliveryExecutor;
+    private final Counter submittedCounter;
+    private final Counter sentCounter;
+
+    private final Map<String, Batch> pending = new HashMap<>();
+
+    /**
+     * @param window How long to wait for more messages to the same recipient
+     * @param maxMessages Flush a batch as soon as it holds this many messages
+     * @param sender Performs the actual send of a (merged) message
+     * @param scheduler Runs the window timers
+     * @param deliveryExecutor Runs the sends, so slow upstream calls do not block the timers
+     */
+    public OutboundMessageCoalescer(Duration window, int maxMessages, Consumer<OutboundMessage> sender,
+                                    ScheduledExecutorService scheduler, Executor deliveryExecutor,
+                                    MeterRegistry meterRegistry) {
+        this.window = window;
+        this.maxMessages = Math.max(1, maxMessages);
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.deliveryExecutor = deliveryExecutor;
+        this.submittedCounter = Counter.builder("whatsapp.outbound.coalescer.messages")
+                .description("Messages submitted to the outbound coalescer")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("whatsapp.outbound.coalescer.sends")
+                .description("Graph API sends issued by the outbound coalescer")
+                .register(meterRegistry);
+    }
+
+    public void submit(OutboundMessage message) {
+        submittedCounter.increment();
+        String recipient = message.getRecipient();
+        List<Batch> ready = new ArrayList<>(2);
+
+        synchronized (pending) {
+            Batch batch = pending.get(recipient);
+            if (batch != null && !batch.fits(message)) {
+                ready.add(detach(recipient, batch));
+                batch = null;
+            }
+            if (batch == null) {
+                Batch created = new Batch();
+                created.timer = scheduler.schedule(() -> flush(recipient, created),
+                        window.toMillis(), TimeUnit.MILLISECONDS);
+                pending.put(recipient, created);
+                batch = created;
+            }
+            batch.messages.add(message);
+            batch.length += (batch.messages.size() > 1 ? SECTION_SEPARATOR.length() : 0) + message.getBody().length();
+            if (batch.messages.size() >= maxMessages) {
+                ready.add(detach(recipient, batch));
+            }
+        }
+
+        for (Batch batch : ready) {
+            deliver(recipient, batch);
+        }
+    }
+
+    /**
+     * Sends every buffered batch immediately, e.g. on shutdown
+     */
+    public void flushAll() {
+        Map<String, Batch> batches;
+        synchronized (pending) {
+            batches = new HashMap<>(pending);
+            batches.forEach(this::detach);
+        }
+        batches.forEach(this::deliver);
+    }
+
+    private void flush(String recipient, Batch batch) {
+        synchronized (pending) {
+            if (pending.get(recipient) != batch) {
+                return; // Already flushed early
+            }
+            detach(recipient, batch);
+        }
+        deliver(recipient, batch);
+    }
+
+    private Batch detach(String recipient, Batch batch) {
+        pending.remove(recipient, batch);
+        if (batch.timer != null) {
+            batch.timer.cancel(false);
+        }
+        return batch;
+    }
+
+    private void deliver(String recipient, Batch batch) {
+        OutboundMessage merged = batch.merge(recipient);
+        deliveryExecutor.execute(() -> {
+            try {
+                sentCounter.increment();
+                sender.accept(merged);
+            } catch (Exception e) {
+                log.error("Error sending {} coalesced message(s) to {}: {}",
+                        batch.messages.size(), LogRedaction.phoneNumber(recipient), e.getMessage());
+            }
+        });
+    }
+
+    private static final class Batch {
+        private final List<OutboundMessage> messages = new ArrayList<>();
+        private int length;
+        private ScheduledFuture<?> timer;
+
+        private boolean fits(OutboundMessage message) {
+            return length + SECTION_SEPARATOR.length() + message.getBody().length() <= MAX_TEXT_LENGTH;
+        }
+
+        private OutboundMessage merge(String recipient) {
+            OutboundMessage first = messages.get(0);
+            if (messages.size() == 1) {
+                return first;
+            }
+            String eventId = first.getEventId();
+            List<String> bodies = new ArrayList<>(messages.size());
+            for (OutboundMessage message : messages) {
+                bodies.add(message.getBody());
+                if (eventId != null && !eventId.equals(message.getEventId())) {
+                    eventId = null;
+                }
+            }
+            return OutboundMessage.builder()
+                    .recipient(recipient)
+                    .body(String.join(SECTION_SEPARATOR, bodies))
+                    .eventId(eventId)
+                    .queuedAt(first.getQueuedAt())
+                    .build();
+        }
+    }
+}
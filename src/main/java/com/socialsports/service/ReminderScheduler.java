@@ -0,0 +1,187 @@
+package com.socialsports.service;
+
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
+import com.socialsports.model.EventStatus;
+import com.socialsports.repository.EventRepository;
+import com.socialsports.util.ThreadFactories;
+import com.socialsports.util.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires event reminders on time from an in-process timing wheel.
+ * Each upcoming event gets one timer per reminder (24h and 2h before it starts),
+ * registered at startup and re-registered or cancelled whenever EventService
+ * publishes a change to the event. When a timer fires, EventService re-reads the
+ * event by its key and sends the reminder (or auto-cancels) as the periodic scan would.
+ * The scan still runs, less often, to catch events changed on other instances.
+ *
+ * <p>Timers are loaded for the shards this node holds (see ShardLeaseManager), plus
+ * events changed locally. Sending claims the reminder on the event item first, so an
+ * event known to two nodes is still only reminded once.</p>
+ */
+@Service
+@Slf4j
+public class ReminderScheduler {
+
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final ShardLeaseManager shardLeaseManager;
+    private final boolean enabled;
+    private final Duration tick;
+    private final Clock clock;
+    private final Executor reminderExecutor;
+    private final TimingWheel<String> wheel;
+
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public ReminderScheduler(EventRepository eventRepository, EventService eventService,
+                             ShardLeaseManager shardLeaseManager,
+                             @Value("${event.reminders.timers.enabled:true}") boolean enabled,
+                             @Value("${event.reminders.timers.tick-ms:1000}") long tickMs,
+                             @Value("${event.reminders.timers.wheel-size:64}") int wheelSize,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(eventRepository, eventService, shardLeaseManager, enabled, Duration.ofMillis(tickMs), wheelSize,
+                Clock.systemDefaultZone(),
+                Executors.newThreadPerTaskExecutor(ThreadFactories.named("event-reminder", virtualThreads)));
+    }
+
+    ReminderScheduler(EventRepository eventRepository, EventService eventService, ShardLeaseManager shardLeaseManager,
+                      boolean enabled, Duration tick, int wheelSize, Clock clock, Executor reminderExecutor) {
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.shardLeaseManager = shardLeaseManager;
+        this.enabled = enabled;
+        this.tick = tick;
+        this.clock = clock;
+        this.reminderExecutor = reminderExecutor;
+        // 4 levels reach wheelSize^4 ticks ahead, about 194 days with the defaults
+        this.wheel = new TimingWheel<>(tick, wheelSize, 4, clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        registerUpcomingEvents();
+        // Shards taken over from another node bring their events' timers along
+        shardLeaseManager.addAcquisitionListener(shards -> registerUpcomingEvents());
+        ticker = Executors.newSingleThreadScheduledExecutor(ThreadFactories.named("event-reminder-wheel", false));
+        ticker.scheduleAtFixedRate(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Reminder timers started with {} pending", wheel.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        if (reminderExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Loads timers for the upcoming events in this node's shards, e.g. at startup,
+     * after taking over shards or after another node changed events
+     */
+    public void registerUpcomingEvents() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<Event> events = eventRepository.findUpcomingEvents(LocalDateTime.now(clock)).stream()
+                    .filter(event -> shardLeaseManager.owns(event.getEventTime()))
+                    .toList();
+            events.forEach(this::register);
+            log.debug("Registered reminder timers for {} upcoming events", events.size());
+        } catch (Exception e) {
+            // The reconciliation scan sends anything missed meanwhile
+            log.warn("Could not load upcoming events for reminder timers: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        if (!enabled) {
+            return;
+        }
+        if (change.getType() == EventChangeType.CANCELED) {
+            EventService.REMINDER_LEAD_TIMES.keySet().forEach(reminder -> wheel.cancel(key(change.getEvent(), reminder)));
+        } else {
+            register(change.getEvent());
+        }
+    }
+
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Turns the wheel to the current time and hands due reminders to the reminder executor
+     */
+    void tick() {
+        try {
+            for (Runnable reminder : wheel.advance(clock.millis())) {
+                reminderExecutor.execute(reminder);
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the fixed-rate ticker
+            log.error("Error advancing reminder timers: {}", e.getMessage(), e);
+        }
+    }
+
+    private void register(Event event) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (Map.Entry<String, Duration> reminder : EventService.REMINDER_LEAD_TIMES.entrySet()) {
+            String key = key(event, reminder.getKey());
+            if (event.getEventTime() == null
+                    || !event.getEventTime().isAfter(now)
+                    || event.getStatus() == EventStatus.CANCELED
+                    || event.getStatus() == EventStatus.COMPLETED
+                    || (event.getRemindersSent() != null
+                        && Boolean.TRUE.equals(event.getRemindersSent().get(reminder.getKey())))) {
+                wheel.cancel(key);
+                continue;
+            }
+            long dueAt = event.getEventTime().minus(reminder.getValue())
+                    .atZone(clock.getZone()).toInstant().toEpochMilli();
+            String eventId = event.getId();
+            String eventTime = event.getEventTimeString();
+            String kind = reminder.getKey();
+            wheel.schedule(key, dueAt, () -> fire(eventId, eventTime, kind));
+        }
+    }
+
+    private void fire(String eventId, String eventTimeString, String reminder) {
+        try {
+            eventService.sendEventReminder(eventId, eventTimeString, reminder);
+        } catch (Exception e) {
+            log.error("Error sending {} reminder for event {}: {}", reminder, eventId, e.getMessage(), e);
+        }
+    }
+
+    private static String key(Event event, String reminder) {
+        return event.getId() + "/" + reminder;
+    }
+}
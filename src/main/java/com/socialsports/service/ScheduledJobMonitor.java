@@ -0,0 +1,180 @@
+package com.socialsports.service;
+
+import com.socialsports.model.ScheduledJobStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scheduled jobs and records every run.
+ * Per job it publishes a timer of run durations tagged by outcome, gauges for the
+ * last run (start, duration, success) and counters for overruns, runs that took
+ * longer than the job's interval, and misfires, runs that started noticeably later
+ * than the interval allows after the previous one (the pool was busy, the node was
+ * paused, or an overrun pushed the schedule back).
+ *
+ * <p>The misfire check works the same for fixed rate, fixed delay and cron jobs: the
+ * gap between two starts should not exceed the previous run's duration plus the
+ * interval, give or take a tenth of the interval.</p>
+ */
+@Service
+@Slf4j
+public class ScheduledJobMonitor {
+
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+
+    private static final long MIN_MISFIRE_TOLERANCE_MILLIS = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    private static final class JobState {
+        final String job;
+        // Read by the gauges without the lock
+        volatile long lastStartedAt;
+        volatile long lastDurationMillis;
+        volatile String lastOutcome;
+        String lastError;
+        boolean running;
+        long runs;
+        long failures;
+        long overruns;
+        long misfires;
+
+        JobState(String job) {
+            this.job = job;
+        }
+    }
+
+    @Autowired
+    public ScheduledJobMonitor(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    ScheduledJobMonitor(MeterRegistry meterRegistry, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs one execution of a job. A failure is logged and recorded rather than thrown,
+     * so the job keeps its schedule.
+     *
+     * @param job Job name, used as the metric tag
+     * @param interval Expected time between runs: the fixed rate or delay, or the cron period
+     * @return Whether the run succeeded
+     */
+    public boolean run(String job, Duration interval, Runnable body) {
+        JobState state = jobs.computeIfAbsent(job, this::register);
+        long startedAt = clock.millis();
+        synchronized (state) {
+            if (state.running) {
+                log.warn("Job {} started while its previous run is still going", job);
+            } else if (state.runs > 0) {
+                long late = startedAt - state.lastStartedAt - state.lastDurationMillis - interval.toMillis();
+                if (late > Math.max(MIN_MISFIRE_TOLERANCE_MILLIS, interval.toMillis() / 10)) {
+                    state.misfires++;
+                    meterRegistry.counter("scheduled.job.misfires", "job", job).increment();
+                    log.warn("Job {} started {} ms late", job, late);
+                }
+            }
+            state.running = true;
+            state.lastStartedAt = startedAt;
+        }
+
+        String outcome = SUCCESS;
+        String error = null;
+        try {
+            body.run();
+        } catch (Exception e) {
+            outcome = FAILURE;
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.error("Job {} failed: {}", job, e.getMessage(), e);
+        }
+
+        long durationMillis = clock.millis() - startedAt;
+        synchronized (state) {
+            state.running = false;
+            state.lastDurationMillis = durationMillis;
+            state.lastOutcome = outcome;
+            state.lastError = error;
+            state.runs++;
+            if (error != null) {
+                state.failures++;
+            }
+            if (durationMillis > interval.toMillis()) {
+                state.overruns++;
+                meterRegistry.counter("scheduled.job.overruns", "job", job).increment();
+                log.warn("Job {} took {} ms, longer than its {} ms interval", job, durationMillis, interval.toMillis());
+            }
+        }
+        Timer.builder("scheduled.job")
+                .description("Scheduled job runs")
+                .tag("job", job)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(durationMillis, TimeUnit.MILLISECONDS);
+        return error == null;
+    }
+
+    public ScheduledJobStatus getStatus(String job) {
+        JobState state = jobs.get(job);
+        return state == null ? null : snapshot(state);
+    }
+
+    public List<ScheduledJobStatus> getStatuses() {
+        return jobs.values().stream()
+                .map(this::snapshot)
+                .sorted(Comparator.comparing(ScheduledJobStatus::getJob))
+                .toList();
+    }
+
+    private JobState register(String job) {
+        JobState state = new JobState(job);
+        Gauge.builder("scheduled.job.last.started", state, s -> s.lastStartedAt / 1000d)
+                .description("Start of the last run, epoch seconds")
+                .tag("job", job)
+                .register(meterRegistry);
+        Gauge.builder("scheduled.job.last.duration", state, s -> s.lastDurationMillis / 1000d)
+                .description("Duration of the last finished run")
+                .baseUnit("seconds")
+                .tag("job", job)
+                .register(meterRegistry);
+        Gauge.builder("scheduled.job.last.success", state, s -> FAILURE.equals(s.lastOutcome) ? 0 : 1)
+                .description("1 if the last finished run succeeded, 0 if it failed")
+                .tag("job", job)
+                .register(meterRegistry);
+        return state;
+    }
+
+    private ScheduledJobStatus snapshot(JobState state) {
+        synchronized (state) {
+            return ScheduledJobStatus.builder()
+                    .job(state.job)
+                    .lastStartedAt(state.runs > 0 || state.running ? Instant.ofEpochMilli(state.lastStartedAt) : null)
+                    .lastDurationMillis(state.lastDurationMillis)
+                    .lastOutcome(state.lastOutcome)
+                    .lastError(state.lastError)
+                    .running(state.running)
+                    .runs(state.runs)
+                    .failures(state.failures)
+                    .overruns(state.overruns)
+                    .misfires(state.misfires)
+                    .build();
+        }
+    }
+}
@@ -1,21 +1,116 @@
 package com.socialsports.service;
 
-import lombok.RequiredArgsConstructor;
+import com.socialsports.config.SchedulingConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * All @Scheduled jobs of the application. Each job runs on the pool of its job class
+ * (see SchedulingConfig) and is recorded by ScheduledJobMonitor.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ScheduledTasksService {
 
+    private static final long STATS_REFRESH_MS = 1000 * 60 * 60 * 6;
+    private static final long SENDER_EVICTION_MS = 60_000;
+
     private final EventService eventService;
+    private final ReminderScheduler reminderScheduler;
+    private final StatsService statsService;
+    private final EventLifecycleService eventLifecycleService;
+    private final ShardLeaseManager shardLeaseManager;
+    private final DeliveryTrackingService deliveryTrackingService;
+    private final InboundRateLimiter inboundRateLimiter;
+    private final EventFeed eventFeed;
+    private final ScheduledJobMonitor jobMonitor;
+
+    private final Duration reminderInterval;
+    private final Duration lifecycleInterval;
+    private final Duration heartbeatInterval;
+    private final Duration deliveryFlushInterval;
+    private final Duration feedHeartbeatInterval;
+
+    public ScheduledTasksService(EventService eventService, ReminderScheduler reminderScheduler,
+                                 StatsService statsService, EventLifecycleService eventLifecycleService,
+                                 ShardLeaseManager shardLeaseManager, DeliveryTrackingService deliveryTrackingService,
+                                 InboundRateLimiter inboundRateLimiter, EventFeed eventFeed,
+                                 ScheduledJobMonitor jobMonitor,
+                                 @Value("${event.reminders.reconcile-cron:0 0 * * * *}") String reminderCron,
+                                 @Value("${event.lifecycle.cron:0 30 * * * *}") String lifecycleCron,
+                                 @Value("${cluster.leases.heartbeat-ms:10000}") long heartbeatMs,
+                                 @Value("${whatsapp.delivery-tracking.flush-interval-ms:1000}") long deliveryFlushMs,
+                                 @Value("${event.feed.heartbeat-ms:30000}") long feedHeartbeatMs) {
+        this.eventService = eventService;
+        this.reminderScheduler = reminderScheduler;
+        this.statsService = statsService;
+        this.eventLifecycleService = eventLifecycleService;
+        this.shardLeaseManager = shardLeaseManager;
+        this.deliveryTrackingService = deliveryTrackingService;
+        this.inboundRateLimiter = inboundRateLimiter;
+        this.eventFeed = eventFeed;
+        this.jobMonitor = jobMonitor;
+        this.reminderInterval = cronInterval(reminderCron);
+        this.lifecycleInterval = cronInterval(lifecycleCron);
+        this.heartbeatInterval = Duration.ofMillis(heartbeatMs);
+        this.deliveryFlushInterval = Duration.ofMillis(deliveryFlushMs);
+        this.feedHeartbeatInterval = Duration.ofMillis(feedHeartbeatMs);
+    }
 
-    // Run every hour
-    @Scheduled(cron = "0 0 * * * *")
+    // Reminders fire from ReminderScheduler's timers; this scan is the safety net (hourly without timers)
+    @Scheduled(cron = "${event.reminders.reconcile-cron:0 0 * * * *}", scheduler = SchedulingConfig.REMINDERS_SCHEDULER)
     public void processEventReminders() {
-        log.info("Running scheduled task: processEventReminders");
-        eventService.sendEventReminders();
+        jobMonitor.run("event-reminders", reminderInterval, () -> {
+            log.info("Running scheduled task: processEventReminders");
+            eventService.sendEventReminders();
+            reminderScheduler.registerUpcomingEvents();
+        });
+    }
+
+    @Scheduled(fixedRate = STATS_REFRESH_MS, scheduler = SchedulingConfig.MAINTENANCE_SCHEDULER)
+    public void refreshStats() {
+        jobMonitor.run("stats-refresh", Duration.ofMillis(STATS_REFRESH_MS), statsService::refreshStats);
+    }
+
+    @Scheduled(cron = "${event.lifecycle.cron:0 30 * * * *}", scheduler = SchedulingConfig.MAINTENANCE_SCHEDULER)
+    public void archiveFinishedEvents() {
+        jobMonitor.run("event-archive", lifecycleInterval, eventLifecycleService::archiveFinishedEvents);
+    }
+
+    // A late renewal lets another node take the shards and send the same reminders, so it gets its own thread
+    @Scheduled(fixedDelayString = "${cluster.leases.heartbeat-ms:10000}", scheduler = SchedulingConfig.LEASES_SCHEDULER)
+    public void renewShardLeases() {
+        jobMonitor.run("lease-heartbeat", heartbeatInterval, shardLeaseManager::heartbeat);
+    }
+
+    @Scheduled(fixedDelayString = "${whatsapp.delivery-tracking.flush-interval-ms:1000}")
+    public void flushDeliveryRecords() {
+        jobMonitor.run("delivery-flush", deliveryFlushInterval, deliveryTrackingService::flush);
+    }
+
+    @Scheduled(fixedDelay = SENDER_EVICTION_MS)
+    public void evictIdleSenders() {
+        jobMonitor.run("sender-eviction", Duration.ofMillis(SENDER_EVICTION_MS), inboundRateLimiter::evictIdleSenders);
+    }
+
+    @Scheduled(fixedRateString = "${event.feed.heartbeat-ms:30000}")
+    public void sendFeedHeartbeats() {
+        jobMonitor.run("feed-heartbeat", feedHeartbeatInterval, eventFeed::sendHeartbeats);
+    }
+
+    /**
+     * Period of a cron schedule, taken as the gap between its next two fire times
+     */
+    static Duration cronInterval(String cron) {
+        CronExpression expression = CronExpression.parse(cron);
+        LocalDateTime next = expression.next(LocalDateTime.now());
+        LocalDateTime after = next == null ? null : expression.next(next);
+        return after == null ? Duration.ofDays(1) : Duration.between(next, after);
     }
-}
\ No newline at end of file
+}
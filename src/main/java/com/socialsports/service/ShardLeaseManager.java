@@ -0,0 +1,211 @@
+package com.socialsports.service;
+
+import com.socialsports.model.Lease;
+import com.socialsports.repository.LeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Splits reminder processing across application nodes with leases in DynamoDB.
+ * Upcoming events are sharded by the hour they start in; every node heartbeats a
+ * node lease and claims up to its fair share of shard leases (shards divided by live
+ * nodes) with conditional writes. Leases expire when a node stops renewing them,
+ * so the shards of a dead node are picked up by the others on their next heartbeat,
+ * and nodes holding more than their share release the surplus when nodes join.
+ *
+ * <p>When disabled (single node deployments) this node owns every shard.</p>
+ */
+@Service
+@Slf4j
+public class ShardLeaseManager {
+
+    static final String SHARD_PREFIX = "reminders/";
+    static final String NODE_PREFIX = "node/";
+    // Node leases expired this many TTLs ago belong to crashed nodes and are deleted
+    static final int DEAD_NODE_TTLS = 10;
+
+    private final LeaseRepository leaseRepository;
+    private final boolean enabled;
+    private final int shardCount;
+    private final long ttlMillis;
+    private final String nodeId;
+    private final Clock clock;
+
+    private final Set<Integer> ownedShards = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<Set<Integer>>> acquisitionListeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public ShardLeaseManager(LeaseRepository leaseRepository,
+                             @Value("${cluster.leases.enabled:false}") boolean enabled,
+                             @Value("${cluster.leases.shards:16}") int shardCount,
+                             @Value("${cluster.leases.ttl-ms:30000}") long ttlMillis,
+                             @Value("${cluster.node-id:}") String nodeId) {
+        this(leaseRepository, enabled, shardCount, ttlMillis, nodeId.isBlank() ? defaultNodeId() : nodeId,
+                Clock.systemUTC());
+    }
+
+    ShardLeaseManager(LeaseRepository leaseRepository, boolean enabled, int shardCount, long ttlMillis,
+                      String nodeId, Clock clock) {
+        this.leaseRepository = leaseRepository;
+        this.enabled = enabled;
+        this.shardCount = Math.max(1, shardCount);
+        this.ttlMillis = ttlMillis;
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Set<Integer> getOwnedShards() {
+        return Set.copyOf(ownedShards);
+    }
+
+    /**
+     * Registers a callback for shards this node takes over, e.g. to load their upcoming events
+     */
+    public void addAcquisitionListener(Consumer<Set<Integer>> listener) {
+        acquisitionListeners.add(listener);
+    }
+
+    /**
+     * The shard of an event: the hour it starts in, modulo the shard count
+     */
+    public int shardOf(LocalDateTime eventTime) {
+        long hour = eventTime.toEpochSecond(ZoneOffset.UTC) / 3600;
+        return (int) Math.floorMod(hour, (long) shardCount);
+    }
+
+    /**
+     * Whether this node is responsible for reminders of events starting at the given time
+     */
+    public boolean owns(LocalDateTime eventTime) {
+        return !enabled || ownedShards.contains(shardOf(eventTime));
+    }
+
+    /**
+     * Renews this node's leases, then releases or claims shards to reach its fair share
+     */
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebalance();
+        } catch (Exception e) {
+            // Unrenewed leases expire on their own; keep the shards until then
+            log.error("Error renewing shard leases: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (Integer shard : ownedShards) {
+                leaseRepository.release(SHARD_PREFIX + shard, nodeId);
+            }
+            leaseRepository.release(NODE_PREFIX + nodeId, nodeId);
+            log.info("Released {} shard leases", ownedShards.size());
+        } catch (Exception e) {
+            log.warn("Could not release shard leases, they will expire: {}", e.getMessage());
+        }
+        ownedShards.clear();
+    }
+
+    private void rebalance() {
+        long now = clock.millis();
+        long expiresAt = now + ttlMillis;
+        leaseRepository.tryAcquire(NODE_PREFIX + nodeId, nodeId, now, expiresAt);
+
+        List<Lease> leases = leaseRepository.findAll();
+        removeDeadNodes(leases, now);
+        long liveNodes = Math.max(1, leases.stream()
+                .filter(lease -> lease.getLeaseKey().startsWith(NODE_PREFIX) && lease.getExpiresAt() >= now)
+                .count());
+        int fairShare = (int) ((shardCount + liveNodes - 1) / liveNodes);
+
+        // Renew what we hold; a failed renewal means another node took the shard over
+        for (Integer shard : new ArrayList<>(ownedShards)) {
+            if (!leaseRepository.tryAcquire(SHARD_PREFIX + shard, nodeId, now, expiresAt)) {
+                ownedShards.remove(shard);
+                log.warn("Lost lease on reminder shard {}", shard);
+            }
+        }
+
+        // Hand surplus shards back so newly joined nodes can claim them
+        TreeSet<Integer> surplus = new TreeSet<>(ownedShards);
+        while (surplus.size() > fairShare) {
+            Integer shard = surplus.pollLast();
+            leaseRepository.release(SHARD_PREFIX + shard, nodeId);
+            ownedShards.remove(shard);
+            log.info("Released reminder shard {} (fair share {} over {} nodes)", shard, fairShare, liveNodes);
+        }
+
+        // Claim free or expired shards up to the fair share
+        Set<Integer> taken = new TreeSet<>();
+        for (Lease lease : leases) {
+            if (lease.getLeaseKey().startsWith(SHARD_PREFIX) && lease.getExpiresAt() >= now
+                    && !nodeId.equals(lease.getOwner())) {
+                taken.add(Integer.parseInt(lease.getLeaseKey().substring(SHARD_PREFIX.length())));
+            }
+        }
+        Set<Integer> acquired = new TreeSet<>();
+        for (int shard = 0; shard < shardCount && ownedShards.size() < fairShare; shard++) {
+            if (!ownedShards.contains(shard) && !taken.contains(shard)
+                    && leaseRepository.tryAcquire(SHARD_PREFIX + shard, nodeId, now, expiresAt)) {
+                ownedShards.add(shard);
+                acquired.add(shard);
+            }
+        }
+
+        if (!acquired.isEmpty()) {
+            log.info("Acquired reminder shards {}, now holding {} of {}", acquired, ownedShards.size(), shardCount);
+            acquisitionListeners.forEach(listener -> listener.accept(acquired));
+        }
+    }
+
+    /**
+     * Deletes node leases left behind by nodes that stopped without releasing them. Every node
+     * ID is new after a restart, so they would otherwise pile up (DynamoDB TTL removes them too,
+     * but only eventually, and not at all on DynamoDB Local).
+     */
+    private void removeDeadNodes(List<Lease> leases, long now) {
+        long cutoff = now - DEAD_NODE_TTLS * ttlMillis;
+        for (Lease lease : leases) {
+            if (lease.getLeaseKey().startsWith(NODE_PREFIX) && lease.getExpiresAt() < cutoff) {
+                leaseRepository.deleteExpired(lease.getLeaseKey(), cutoff);
+                log.info("Removed lease of dead node {}", lease.getLeaseKey().substring(NODE_PREFIX.length()));
+            }
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
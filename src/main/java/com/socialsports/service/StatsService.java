@@ -4,12 +4,13 @@ import com.socialsports.model.Event;
 import com.socialsports.model.EventStatus;
 import com.socialsports.model.PlatformStats;
 import com.socialsports.model.SportType;
+import com.socialsports.repository.EventArchiveRepository;
 import com.socialsports.repository.EventRepository;
 import com.socialsports.repository.UserRepository;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
 public class StatsService {
 
     private final EventRepository eventRepository;
+    private final EventArchiveRepository eventArchiveRepository;
     private final UserRepository userRepository;
     
     // Cache the calculated stats for 6 hours to minimize database load
@@ -26,8 +28,10 @@ public class StatsService {
     private LocalDateTime lastCacheUpdate;
     private static final long CACHE_DURATION_HOURS = 6;
 
-    public StatsService(EventRepository eventRepository, UserRepository userRepository) {
+    public StatsService(EventRepository eventRepository, EventArchiveRepository eventArchiveRepository,
+                        UserRepository userRepository) {
         this.eventRepository = eventRepository;
+        this.eventArchiveRepository = eventArchiveRepository;
         this.userRepository = userRepository;
     }
 
@@ -46,9 +50,8 @@ public class StatsService {
 
     /**
      * Refresh statistics cache
-     * This will be called either on-demand or by the scheduled job
+     * This will be called either on-demand or by the scheduled job (every 6 hours, see ScheduledTasksService)
      */
-    @Scheduled(fixedRate = 1000 * 60 * 60 * 6) // Refresh cache every 6 hours
     public synchronized void refreshStats() {
         PlatformStats stats = calculateStats();
         this.cachedStats = stats;
@@ -60,7 +63,13 @@ public class StatsService {
      * @return PlatformStats with current metrics
      */
     private PlatformStats calculateStats() {
-        List<Event> allEvents = eventRepository.findAll();
+        // Finished events live in the archive; the longest window below is 180 days
+        List<Event> allEvents = new ArrayList<>(eventRepository.findAll());
+        YearMonth currentMonth = YearMonth.now();
+        for (YearMonth month = YearMonth.from(LocalDateTime.now().minusDays(180)); !month.isAfter(currentMonth);
+             month = month.plusMonths(1)) {
+            allEvents.addAll(eventArchiveRepository.findByMonth(month));
+        }
         
         // Calculate active players (users who joined at least one event in last 90 days)
         LocalDateTime ninetyDaysAgo = LocalDateTime.now().minusDays(90);
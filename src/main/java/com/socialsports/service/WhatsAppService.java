@@ -1,18 +1,31 @@
 package com.socialsports.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.socialsports.model.Event;
+import com.socialsports.model.OutboundMessage;
+import com.socialsports.util.LogRedaction;
+import com.socialsports.util.ThreadFactories;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +33,8 @@ import java.util.Map;
 public class WhatsAppService {
 
     private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final DeliveryTrackingService deliveryTrackingService;
 
     @Value("${whatsapp.business.phone.number.id}")
     private String phoneNumberId;
@@ -30,11 +45,86 @@ public class WhatsAppService {
     @Value("${whatsapp.access.token}")
     private String accessToken;
 
-    private static final String GRAPH_API_URL = "https://graph.facebook.com";
+    @Value("${whatsapp.coalesce.enabled:false}")
+    private boolean coalesceEnabled;
 
+    @Value("${whatsapp.coalesce.window-ms:3000}")
+    private long coalesceWindowMs;
+
+    @Value("${whatsapp.coalesce.max-messages:5}")
+    private int coalesceMaxMessages;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${whatsapp.graph.api.url:https://graph.facebook.com}")
+    private String graphApiUrl;
+
+    private OutboundMessageCoalescer coalescer;
+    private ScheduledExecutorService coalesceScheduler;
+    private ExecutorService coalesceDeliveryExecutor;
+
+    @PostConstruct
+    void initCoalescer() {
+        if (!coalesceEnabled) {
+            return;
+        }
+        coalesceScheduler = Executors.newSingleThreadScheduledExecutor(
+                ThreadFactories.named("whatsapp-coalesce-timer", false));
+        coalesceDeliveryExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(ThreadFactories.named("whatsapp-send", true))
+                : Executors.newFixedThreadPool(8, ThreadFactories.named("whatsapp-send", false));
+        coalescer = new OutboundMessageCoalescer(Duration.ofMillis(coalesceWindowMs), coalesceMaxMessages,
+                this::deliverTextMessage, coalesceScheduler, coalesceDeliveryExecutor, meterRegistry);
+        log.info("Outbound message coalescing enabled with a {} ms window", coalesceWindowMs);
+    }
+
+    @PreDestroy
+    void shutdownCoalescer() throws InterruptedException {
+        if (coalescer == null) {
+            return;
+        }
+        coalescer.flushAll();
+        coalesceScheduler.shutdownNow();
+        coalesceDeliveryExecutor.shutdown();
+        coalesceDeliveryExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sends a text message. With coalescing enabled the message is buffered and
+     * merged with other messages to the same recipient, and send failures are
+     * logged instead of thrown.
+     */
     public void sendTextMessage(String recipientPhoneNumber, String message) {
+        sendTextMessage(recipientPhoneNumber, message, null);
+    }
+
+    /**
+     * Sends a text message about an event, so its delivery shows up in the event's delivery stats
+     */
+    public void sendTextMessage(String recipientPhoneNumber, String message, String eventId) {
+        OutboundMessage outbound = outboundMessage(recipientPhoneNumber, message, eventId);
+        if (coalescer != null) {
+            coalescer.submit(outbound);
+            return;
+        }
+        deliverTextMessage(outbound);
+    }
+
+    private static OutboundMessage outboundMessage(String recipientPhoneNumber, String message, String eventId) {
+        return OutboundMessage.builder()
+                .recipient(recipientPhoneNumber)
+                .body(message)
+                .eventId(eventId)
+                .queuedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private void deliverTextMessage(OutboundMessage outbound) {
+        String recipientPhoneNumber = outbound.getRecipient();
+        String message = outbound.getBody();
         try {
-            String url = GRAPH_API_URL + "/" + apiVersion + "/" + phoneNumberId + "/messages";
+            String url = graphApiUrl + "/" + apiVersion + "/" + phoneNumberId + "/messages";
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -54,9 +144,14 @@ public class WhatsAppService {
             requestBody.put("text", messageBody);
 
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            restTemplate.postForEntity(url, entity, String.class);
+            ResponseEntity<JsonNode> response = restTemplate.postForEntity(url, entity, JsonNode.class);
+            
+            log.info("Message sent to {}", LogRedaction.phoneNumber(recipientPhoneNumber));
             
-            log.info("Message sent to {}: {}", recipientPhoneNumber, message);
+            JsonNode body = response.getBody();
+            String messageId = body != null ? body.path("messages").path(0).path("id").asText(null) : null;
+            deliveryTrackingService.recordOutbound(messageId, recipientPhoneNumber, outbound.getEventId(),
+                    outbound.getQueuedAt(), System.currentTimeMillis());
         } catch (Exception e) {
             log.error("Error sending WhatsApp message: {}", e.getMessage());
             throw new RuntimeException("Failed to send WhatsApp message", e);
@@ -103,15 +198,24 @@ public class WhatsAppService {
                 event.getId()
         );
         
-        sendTextMessage(participantPhoneNumber, message);
+        sendTextMessage(participantPhoneNumber, message, event.getId());
     }
     
-    public void sendEventReminder(Event event) {
+    /**
+     * Reminds the participants of an upcoming event. Reminders bypass coalescing and are
+     * sent before this returns, so a failed send is thrown to EventService, which then
+     * gives back its claim on the reminder for the next run to retry.
+     * 
+     * @param reminder EventService.REMINDER_24H or REMINDER_2H, which picks how the start is announced
+     */
+    public void sendEventReminder(Event event, String reminder) {
+        String startsWhen = EventService.REMINDER_2H.equals(reminder) ? "starts in 2 hours" : "is tomorrow";
         String message = String.format(
-                "⏰ Reminder: Your %s event is tomorrow at %s!\n" +
+                "⏰ Reminder: Your %s event %s at %s!\n" +
                 "📍 Location: %s\n" +
                 "👥 Participants: %d/%d",
                 event.getSportType(),
+                startsWhen,
                 event.getEventTime().toString(),
                 event.getLocation(),
                 event.getParticipantPhoneNumbers().size(),
@@ -119,7 +223,7 @@ public class WhatsAppService {
         );
         
         for (String participantPhoneNumber : event.getParticipantPhoneNumbers()) {
-            sendTextMessage(participantPhoneNumber, message);
+            deliverTextMessage(outboundMessage(participantPhoneNumber, message, event.getId()));
         }
     }
     
@@ -134,7 +238,7 @@ public class WhatsAppService {
         );
         
         for (String participantPhoneNumber : event.getParticipantPhoneNumbers()) {
-            sendTextMessage(participantPhoneNumber, message);
+            sendTextMessage(participantPhoneNumber, message, event.getId());
         }
     }
 }
\ No newline at end of file
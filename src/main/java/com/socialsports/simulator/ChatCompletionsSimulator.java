@@ -0,0 +1,260 @@
+package com.socialsports.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable stand-in for the OpenAI chat-completions endpoint
+ * ({@code POST /v1/chat/completions}) for offline tests and benchmarks.
+ * Answers are scripted per user message: the user content may be a single message
+ * or the JSON array of messages LLMService sends for a batch, and the reply holds
+ * {@code {"results": [...]}} with the scripted object for each message (an object of
+ * nulls for unscripted ones). Latency, server errors and rate-limit responses are configurable.
+ *
+ * <p>Inspection endpoints: {@code GET /__simulator/stats} returns counters and
+ * {@code DELETE /__simulator/stats} resets them.</p>
+ */
+@Slf4j
+public class ChatCompletionsSimulator {
+
+    private final ObjectMapper objectMapper;
+    private final Settings settings;
+    private final Map<String, JsonNode> script = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong scripted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ChatCompletionsSimulator(ObjectMapper objectMapper, Settings settings) {
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(settings.getPort()), 4096);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/__simulator/", this::handleInspection);
+        server.createContext("/v1/chat/completions", this::handleCompletion);
+        server.start();
+        log.info("Chat completions simulator listening on port {} (latency {}±{} ms, error rate {}, "
+                        + "rate-limit rate {}, {} scripted answers)", getPort(), settings.getLatencyMs(),
+                settings.getLatencyJitterMs(), settings.getErrorRate(), settings.getRateLimitRate(), script.size());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getCompletionsUrl() {
+        return "http://localhost:" + getPort() + "/v1/chat/completions";
+    }
+
+    /**
+     * Scripts the answer for a user message, e.g. {@code {"sportType": "PADEL", "playerCount": 3}}.
+     * Messages are matched case-insensitively with surrounding whitespace ignored.
+     */
+    public void script(String message, JsonNode answer) {
+        script.put(normalize(message), answer);
+    }
+
+    /**
+     * Loads scripted answers from NDJSON lines of the form {@code {"message": "...", "answer": {...}}}
+     */
+    public void loadScript(InputStream ndjson) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode entry = objectMapper.readTree(line);
+                script(entry.path("message").asText(), entry.path("answer"));
+            }
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        return Map.of("requests", requests.get(), "messages", messages.get(), "scripted", scripted.get(),
+                "failed", failed.get(), "rateLimited", rateLimited.get());
+    }
+
+    public void reset() {
+        requests.set(0);
+        messages.set(0);
+        scripted.set(0);
+        failed.set(0);
+        rateLimited.set(0);
+    }
+
+    private void handleCompletion(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 404, error("Unknown endpoint", "invalid_request_error"));
+                return;
+            }
+
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            requests.incrementAndGet();
+            simulateLatency();
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < settings.getRateLimitRate()) {
+                rateLimited.incrementAndGet();
+                respond(exchange, 429, error("Rate limit reached for requests", "rate_limit_exceeded"));
+                return;
+            }
+            if (roll < settings.getRateLimitRate() + settings.getErrorRate()) {
+                failed.incrementAndGet();
+                respond(exchange, 500, error("The server had an error while processing your request.", "server_error"));
+                return;
+            }
+
+            ObjectNode answer = objectMapper.createObjectNode();
+            ArrayNode results = answer.putArray("results");
+            for (String message : userMessages(request)) {
+                messages.incrementAndGet();
+                JsonNode scriptedAnswer = script.get(normalize(message));
+                if (scriptedAnswer != null) {
+                    scripted.incrementAndGet();
+                    results.add(scriptedAnswer);
+                } else {
+                    results.addObject()
+                            .putNull("sportType")
+                            .putNull("time")
+                            .putNull("location")
+                            .putNull("playerCount");
+                }
+            }
+
+            respond(exchange, 200, Map.of(
+                    "id", "chatcmpl-sim" + requests.get(),
+                    "object", "chat.completion",
+                    "model", request.path("model").asText("simulator"),
+                    "choices", List.of(Map.of(
+                            "index", 0,
+                            "message", Map.of("role", "assistant", "content", objectMapper.writeValueAsString(answer)),
+                            "finish_reason", "stop"))));
+        }
+    }
+
+    /**
+     * The last user message's content, as a JSON array of messages or a single message
+     */
+    private List<String> userMessages(JsonNode request) {
+        String content = null;
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role").asText())) {
+                content = message.path("content").asText();
+            }
+        }
+        if (content == null) {
+            return List.of();
+        }
+        try {
+            JsonNode parsed = objectMapper.readTree(content);
+            if (parsed.isArray()) {
+                return objectMapper.convertValue(parsed,
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+            }
+        } catch (IOException e) {
+            // Plain text, not a batch
+        }
+        return List.of(content);
+    }
+
+    private void handleInspection(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if ("/__simulator/stats".equals(path) && "DELETE".equals(exchange.getRequestMethod())) {
+                reset();
+                respond(exchange, 200, getStats());
+            } else if ("/__simulator/stats".equals(path)) {
+                respond(exchange, 200, getStats());
+            } else {
+                respond(exchange, 404, Map.of("error", "Unknown simulator endpoint"));
+            }
+        }
+    }
+
+    private static String normalize(String message) {
+        return message.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Object> error(String message, String type) {
+        return Map.of("error", Map.of("message", message, "type", type));
+    }
+
+    private void simulateLatency() {
+        long latency = settings.getLatencyMs();
+        if (settings.getLatencyJitterMs() > 0) {
+            latency += ThreadLocalRandom.current().nextLong(-settings.getLatencyJitterMs(), settings.getLatencyJitterMs() + 1);
+        }
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Settings {
+        private int port;            // 0 picks a free port
+        private long latencyMs;
+        private long latencyJitterMs;
+        private double errorRate;     // Fraction of calls answered with HTTP 500
+        private double rateLimitRate; // Fraction of calls answered with HTTP 429
+    }
+}
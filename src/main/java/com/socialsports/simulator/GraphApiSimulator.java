@@ -0,0 +1,217 @@
+package com.socialsports.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable stand-in for the WhatsApp Graph API messages endpoint
+ * ({@code POST /{version}/{phoneNumberId}/messages}) for offline load testing.
+ * Latency, server errors and rate-limit responses are configurable, and accepted
+ * messages are recorded in a bounded buffer.
+ *
+ * <p>Inspection endpoints: {@code GET /__simulator/messages} returns recorded messages,
+ * {@code GET /__simulator/stats} returns counters and {@code DELETE /__simulator/messages}
+ * resets both.</p>
+ */
+@Slf4j
+public class GraphApiSimulator {
+
+    private final ObjectMapper objectMapper;
+    private final Settings settings;
+    private final Deque<RecordedMessage> recorded = new ArrayDeque<>();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public GraphApiSimulator(ObjectMapper objectMapper, Settings settings) {
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(settings.getPort()), 4096);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/__simulator/", this::handleInspection);
+        server.createContext("/", this::handleSend);
+        server.start();
+        log.info("Graph API simulator listening on port {} (latency {}±{} ms, error rate {}, rate-limit rate {})",
+                getPort(), settings.getLatencyMs(), settings.getLatencyJitterMs(),
+                settings.getErrorRate(), settings.getRateLimitRate());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    public List<RecordedMessage> getRecordedMessages() {
+        synchronized (recorded) {
+            return new ArrayList<>(recorded);
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        return Map.of("accepted", accepted.get(), "failed", failed.get(), "rateLimited", rateLimited.get());
+    }
+
+    public void reset() {
+        synchronized (recorded) {
+            recorded.clear();
+        }
+        accepted.set(0);
+        failed.set(0);
+        rateLimited.set(0);
+    }
+
+    private void handleSend(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // ["", version, phoneNumberId, "messages"]
+            if (!"POST".equals(exchange.getRequestMethod()) || path.length != 4 || !"messages".equals(path[3])) {
+                respond(exchange, 404, Map.of("error", Map.of("message", "Unknown endpoint", "code", 100)));
+                return;
+            }
+
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            simulateLatency();
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < settings.getRateLimitRate()) {
+                rateLimited.incrementAndGet();
+                respond(exchange, 429, Map.of("error", Map.of(
+                        "message", "(#130429) Rate limit hit", "type", "OAuthException", "code", 130429)));
+                return;
+            }
+            if (roll < settings.getRateLimitRate() + settings.getErrorRate()) {
+                failed.incrementAndGet();
+                respond(exchange, 500, Map.of("error", Map.of(
+                        "message", "An unknown error has occurred.", "type", "OAuthException", "code", 1)));
+                return;
+            }
+
+            String to = request.path("to").asText(null);
+            String messageId = "wamid.SIM" + UUID.randomUUID().toString().replace("-", "");
+            record(new RecordedMessage(messageId, path[2], to, request.path("text").path("body").asText(null),
+                    Instant.now()));
+            accepted.incrementAndGet();
+
+            respond(exchange, 200, Map.of(
+                    "messaging_product", "whatsapp",
+                    "contacts", List.of(Map.of("input", String.valueOf(to), "wa_id", String.valueOf(to))),
+                    "messages", List.of(Map.of("id", messageId))));
+        }
+    }
+
+    private void handleInspection(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if ("/__simulator/messages".equals(path) && "GET".equals(method)) {
+                respond(exchange, 200, getRecordedMessages());
+            } else if ("/__simulator/messages".equals(path) && "DELETE".equals(method)) {
+                reset();
+                respond(exchange, 200, getStats());
+            } else if ("/__simulator/stats".equals(path)) {
+                respond(exchange, 200, getStats());
+            } else {
+                respond(exchange, 404, Map.of("error", "Unknown simulator endpoint"));
+            }
+        }
+    }
+
+    private void record(RecordedMessage message) {
+        synchronized (recorded) {
+            recorded.addLast(message);
+            if (recorded.size() > settings.getMaxRecorded()) {
+                recorded.removeFirst();
+            }
+        }
+    }
+
+    private void simulateLatency() {
+        long latency = settings.getLatencyMs();
+        if (settings.getLatencyJitterMs() > 0) {
+            latency += ThreadLocalRandom.current().nextLong(-settings.getLatencyJitterMs(), settings.getLatencyJitterMs() + 1);
+        }
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordedMessage {
+        private String messageId;
+        private String phoneNumberId;
+        private String to;
+        private String body;
+        private Instant receivedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Settings {
+        private int port;            // 0 picks a free port
+        private long latencyMs;
+        private long latencyJitterMs;
+        private double errorRate;     // Fraction of sends answered with HTTP 500
+        private double rateLimitRate; // Fraction of sends answered with HTTP 429 / code 130429
+        private int maxRecorded;
+    }
+}
@@ -0,0 +1,104 @@
+package com.socialsports.util;
+
+import com.socialsports.model.Command;
+import com.socialsports.model.CommandType;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single-pass parser for chat commands.
+ * Only the leading keyword is upper-cased and looked up in a keyword table, so
+ * adding aliases costs one map entry rather than another check per message.
+ * Punctuation trailing the keyword ("Help!", "JOIN,") is ignored.
+ */
+public class CommandParser {
+
+    private static final Map<String, CommandType> KEYWORDS = new HashMap<>();
+
+    static {
+        register(CommandType.JOIN, "JOIN", "IN", "MEEDOEN", "UNIRME");
+        register(CommandType.LEAVE, "LEAVE", "OUT", "AFMELDEN", "SALIR");
+        register(CommandType.CANCEL, "CANCEL", "ANNULEREN", "CANCELAR");
+        register(CommandType.CREATE_EVENT, "CREATE");
+        register(CommandType.EVENTS, "EVENTS", "EVENTEN", "EVENTOS");
+        register(CommandType.HELP, "HELP", "HULP", "AYUDA", "?");
+    }
+
+    private CommandParser() {
+        // Utility class, no instances
+    }
+
+    private static void register(CommandType type, String... keywords) {
+        for (String keyword : keywords) {
+            KEYWORDS.put(keyword, type);
+        }
+    }
+
+    public static Command parse(String message) {
+        if (message == null) {
+            return Command.of(CommandType.UNKNOWN, null);
+        }
+
+        int length = message.length();
+        int keywordStart = skipWhitespace(message, 0);
+        int keywordEnd = skipToken(message, keywordStart);
+        if (keywordStart == keywordEnd) {
+            return Command.of(CommandType.UNKNOWN, null);
+        }
+
+        CommandType type = KEYWORDS.getOrDefault(
+                message.substring(keywordStart, stripPunctuation(message, keywordStart, keywordEnd))
+                        .toUpperCase(Locale.ROOT),
+                CommandType.UNKNOWN);
+        int argumentStart = skipWhitespace(message, keywordEnd);
+
+        switch (type) {
+            case JOIN, LEAVE, CANCEL -> {
+                int argumentEnd = skipToken(message, argumentStart);
+                return Command.of(type, argumentStart == argumentEnd
+                        ? null : message.substring(argumentStart, argumentEnd));
+            }
+            case CREATE_EVENT -> {
+                // Two-word keyword: CREATE must be followed by EVENT
+                int secondEnd = skipToken(message, argumentStart);
+                if (!message.regionMatches(true, argumentStart, "EVENT", 0, 5) || secondEnd - argumentStart != 5) {
+                    return Command.of(CommandType.UNKNOWN, null);
+                }
+                int restStart = skipWhitespace(message, secondEnd);
+                return Command.of(type, restStart == length ? null : message.substring(restStart).trim());
+            }
+            default -> {
+                return Command.of(type, null);
+            }
+        }
+    }
+
+    private static int skipWhitespace(String message, int from) {
+        int i = from;
+        while (i < message.length() && Character.isWhitespace(message.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * End of the token without its trailing punctuation, unless the token is all punctuation ("?")
+     */
+    private static int stripPunctuation(String message, int start, int end) {
+        int i = end;
+        while (i > start && !Character.isLetterOrDigit(message.charAt(i - 1))) {
+            i--;
+        }
+        return i == start ? end : i;
+    }
+
+    private static int skipToken(String message, int from) {
+        int i = from;
+        while (i < message.length() && !Character.isWhitespace(message.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,180 @@
+package com.socialsports.util;
+
+import com.socialsports.model.EventRequestExtraction;
+import com.socialsports.model.SportType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Single-pass extractor for natural-language event requests such as
+ * "padel tomorrow 7pm at Padel City with 3 others".
+ * One precompiled pattern with an alternative per field is matched across the message
+ * once; sport names go through a keyword table. Each field found adds to a confidence
+ * score, and conflicting values (two sports, two times) halve it, so callers can decide
+ * when a request needs the LLM.
+ */
+public class EventRequestExtractor {
+
+    private static final double SPORT_WEIGHT = 0.35;
+    private static final double TIME_WEIGHT = 0.30;
+    private static final double LOCATION_WEIGHT = 0.20;
+    private static final double PLAYERS_WEIGHT = 0.15;
+
+    private static final Map<String, SportType> SPORTS = new HashMap<>();
+
+    static {
+        for (SportType sport : SportType.values()) {
+            register(sport, sport.name().replace('_', ' '));
+        }
+        register(SportType.FOOTBALL, "soccer", "voetbal", "futbol");
+        register(SportType.TABLE_TENNIS, "ping pong", "pingpong", "tafeltennis");
+        register(SportType.CLIMBING, "bouldering", "klimmen");
+        register(SportType.BASKETBALL, "hoops");
+    }
+
+    private static final String STOP_WORDS = "with|for|on|at|today|tonight|tomorrow|next|this|and";
+
+    private static final Pattern FIELDS = Pattern.compile(
+            "(?<sport>\\b(?:" + sportAlternatives() + ")\\b)"
+            + "|(?<date>\\b(?:today|tonight|tomorrow|monday|tuesday|wednesday|thursday|friday|saturday|sunday)\\b)"
+            + "|\\b(?<hour>\\d{1,2})(?::(?<minute>\\d{2}))?\\s*(?<meridiem>am|pm)\\b"
+            + "|\\b(?<hour24>\\d{1,2}):(?<minute24>\\d{2})\\b"
+            + "|\\b(?<players>\\d{1,2})\\s+(?:other\\s+)?(?:players?|people|persons?|others)\\b"
+            + "|(?:\\bat|@)\\s+(?!\\d)(?<venue>\\p{L}[\\p{L}\\d'&-]*"
+            + "(?:\\s+(?!(?:" + STOP_WORDS + ")\\b)\\p{L}[\\p{L}\\d'&-]*)*)",
+            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    private EventRequestExtractor() {
+        // Utility class, no instances
+    }
+
+    private static void register(SportType sport, String... keywords) {
+        for (String keyword : keywords) {
+            SPORTS.put(keyword.toLowerCase(Locale.ROOT), sport);
+        }
+    }
+
+    private static String sportAlternatives() {
+        // Longest first, so "table tennis" wins over "tennis"
+        return SPORTS.keySet().stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|"));
+    }
+
+    public static EventRequestExtraction extract(String message, LocalDateTime now) {
+        Map<String, Object> details = new HashMap<>();
+        if (message == null) {
+            return new EventRequestExtraction(details, 0.0);
+        }
+
+        SportType sport = null;
+        LocalTime time = null;
+        LocalDate date = null;
+        String venue = null;
+        Integer players = null;
+        boolean conflicting = false;
+
+        Matcher matcher = FIELDS.matcher(message);
+        while (matcher.find()) {
+            if (matcher.group("sport") != null) {
+                SportType found = SPORTS.get(matcher.group("sport").toLowerCase(Locale.ROOT));
+                conflicting |= sport != null && sport != found;
+                sport = found;
+            } else if (matcher.group("date") != null) {
+                LocalDate found = resolveDate(matcher.group("date"), now.toLocalDate());
+                conflicting |= date != null && !date.equals(found);
+                date = found;
+            } else if (matcher.group("hour") != null || matcher.group("hour24") != null) {
+                LocalTime found = matcher.group("hour") != null
+                        ? toTime(matcher.group("hour"), matcher.group("minute"), matcher.group("meridiem"))
+                        : toTime(matcher.group("hour24"), matcher.group("minute24"), null);
+                if (found != null) {
+                    conflicting |= time != null && !time.equals(found);
+                    time = found;
+                }
+            } else if (matcher.group("players") != null) {
+                int found = Integer.parseInt(matcher.group("players"));
+                if (found > 0) {
+                    conflicting |= players != null && players != found;
+                    players = found;
+                }
+            } else if (venue == null) {
+                venue = matcher.group("venue").trim();
+            }
+        }
+
+        double confidence = 0.0;
+        if (sport != null) {
+            details.put("sportType", sport);
+            confidence += SPORT_WEIGHT;
+        }
+        if (time != null) {
+            details.put("time", LocalDateTime.of(date != null ? date : now.toLocalDate(), time));
+            confidence += TIME_WEIGHT;
+        }
+        if (venue != null) {
+            details.put("location", venue);
+            confidence += LOCATION_WEIGHT;
+        }
+        if (players != null) {
+            details.put("playerCount", players);
+            confidence += PLAYERS_WEIGHT;
+        }
+        return new EventRequestExtraction(details, conflicting ? confidence / 2 : confidence);
+    }
+
+    /**
+     * Parses a clock time such as "3pm", "3:30pm" or "15:30" to today's date at that time
+     *
+     * @return The time, or null if the text is not a valid clock time
+     */
+    public static LocalDateTime parseTime(String text, LocalDateTime now) {
+        Matcher matcher = FIELDS.matcher(text.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        LocalTime time = matcher.group("hour") != null
+                ? toTime(matcher.group("hour"), matcher.group("minute"), matcher.group("meridiem"))
+                : toTime(matcher.group("hour24"), matcher.group("minute24"), null);
+        return time != null ? LocalDateTime.of(now.toLocalDate(), time) : null;
+    }
+
+    private static LocalTime toTime(String hourText, String minuteText, String meridiem) {
+        if (hourText == null) {
+            return null;
+        }
+        int hour = Integer.parseInt(hourText);
+        int minute = minuteText != null ? Integer.parseInt(minuteText) : 0;
+        if (meridiem != null) {
+            if (hour < 1 || hour > 12) {
+                return null;
+            }
+            boolean pm = meridiem.equalsIgnoreCase("pm");
+            hour = hour % 12 + (pm ? 12 : 0);
+        }
+        if (hour > 23 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute);
+    }
+
+    private static LocalDate resolveDate(String word, LocalDate today) {
+        return switch (word.toLowerCase(Locale.ROOT)) {
+            case "today", "tonight" -> today;
+            case "tomorrow" -> today.plusDays(1);
+            default -> today.with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(word.toUpperCase(Locale.ROOT))));
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.socialsports.util;
+
+public class LogRedaction {
+
+    private LogRedaction() {
+        // Utility class, no instances
+    }
+
+    /**
+     * Masks a phone number for logging, keeping only its last four digits
+     *
+     * @param phoneNumber Phone number, may be null
+     * @return e.g. ****4567
+     */
+    public static String phoneNumber(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.length() <= 4) {
+            return "****";
+        }
+        return "****" + phoneNumber.substring(phoneNumber.length() - 4);
+    }
+}
@@ -0,0 +1,117 @@
+package com.socialsports.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gathers individually submitted items into batches and hands each batch to one call.
+ * A batch is sent when its window ends or as soon as it reaches the size cap, whichever
+ * comes first. The batch call returns one result per item, in order, and every submitter's
+ * future is completed with its own result; if the call fails, all futures in the batch fail.
+ *
+ * @param <T> Submitted item
+ * @param <R> Result per item
+ */
+@Slf4j
+public class MicroBatcher<T, R> {
+
+    private final Duration window;
+    private final int maxSize;
+    private final Function<List<T>, CompletableFuture<List<R>>> batchCall;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private List<Pending<T, R>> pending = new ArrayList<>();
+    private ScheduledFuture<?> timer;
+
+    private record Pending<T, R>(T item, CompletableFuture<R> result) {
+    }
+
+    /**
+     * @param window How long the first item of a batch waits for more
+     * @param maxSize Send a batch as soon as it holds this many items
+     * @param batchCall Sends one batch; must not block, since it may run on the scheduler thread
+     * @param scheduler Runs the window timers
+     */
+    public MicroBatcher(Duration window, int maxSize, Function<List<T>, CompletableFuture<List<R>>> batchCall,
+                        ScheduledExecutorService scheduler) {
+        this.window = window;
+        this.maxSize = Math.max(1, maxSize);
+        this.batchCall = batchCall;
+        this.scheduler = scheduler;
+    }
+
+    public CompletableFuture<R> submit(T item) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        List<Pending<T, R>> full = null;
+        synchronized (lock) {
+            pending.add(new Pending<>(item, result));
+            if (pending.size() >= maxSize) {
+                full = detach();
+            } else if (timer == null) {
+                timer = scheduler.schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    /**
+     * Sends whatever is pending now, e.g. on shutdown
+     */
+    public void flush() {
+        List<Pending<T, R>> batch;
+        synchronized (lock) {
+            batch = detach();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private List<Pending<T, R>> detach() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        List<Pending<T, R>> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<Pending<T, R>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        batch.forEach(entry -> items.add(entry.item()));
+        log.debug("Sending batch of {} items", items.size());
+
+        CompletableFuture<List<R>> call;
+        try {
+            call = batchCall.apply(items);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((results, error) -> {
+            if (error == null && (results == null || results.size() != batch.size())) {
+                error = new IllegalStateException("Expected " + batch.size() + " results, got "
+                        + (results == null ? 0 : results.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (error != null) {
+                    batch.get(i).result().completeExceptionally(error);
+                } else {
+                    batch.get(i).result().complete(results.get(i));
+                }
+            }
+        });
+    }
+}
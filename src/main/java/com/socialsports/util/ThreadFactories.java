@@ -0,0 +1,25 @@
+package com.socialsports.util;
+
+import java.util.concurrent.ThreadFactory;
+
+public class ThreadFactories {
+
+    private ThreadFactories() {
+        // Utility class, no instances
+    }
+
+    /**
+     * Creates a thread factory for internal executors.
+     * Threads are named prefix-0, prefix-1, ... and are virtual when requested,
+     * otherwise daemon platform threads.
+     *
+     * @param prefix Thread name prefix
+     * @param virtual Whether to create virtual threads (spring.threads.virtual.enabled)
+     */
+    public static ThreadFactory named(String prefix, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix + "-", 0).factory();
+        }
+        return Thread.ofPlatform().name(prefix + "-", 0).daemon(true).factory();
+    }
+}
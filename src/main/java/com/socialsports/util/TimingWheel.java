@@ -0,0 +1,161 @@
+package com.socialsports.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel holding one keyed timer per key.
+ * Level 0 has one slot per tick; each higher level has slots that span a whole
+ * turn of the level below, so with 1 s ticks, 64 slots and 4 levels the wheel
+ * covers about 194 days. A timer is placed on the lowest level that reaches
+ * its deadline and cascades down as the wheel turns, so scheduling, cancelling
+ * and each tick cost O(1) regardless of how many timers are pending. Timers
+ * beyond the top level wait in an overflow set that is re-placed once per
+ * top-level slot.
+ *
+ * <p>The wheel does not run anything itself: the owner calls {@link #advance(long)}
+ * on every tick and runs the returned tasks. All methods are thread safe.</p>
+ *
+ * @param <K> Timer key; scheduling an existing key replaces its timer
+ */
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] spans; // Ticks covered by one slot, per level
+    private final List<List<Set<Timer<K>>>> levels;
+    private final Set<Timer<K>> overflow = new LinkedHashSet<>();
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+
+    private long currentTick;
+
+    private static final class Timer<K> {
+        final K key;
+        final long deadlineTick;
+        final Runnable task;
+        Set<Timer<K>> bucket;
+
+        Timer(K key, long deadlineTick, Runnable task) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+    }
+
+    /**
+     * @param tick Resolution; timers fire on the first tick at or after their deadline
+     * @param wheelSize Slots per level
+     * @param levels Number of levels
+     * @param startMillis Current time, in the same clock as later {@link #advance(long)} calls
+     */
+    public TimingWheel(Duration tick, int wheelSize, int levels, long startMillis) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.wheelSize = Math.max(2, wheelSize);
+        this.spans = new long[Math.max(1, levels)];
+        this.levels = new ArrayList<>(spans.length);
+        long span = 1;
+        for (int level = 0; level < spans.length; level++) {
+            spans[level] = span;
+            span = Math.multiplyExact(span, this.wheelSize);
+            List<Set<Timer<K>>> slots = new ArrayList<>(this.wheelSize);
+            for (int slot = 0; slot < this.wheelSize; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+            this.levels.add(slots);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a task, replacing any timer already registered for the key.
+     * A deadline that has already passed fires on the next tick.
+     */
+    public synchronized void schedule(K key, long deadlineMillis, Runnable task) {
+        cancel(key);
+        // Round up so a timer never fires before its deadline
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timer<K> timer = new Timer<>(key, Math.max(deadlineTick, currentTick + 1), task);
+        timers.put(key, timer);
+        place(timer);
+    }
+
+    /**
+     * @return Whether a timer was registered for the key
+     */
+    public synchronized boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Turns the wheel up to the given time, tick by tick
+     *
+     * @return Tasks of the timers that expired, in deadline order
+     */
+    public synchronized List<Runnable> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<Runnable> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            if (currentTick % spans[spans.length - 1] == 0) {
+                replace(overflow);
+            }
+            // Cascade from the top so timers can fall through several levels in one tick
+            for (int level = spans.length - 1; level > 0; level--) {
+                if (currentTick % spans[level] == 0) {
+                    replace(slot(level, currentTick / spans[level]));
+                }
+            }
+            Set<Timer<K>> due = slot(0, currentTick);
+            for (Timer<K> timer : due) {
+                timers.remove(timer.key);
+                expired.add(timer.task);
+            }
+            due.clear();
+        }
+        return expired;
+    }
+
+    private void place(Timer<K> timer) {
+        for (int level = 0; level < spans.length; level++) {
+            long slotIndex = timer.deadlineTick / spans[level];
+            if (slotIndex - currentTick / spans[level] < wheelSize) {
+                timer.bucket = slot(level, slotIndex);
+                timer.bucket.add(timer);
+                return;
+            }
+        }
+        timer.bucket = overflow;
+        overflow.add(timer);
+    }
+
+    private void replace(Set<Timer<K>> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Timer<K>> moving = new ArrayList<>(bucket);
+        bucket.clear();
+        moving.forEach(this::place);
+    }
+
+    private Set<Timer<K>> slot(int level, long slotIndex) {
+        return levels.get(level).get((int) Math.floorMod(slotIndex, (long) wheelSize));
+    }
+}
@@ -0,0 +1,49 @@
+package com.socialsports.util;
+
+/**
+ * Token bucket rate limiter. Not thread-safe; callers guard access.
+ * Time is passed in (System.nanoTime() based) so buckets carry no clock of their own.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param capacity Maximum burst size
+     * @param refillPerSecond Tokens added per second
+     * @param nowNanos Current time, the bucket starts full
+     */
+    public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    public boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives back a token taken by tryConsume, e.g. when a later check rejected the request
+     */
+    public void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.socialsports.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialsports.model.InboundMessage;
+import com.socialsports.model.StatusUpdate;
+import com.socialsports.model.WebhookFormat;
+import com.socialsports.model.WebhookPayload;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming parser for WhatsApp Cloud API and Twilio webhook bodies.
+ * Extracts inbound text messages and outbound delivery status callbacks.
+ * Walks the token stream once and skips every subtree we do not use
+ * (contacts, metadata, media, ...) without materializing it.
+ */
+@Component
+public class WebhookPayloadParser {
+
+    private final JsonFactory jsonFactory;
+
+    public WebhookPayloadParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public WebhookPayload parse(byte[] body) throws IOException {
+        WebhookPayload payload = WebhookPayload.builder().format(WebhookFormat.UNKNOWN).build();
+        InboundMessage twilioMessage = new InboundMessage();
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Webhook body must be a JSON object");
+            }
+            readObject(parser, field -> {
+                switch (field) {
+                    case "entry" -> {
+                        payload.setFormat(WebhookFormat.CLOUD_API);
+                        readArray(parser, () -> readEntry(parser, payload));
+                    }
+                    case "From" -> twilioMessage.setFrom(readText(parser));
+                    case "Body" -> twilioMessage.setBody(readText(parser));
+                    case "MessageSid" -> twilioMessage.setId(readText(parser));
+                    default -> parser.skipChildren();
+                }
+            });
+        }
+
+        if (payload.getFormat() == WebhookFormat.UNKNOWN
+                && twilioMessage.getFrom() != null && twilioMessage.getBody() != null) {
+            payload.setFormat(WebhookFormat.TWILIO);
+            payload.getMessages().add(twilioMessage);
+        }
+        return payload;
+    }
+
+    private void readEntry(JsonParser parser, WebhookPayload payload) throws IOException {
+        readObject(parser, field -> {
+            if ("changes".equals(field)) {
+                readArray(parser, () -> readChange(parser, payload));
+            } else {
+                parser.skipChildren();
+            }
+        });
+    }
+
+    private void readChange(JsonParser parser, WebhookPayload payload) throws IOException {
+        readObject(parser, field -> {
+            if ("value".equals(field)) {
+                readObject(parser, valueField -> {
+                    switch (valueField) {
+                        case "messages" -> readArray(parser, () -> readMessage(parser, payload.getMessages()));
+                        case "statuses" -> readArray(parser, () -> readStatus(parser, payload.getStatuses()));
+                        default -> parser.skipChildren();
+                    }
+                });
+            } else {
+                parser.skipChildren();
+            }
+        });
+    }
+
+    private void readMessage(JsonParser parser, List<InboundMessage> messages) throws IOException {
+        InboundMessage message = new InboundMessage();
+        readObject(parser, field -> {
+            switch (field) {
+                case "id" -> message.setId(readText(parser));
+                case "from" -> message.setFrom(readText(parser));
+                case "text" -> readObject(parser, textField -> {
+                    if ("body".equals(textField)) {
+                        message.setBody(readText(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                });
+                default -> parser.skipChildren();
+            }
+        });
+        // Only text messages carry commands; media, reactions etc. are ignored
+        if (message.getBody() != null) {
+            messages.add(message);
+        }
+    }
+
+    private void readStatus(JsonParser parser, List<StatusUpdate> statuses) throws IOException {
+        StatusUpdate status = new StatusUpdate();
+        readObject(parser, field -> {
+            switch (field) {
+                case "id" -> status.setMessageId(readText(parser));
+                case "status" -> status.setStatus(readText(parser));
+                case "recipient_id" -> status.setRecipientId(readText(parser));
+                case "timestamp" -> {
+                    // Sent as a string of epoch seconds; anything unparseable falls back to receipt time
+                    long timestamp = parser.currentToken().isStructStart() ? 0 : parser.getValueAsLong(0);
+                    parser.skipChildren();
+                    status.setTimestamp(timestamp > 0 ? timestamp : null);
+                }
+                case "errors" -> readArray(parser, () -> readObject(parser, errorField -> {
+                    if ("code".equals(errorField) && status.getErrorCode() == null) {
+                        status.setErrorCode(parser.getValueAsInt());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }));
+                default -> parser.skipChildren(); // conversation, pricing, ...
+            }
+        });
+        if (status.getMessageId() != null && status.getStatus() != null) {
+            statuses.add(status);
+        }
+    }
+
+    /**
+     * Iterates the fields of the object at the current token. The handler must
+     * consume the field value, which is the current token when it is invoked.
+     */
+    private void readObject(JsonParser parser, FieldHandler handler) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            handler.handle(field);
+        }
+    }
+
+    /**
+     * Invokes the reader once per element of the array at the current token
+     */
+    private void readArray(JsonParser parser, ElementReader reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            reader.read();
+        }
+    }
+
+    private String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    @FunctionalInterface
+    private interface FieldHandler {
+        void handle(String field) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ElementReader {
+        void read() throws IOException;
+    }
+}
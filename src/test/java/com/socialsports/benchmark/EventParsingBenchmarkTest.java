@@ -0,0 +1,231 @@
+package com.socialsports.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.socialsports.service.EventRequestCache;
+import com.socialsports.service.LLMService;
+import com.socialsports.simulator.ChatCompletionsSimulator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures accuracy, latency and throughput of LLMService.parseNaturalLanguageEventRequest
+ * over the labelled corpus in src/test/resources/llm, in four modes:
+ * local extraction only, every request to the LLM, LLM with a warm cache, and the
+ * default hybrid (confident requests answered locally). The LLM is the in-process
+ * chat-completions simulator scripted with the corpus labels, i.e. a model that is
+ * always right but slow, so the LLM rows show the cost of the call rather than model quality.
+ */
+@Tag("benchmark")
+class EventParsingBenchmarkTest {
+
+    private static final String CORPUS = "/llm/event-requests.jsonl";
+    private static final long LLM_LATENCY_MS = 60;
+    private static final long LLM_LATENCY_JITTER_MS = 30;
+    private static final int THROUGHPUT_REQUESTS = 2_000;
+    private static final int THROUGHPUT_CONCURRENCY = 64;
+    private static final double ALWAYS_ESCALATE = 1.1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalDate today = LocalDate.now();
+    private ChatCompletionsSimulator simulator;
+    private List<Sample> corpus;
+
+    private record Sample(String message, JsonNode expected) {
+    }
+
+    private record Result(String mode, double accuracy, double exactMatches, long p50Micros, long p99Micros,
+                          double throughput) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        corpus = loadCorpus();
+        simulator = new ChatCompletionsSimulator(objectMapper,
+                new ChatCompletionsSimulator.Settings(0, LLM_LATENCY_MS, LLM_LATENCY_JITTER_MS, 0.0, 0.0));
+        for (Sample sample : corpus) {
+            simulator.script(sample.message(), answerFor(sample.expected()));
+        }
+        simulator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.stop();
+    }
+
+    @Test
+    void compareParsingModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(measure("local", service("", ALWAYS_ESCALATE, 0), false));
+        results.add(measure("llm", service("test-key", ALWAYS_ESCALATE, 0), false));
+        results.add(measure("llm+cache", service("test-key", ALWAYS_ESCALATE, 10_000), true));
+        results.add(measure("hybrid", service("test-key", 0.8, 0), false));
+
+        System.out.printf("%d labelled messages, simulated LLM latency %d+/-%d ms%n",
+                corpus.size(), LLM_LATENCY_MS, LLM_LATENCY_JITTER_MS);
+        System.out.printf("  %-10s %9s %7s %10s %10s %12s%n", "mode", "fields", "exact", "p50", "p99", "throughput");
+        for (Result result : results) {
+            System.out.printf("  %-10s %8.1f%% %6.1f%% %8dus %8dus %8.0f req/s%n", result.mode(),
+                    result.accuracy() * 100, result.exactMatches() * 100, result.p50Micros(), result.p99Micros(),
+                    result.throughput());
+        }
+
+        Result local = results.get(0);
+        Result llm = results.get(1);
+        Result cached = results.get(2);
+        assertTrue(llm.accuracy() >= local.accuracy(), "A perfectly scripted LLM should not be less accurate");
+        assertTrue(cached.p50Micros() < llm.p50Micros(), "Cache hits should be faster than LLM calls");
+    }
+
+    private LLMService service(String apiKey, double minLocalConfidence, int cacheEntries) {
+        EventRequestCache cache = new EventRequestCache(new SimpleMeterRegistry(), objectMapper, cacheEntries, 60, "");
+        return new LLMService(LLMService.Settings.builder()
+                .apiKey(apiKey)
+                .apiUrl(simulator.getCompletionsUrl())
+                .timeout(Duration.ofSeconds(5))
+                .maxConcurrentRequests(THROUGHPUT_CONCURRENCY)
+                .minLocalConfidence(minLocalConfidence)
+                .build(), objectMapper, cache);
+    }
+
+    private Result measure(String mode, LLMService service, boolean warmCache) throws Exception {
+        if (warmCache) {
+            corpus.forEach(sample -> service.parseNaturalLanguageEventRequest(sample.message()));
+        }
+
+        // Sequential pass: accuracy and per-call latency
+        int fieldsCorrect = 0;
+        int fieldsScored = 0;
+        int exact = 0;
+        long[] latencies = new long[corpus.size()];
+        for (int i = 0; i < corpus.size(); i++) {
+            Sample sample = corpus.get(i);
+            long start = System.nanoTime();
+            Map<String, Object> parsed = service.parseNaturalLanguageEventRequest(sample.message());
+            latencies[i] = System.nanoTime() - start;
+
+            int[] score = score(sample.expected(), parsed);
+            fieldsCorrect += score[0];
+            fieldsScored += score[1];
+            exact += score[0] == score[1] ? 1 : 0;
+        }
+        Arrays.sort(latencies);
+
+        // Concurrent pass: throughput
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THROUGHPUT_CONCURRENCY)) {
+            List<Future<Map<String, Object>>> futures = new ArrayList<>(THROUGHPUT_REQUESTS);
+            for (int i = 0; i < THROUGHPUT_REQUESTS; i++) {
+                String message = corpus.get(i % corpus.size()).message();
+                futures.add(executor.submit(() -> service.parseNaturalLanguageEventRequest(message)));
+            }
+            for (Future<Map<String, Object>> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+        return new Result(mode, (double) fieldsCorrect / fieldsScored, (double) exact / corpus.size(),
+                percentile(latencies, 50) / 1_000, percentile(latencies, 99) / 1_000, THROUGHPUT_REQUESTS / seconds);
+    }
+
+    /**
+     * @return {correct, scored} over the fields the sample is labelled with
+     */
+    private int[] score(JsonNode expected, Map<String, Object> parsed) {
+        int correct = 0;
+        int scored = 0;
+        for (String field : List.of("sportType", "location", "playerCount")) {
+            if (!expected.has(field)) {
+                continue;
+            }
+            scored++;
+            JsonNode label = expected.get(field);
+            Object value = parsed.get(field);
+            if (label.isNull() ? value == null
+                    : value != null && label.asText().equalsIgnoreCase(value.toString())) {
+                correct++;
+            }
+        }
+        if (expected.has("time")) {
+            scored++;
+            Object value = parsed.get("time");
+            if (value instanceof LocalDateTime time
+                    && time.truncatedTo(ChronoUnit.MINUTES).equals(expectedTime(expected))) {
+                correct++;
+            }
+        }
+        return new int[]{correct, scored};
+    }
+
+    /**
+     * Turns a label into what a perfect model would answer today
+     */
+    private JsonNode answerFor(JsonNode expected) {
+        ObjectNode answer = expected.deepCopy();
+        answer.remove("day");
+        if (expected.has("time")) {
+            answer.put("time", expectedTime(expected).toString());
+        }
+        return answer;
+    }
+
+    private LocalDateTime expectedTime(JsonNode expected) {
+        LocalDate date = switch (expected.path("day").asText("today")) {
+            case "today" -> today;
+            case "tomorrow" -> today.plusDays(1);
+            default -> today.with(TemporalAdjusters.nextOrSame(
+                    DayOfWeek.valueOf(expected.path("day").asText().toUpperCase(Locale.ROOT))));
+        };
+        return LocalDateTime.of(date, LocalTime.parse(expected.get("time").asText()));
+    }
+
+    private List<Sample> loadCorpus() throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        try (InputStream in = getClass().getResourceAsStream(CORPUS);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    JsonNode node = objectMapper.readTree(line);
+                    samples.add(new Sample(node.get("message").asText(), node.get("expected")));
+                }
+            }
+        }
+        return samples;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
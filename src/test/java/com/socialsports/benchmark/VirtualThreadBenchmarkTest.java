@@ -0,0 +1,97 @@
+package com.socialsports.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares request throughput when blocking upstream calls run on a fixed platform
+ * pool (sized like Tomcat's default 200 threads) versus one virtual thread per request.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final int CONCURRENT_CALLS = 2_000;
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final long UPSTREAM_LATENCY_MS = 100;
+
+    private HttpServer upstream;
+    private RestTemplate restTemplate;
+    private String url;
+
+    @BeforeEach
+    void startSlowUpstream() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+
+        url = "http://127.0.0.1:" + upstream.getAddress().getPort() + "/slow";
+        restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void compareThroughput() throws Exception {
+        // Warm up connection handling and JIT
+        run(Executors.newVirtualThreadPerTaskExecutor(), 200);
+
+        double platform = run(Executors.newFixedThreadPool(PLATFORM_POOL_SIZE), CONCURRENT_CALLS);
+        double virtual = run(Executors.newVirtualThreadPerTaskExecutor(), CONCURRENT_CALLS);
+
+        System.out.printf("%d concurrent calls, %d ms upstream latency%n", CONCURRENT_CALLS, UPSTREAM_LATENCY_MS);
+        System.out.printf("  platform pool (%d threads): %.0f req/s%n", PLATFORM_POOL_SIZE, platform);
+        System.out.printf("  virtual threads:           %.0f req/s%n", virtual);
+
+        assertTrue(virtual > platform, "Virtual threads should not be capped by the pool size");
+    }
+
+    /**
+     * Issues the given number of concurrent blocking calls and returns requests per second
+     */
+    private double run(ExecutorService executor, int calls) throws Exception {
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<String>> results = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                results.add(executor.submit(() -> restTemplate.getForObject(url, String.class)));
+            }
+            for (Future<String> result : results) {
+                assertEquals("{\"ok\":true}", result.get(60, TimeUnit.SECONDS));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+        return calls / seconds;
+    }
+}
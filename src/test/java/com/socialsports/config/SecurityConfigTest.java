@@ -1,6 +1,7 @@
 package com.socialsports.config;
 
 import com.socialsports.security.JwtAuthenticationFilter;
+import com.socialsports.service.IdempotencyService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -22,6 +23,9 @@ class SecurityConfigTest {
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     @Test
     void testPublicEndpoints_NoAuthentication() throws Exception {
         // Test public endpoints that should be accessible without authentication
@@ -2,6 +2,7 @@ package com.socialsports.controller;
 
 import com.socialsports.model.Event;
 import com.socialsports.model.EventStatus;
+import com.socialsports.model.EventSummary;
 import com.socialsports.model.SportType;
 import com.socialsports.service.EventService;
 import com.socialsports.service.LLMService;
@@ -16,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -67,37 +69,66 @@ class EventControllerTest {
     @Test
     void testGetUpcomingEvents_WithFiltering() {
         // Prepare test data
-        List<Event> events = Arrays.asList(testEvent);
+        List<EventSummary> summaries = Arrays.asList(EventSummary.from(testEvent));
         
-        when(eventService.getUpcomingEvents(eq(TEST_SPORT_TYPE), eq(TEST_SKILL_LEVEL), anyInt(), anyInt()))
-                .thenReturn(events);
+        when(eventService.getUpcomingEventSummaries(eq(TEST_SPORT_TYPE), eq(TEST_SKILL_LEVEL), anyInt(), anyInt(),
+                eq(EventSummary.ALL_FIELDS)))
+                .thenReturn(summaries);
 
         // Execute the controller method
-        ResponseEntity<List<Event>> response = eventController.getUpcomingEvents(
-                TEST_SPORT_TYPE, TEST_SKILL_LEVEL, 0, 10);
+        ResponseEntity<List<EventSummary>> response = eventController.getUpcomingEvents(
+                TEST_SPORT_TYPE, TEST_SKILL_LEVEL, 0, 10, null);
 
         // Verify the response
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(events, response.getBody());
-        verify(eventService).getUpcomingEvents(TEST_SPORT_TYPE, TEST_SKILL_LEVEL, 0, 10);
+        assertEquals(summaries, response.getBody());
+        assertEquals(1, response.getBody().get(0).getParticipantCount());
+        verify(eventService).getUpcomingEventSummaries(TEST_SPORT_TYPE, TEST_SKILL_LEVEL, 0, 10,
+                EventSummary.ALL_FIELDS);
     }
 
     @Test
     void testGetUpcomingEvents_NoFilters() {
         // Prepare test data
-        List<Event> events = Arrays.asList(testEvent);
+        List<EventSummary> summaries = Arrays.asList(EventSummary.from(testEvent));
         
-        when(eventService.getUpcomingEvents(null, null, 0, 10))
-                .thenReturn(events);
+        when(eventService.getUpcomingEventSummaries(null, null, 0, 10, EventSummary.ALL_FIELDS))
+                .thenReturn(summaries);
 
         // Execute the controller method
-        ResponseEntity<List<Event>> response = eventController.getUpcomingEvents(
-                null, null, 0, 10);
+        ResponseEntity<List<EventSummary>> response = eventController.getUpcomingEvents(
+                null, null, 0, 10, null);
 
         // Verify the response
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(events, response.getBody());
-        verify(eventService).getUpcomingEvents(null, null, 0, 10);
+        assertEquals(summaries, response.getBody());
+        verify(eventService).getUpcomingEventSummaries(null, null, 0, 10, EventSummary.ALL_FIELDS);
+    }
+
+    @Test
+    void testGetUpcomingEvents_SparseFieldset() {
+        Set<String> fields = Set.of("id", "participantCount");
+        when(eventService.getUpcomingEventSummaries(null, null, 0, 10, fields))
+                .thenReturn(List.of(EventSummary.from(testEvent, fields)));
+
+        ResponseEntity<List<EventSummary>> response = eventController.getUpcomingEvents(
+                null, null, 0, 10, "id, participantCount");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(TEST_EVENT_ID, response.getBody().get(0).getId());
+        assertNull(response.getBody().get(0).getLocation());
+    }
+
+    @Test
+    void testGetUpcomingEvents_UnknownField() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> eventController.getUpcomingEvents(null, null, 0, 10, "id,participantPhoneNumbers"));
+        verifyNoInteractions(eventService);
+
+        // Answered with 400 and the reason by BadRequestHandler
+        ResponseEntity<Map<String, String>> response = new BadRequestHandler().handleIllegalArgument(e);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().get("error").startsWith("Unknown field 'participantPhoneNumbers'"));
     }
 
     @Test
@@ -300,16 +331,16 @@ class EventControllerTest {
         parsedEvent.put("sportType", TEST_SPORT_TYPE);
         parsedEvent.put("time", LocalDateTime.now().plusDays(1).withHour(15));
 
-        when(llmService.parseNaturalLanguageEventRequest("I want to play tennis tomorrow at 3pm"))
-                .thenReturn(parsedEvent);
+        when(llmService.parseNaturalLanguageEventRequestAsync("I want to play tennis tomorrow at 3pm"))
+                .thenReturn(CompletableFuture.completedFuture(parsedEvent));
 
         // Execute the controller method
-        ResponseEntity<Map<String, Object>> response = eventController.parseEventRequest(request);
+        ResponseEntity<Map<String, Object>> response = eventController.parseEventRequest(request).join();
 
         // Verify the response
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(parsedEvent, response.getBody());
-        verify(llmService).parseNaturalLanguageEventRequest("I want to play tennis tomorrow at 3pm");
+        verify(llmService).parseNaturalLanguageEventRequestAsync("I want to play tennis tomorrow at 3pm");
     }
 
     @Test
@@ -318,15 +349,23 @@ class EventControllerTest {
         Map<String, String> request = new HashMap<>();
         request.put("message", "I want to play tennis tomorrow at 3pm");
 
-        when(llmService.parseNaturalLanguageEventRequest("I want to play tennis tomorrow at 3pm"))
-                .thenThrow(new RuntimeException("Failed to parse"));
+        when(llmService.parseNaturalLanguageEventRequestAsync("I want to play tennis tomorrow at 3pm"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Failed to parse")));
 
         // Execute the controller method
-        ResponseEntity<Map<String, Object>> response = eventController.parseEventRequest(request);
+        ResponseEntity<Map<String, Object>> response = eventController.parseEventRequest(request).join();
 
         // Verify the response
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        verify(llmService).parseNaturalLanguageEventRequest("I want to play tennis tomorrow at 3pm");
+        verify(llmService).parseNaturalLanguageEventRequestAsync("I want to play tennis tomorrow at 3pm");
+    }
+
+    @Test
+    void testParseEventRequest_MissingMessage() {
+        ResponseEntity<Map<String, Object>> response = eventController.parseEventRequest(new HashMap<>()).join();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(llmService);
     }
 
     @Test
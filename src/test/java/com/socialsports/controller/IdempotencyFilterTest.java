@@ -0,0 +1,181 @@
+package com.socialsports.controller;
+
+import com.socialsports.model.IdempotencyRecord;
+import com.socialsports.service.IdempotencyService;
+import com.socialsports.service.IdempotencyService.Claim;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyService);
+        lenient().when(idempotencyService.isEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void testFirstRequestRunsAndStoresItsResponse() throws Exception {
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim(Claim.Status.ACQUIRED, null));
+        MockHttpServletRequest request = post("/api/events/e1/join", "key-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new ControllerStub(200, "{\"id\":\"e1\"}")));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"id\":\"e1\"}", response.getContentAsString());
+        verify(idempotencyService).begin(eq("anonymous:POST:/api/events/e1/join:key-1"), anyString());
+        verify(idempotencyService).complete(eq("anonymous:POST:/api/events/e1/join:key-1"), anyString(),
+                eq(200), eq("application/json"), eq("{\"id\":\"e1\"}"));
+    }
+
+    @Test
+    void testRetryReplaysTheStoredResponse() throws Exception {
+        IdempotencyRecord stored = IdempotencyRecord.builder()
+                .state(IdempotencyRecord.COMPLETED)
+                .responseStatus(201)
+                .contentType("application/json")
+                .responseBody("{\"id\":\"e1\"}")
+                .build();
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim(Claim.Status.REPLAY, stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(post("/api/events", "key-1"), response, chain);
+
+        assertNull(chain.getRequest(), "The request must not run again");
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"id\":\"e1\"}", response.getContentAsString());
+    }
+
+    @Test
+    void testConcurrentRetryAndReusedKeyAreRefused() throws Exception {
+        when(idempotencyService.begin(anyString(), anyString()))
+                .thenReturn(new Claim(Claim.Status.IN_PROGRESS, null), new Claim(Claim.Status.MISMATCH, null));
+
+        MockHttpServletResponse inProgress = new MockHttpServletResponse();
+        filter.doFilter(post("/api/events", "key-1"), inProgress, new MockFilterChain());
+        MockHttpServletResponse mismatch = new MockHttpServletResponse();
+        filter.doFilter(post("/api/events", "key-1"), mismatch, new MockFilterChain());
+
+        assertEquals(409, inProgress.getStatus());
+        assertEquals(422, mismatch.getStatus());
+    }
+
+    @Test
+    void testServerErrorReleasesTheKey() throws Exception {
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim(Claim.Status.ACQUIRED, null));
+
+        filter.doFilter(post("/api/events", "key-1"), new MockHttpServletResponse(),
+                new MockFilterChain(new ControllerStub(500, "")));
+
+        verify(idempotencyService).release("anonymous:POST:/api/events:key-1");
+        verify(idempotencyService, never()).complete(anyString(), anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testRequestsWithoutKeyOrOnOtherPathsPassThrough() throws Exception {
+        MockHttpServletRequest noKey = new MockHttpServletRequest("POST", "/api/events");
+        filter.doFilter(noKey, new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(post("/api/events/e1/cancel", "key-1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(idempotencyService, never()).begin(anyString(), anyString());
+    }
+
+    @Test
+    void testControllerStillReadsTheBody() throws Exception {
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim(Claim.Status.ACQUIRED, null));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(post("/api/events", "key-1"), new MockHttpServletResponse(), chain);
+
+        assertEquals("{\"sport\":\"TENNIS\"}",
+                new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testControllerCanReadTheBodyAsynchronously() throws Exception {
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim(Claim.Status.ACQUIRED, null));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(post("/api/events", "key-1"), new MockHttpServletResponse(), chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allDataRead = new boolean[1];
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(in.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertTrue(allDataRead[0]);
+        assertEquals("{\"sport\":\"TENNIS\"}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest post(String path, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader(IdempotencyFilter.KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent("{\"sport\":\"TENNIS\"}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Stands in for the controller, writing a fixed response
+     */
+    private static class ControllerStub extends HttpServlet {
+        private final int status;
+        private final String body;
+
+        ControllerStub(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            resp.setStatus(status);
+            resp.setContentType("application/json");
+            resp.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.socialsports.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialsports.model.InboundMessage;
+import com.socialsports.model.StatusUpdate;
+import com.socialsports.service.DeliveryTrackingService;
+import com.socialsports.service.MessageDispatcher;
+import com.socialsports.util.WebhookPayloadParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WhatsAppWebhookControllerTest {
+
+    @Mock
+    private MessageDispatcher messageDispatcher;
+
+    @Mock
+    private DeliveryTrackingService deliveryTrackingService;
+
+    @Spy
+    private WebhookPayloadParser webhookPayloadParser = new WebhookPayloadParser(new ObjectMapper());
+
+    @InjectMocks
+    private WhatsAppWebhookController webhookController;
+
+    @Test
+    void testReceiveMessage_DispatchesEveryMessageInBatch() {
+        String payload = """
+            {"object":"whatsapp_business_account","entry":[
+              {"id":"1","changes":[
+                {"field":"messages","value":{"messages":[
+                  {"id":"wamid.1","from":"+111","type":"text","text":{"body":"JOIN abc"}},
+                  {"id":"wamid.2","from":"+222","type":"text","text":{"body":"HELP"}}]}},
+                {"field":"messages","value":{"messages":[
+                  {"id":"wamid.3","from":"+111","type":"text","text":{"body":"LEAVE abc"}}]}}]},
+              {"id":"2","changes":[
+                {"field":"messages","value":{"messages":[
+                  {"id":"wamid.4","from":"+333","type":"text","text":{"body":"EVENTS"}}]}}]}]}
+            """;
+
+        ResponseEntity<String> response = webhookController.receiveMessage(bytes(payload));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InboundMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageDispatcher).dispatchAll(captor.capture());
+
+        List<InboundMessage> dispatched = captor.getValue();
+        assertEquals(4, dispatched.size());
+        assertEquals(List.of("wamid.1", "wamid.2", "wamid.3", "wamid.4"),
+                dispatched.stream().map(InboundMessage::getId).toList());
+        assertEquals("LEAVE abc", dispatched.get(2).getBody());
+    }
+
+    @Test
+    void testReceiveMessage_Twilio() {
+        String payload = "{\"From\":\"+111\",\"Body\":\"HELP\",\"MessageSid\":\"SM1\"}";
+
+        ResponseEntity<String> response = webhookController.receiveMessage(bytes(payload));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(messageDispatcher).dispatchAll(List.of(new InboundMessage("SM1", "+111", "HELP")));
+    }
+
+    @Test
+    void testReceiveMessage_NoMessages() {
+        ResponseEntity<String> response = webhookController.receiveMessage(bytes("{\"entry\":[]}"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verifyNoInteractions(messageDispatcher);
+    }
+
+    @Test
+    void testReceiveMessage_StatusCallbacks() {
+        String payload = """
+            {"entry":[{"changes":[{"value":{"statuses":[
+              {"id":"wamid.9","status":"delivered","timestamp":"1700000000","recipient_id":"316",
+               "conversation":{"id":"c1"},"pricing":{"billable":true}},
+              {"id":"wamid.8","status":"failed","timestamp":"1700000005","recipient_id":"317",
+               "errors":[{"code":131026,"title":"Message undeliverable"}]}]}}]}]}
+            """;
+
+        ResponseEntity<String> response = webhookController.receiveMessage(bytes(payload));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(deliveryTrackingService).recordStatusUpdates(List.of(
+                new StatusUpdate("wamid.9", "delivered", 1700000000L, "316", null),
+                new StatusUpdate("wamid.8", "failed", 1700000005L, "317", 131026)));
+        verifyNoInteractions(messageDispatcher);
+    }
+
+    @Test
+    void testReceiveMessage_MalformedPayloadStillReturnsOk() {
+        ResponseEntity<String> response = webhookController.receiveMessage(bytes("not json"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verifyNoInteractions(messageDispatcher);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -123,7 +123,7 @@ public class UserFlowIntegrationTest {
         // Mock WhatsApp notifications to avoid actual API calls
         doNothing().when(whatsAppService).sendEventCreationNotification(any());
         doNothing().when(whatsAppService).sendEventJoinConfirmation(any(), any());
-        doNothing().when(whatsAppService).sendEventReminder(any());
+        doNothing().when(whatsAppService).sendEventReminder(any(), any());
         doNothing().when(whatsAppService).sendTextMessage(any(), any());
         when(whatsAppService.createWhatsAppGroup(any(), any())).thenReturn("mock-group-id");
 
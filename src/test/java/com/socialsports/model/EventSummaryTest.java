@@ -0,0 +1,63 @@
+package com.socialsports.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSummaryTest {
+
+    private final Event event = Event.builder()
+            .id("e1")
+            .sportType(SportType.TENNIS)
+            .location("Central Park")
+            .eventTime(LocalDateTime.parse("2030-05-06T18:00:00"))
+            .creatorPhoneNumber("+100")
+            .participantPhoneNumbers(List.of("+100", "+200"))
+            .participantLimit(4)
+            .skillLevel(3)
+            .status(EventStatus.CREATED)
+            .remindersSent(Map.of("24h", true))
+            .build();
+
+    @Test
+    void testSummaryCountsParticipantsInsteadOfListingThem() {
+        EventSummary summary = EventSummary.from(event);
+
+        assertEquals("e1", summary.getId());
+        assertEquals(LocalDateTime.parse("2030-05-06T18:00:00"), summary.getEventTime());
+        assertEquals(2, summary.getParticipantCount());
+        assertEquals(0, summary.getWaitlistCount());
+    }
+
+    @Test
+    void testSparseFieldsetLeavesOtherFieldsOutOfTheJson() throws Exception {
+        EventSummary summary = EventSummary.from(event, EventSummary.parseFields("id,participantCount"));
+
+        String json = new ObjectMapper().writeValueAsString(summary);
+
+        assertEquals("{\"id\":\"e1\",\"participantCount\":2}", json);
+    }
+
+    @Test
+    void testParseFields() {
+        assertEquals(EventSummary.ALL_FIELDS, EventSummary.parseFields(null));
+        assertEquals(EventSummary.ALL_FIELDS, EventSummary.parseFields(" "));
+        assertEquals(Set.of("id", "location"), EventSummary.parseFields("id, location,"));
+        assertThrows(IllegalArgumentException.class, () -> EventSummary.parseFields("id,remindersSent"));
+    }
+
+    @Test
+    void testOnlyAttributesOfRequestedFieldsAreRead() {
+        assertEquals(Set.of("id", "participantPhoneNumbers"),
+                EventSummary.attributesFor(Set.of("id", "participantCount")));
+        assertEquals(Set.of("status", "eventTimeString", "sportType"),
+                EventSummary.attributesFor(Set.of("eventTime"), "status", "sportType"));
+        assertFalse(EventSummary.attributesFor(EventSummary.ALL_FIELDS).contains("remindersSent"));
+    }
+}
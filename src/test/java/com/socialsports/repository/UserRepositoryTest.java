@@ -0,0 +1,53 @@
+package com.socialsports.repository;
+
+import com.socialsports.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserRepositoryTest {
+
+    @Mock
+    private DynamoDbEnhancedClient enhancedClient;
+
+    @Mock
+    private DynamoDbTable<User> userTable;
+
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(enhancedClient.<User>table(eq("User"), any())).thenReturn(userTable);
+        userRepository = new UserRepository(enhancedClient);
+    }
+
+    @Test
+    void testWatermarkOnAWholeMinuteMatchesTheStoredUpdatedAt() {
+        LocalDateTime since = LocalDateTime.of(2026, 10, 19, 10, 0);
+        when(userTable.scan(any(ScanEnhancedRequest.class)))
+                .thenReturn(PageIterable.create(() -> List.of(Page.<User>create(List.of())).iterator()));
+
+        userRepository.streamAll(since, 100).count();
+
+        ArgumentCaptor<ScanEnhancedRequest> request = ArgumentCaptor.forClass(ScanEnhancedRequest.class);
+        verify(userTable).scan(request.capture());
+        // The attribute converter stores updatedAt via toString, which has no seconds here
+        assertEquals("2026-10-19T10:00", request.getValue().filterExpression().expressionValues().get(":since").s());
+    }
+}
@@ -0,0 +1,161 @@
+package com.socialsports.service;
+
+import com.socialsports.model.DeliveryStats;
+import com.socialsports.model.DeliveryStatus;
+import com.socialsports.model.MessageDelivery;
+import com.socialsports.model.StatusUpdate;
+import com.socialsports.repository.MessageDeliveryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryTrackingServiceTest {
+
+    @Mock
+    private MessageDeliveryRepository messageDeliveryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DeliveryTrackingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DeliveryTrackingService(messageDeliveryRepository, meterRegistry, true, 500, 10_000);
+    }
+
+    @Test
+    void testFlushMergesFragmentsIntoOneWrite() {
+        when(messageDeliveryRepository.findAllById(any())).thenReturn(List.of());
+        when(messageDeliveryRepository.saveAll(any())).thenReturn(List.of());
+
+        service.recordOutbound("wamid.1", "+316", "ev-1", 1_000L, 1_200L);
+        service.recordStatusUpdates(List.of(
+                new StatusUpdate("wamid.1", "delivered", 2L, "+316", null),
+                new StatusUpdate("wamid.1", "sent", 1L, "+316", null)));
+        service.flush();
+
+        MessageDelivery written = singleWrite();
+        assertEquals(DeliveryStatus.DELIVERED, written.getStatus());
+        assertEquals("ev-1", written.getEventId());
+        assertEquals(1_000L, written.getSentAt());
+        assertEquals(2_000L, written.getDeliveredAt());
+        assertEquals(1_200L, written.getAcceptedAt());
+    }
+
+    @Test
+    void testFlushMergesWithStoredRecord() {
+        MessageDelivery stored = MessageDelivery.builder()
+                .messageId("wamid.1").eventId("ev-1").status(DeliveryStatus.DELIVERED)
+                .queuedAt(1_000L).acceptedAt(1_200L).build();
+        when(messageDeliveryRepository.findAllById(any())).thenReturn(List.of(stored));
+        when(messageDeliveryRepository.saveAll(any())).thenReturn(List.of());
+
+        // A late "sent" callback must not move the status backwards
+        service.recordStatusUpdates(List.of(new StatusUpdate("wamid.1", "sent", 1L, "+316", null)));
+        service.flush();
+
+        MessageDelivery written = singleWrite();
+        assertEquals(DeliveryStatus.DELIVERED, written.getStatus());
+        assertEquals("ev-1", written.getEventId());
+        assertEquals(1_000L, written.getSentAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordLosingToANewerStatusIsMergedAgainOnNextFlush() {
+        MessageDelivery read = MessageDelivery.builder()
+                .messageId("wamid.1").status(DeliveryStatus.READ).readAt(3_000L).build();
+        when(messageDeliveryRepository.findAllById(any())).thenReturn(List.of(), List.of(read));
+        // Another node stored READ between our read and our write of DELIVERED
+        when(messageDeliveryRepository.saveAll(any()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<MessageDelivery>>getArgument(0)))
+                .thenReturn(List.of());
+
+        service.recordStatusUpdates(List.of(new StatusUpdate("wamid.1", "delivered", 2L, "+316", null)));
+        service.flush();
+        service.flush();
+
+        ArgumentCaptor<Collection<MessageDelivery>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(messageDeliveryRepository, times(2)).saveAll(captor.capture());
+        MessageDelivery retried = captor.getAllValues().get(1).iterator().next();
+        assertEquals(DeliveryStatus.READ, retried.getStatus());
+        assertEquals(2_000L, retried.getDeliveredAt());
+        assertEquals(3_000L, retried.getReadAt());
+    }
+
+    @Test
+    void testPendingRecordsAreBounded() {
+        DeliveryTrackingService bounded = new DeliveryTrackingService(messageDeliveryRepository, meterRegistry,
+                true, 500, 2);
+
+        for (int i = 0; i < 5; i++) {
+            bounded.recordOutbound("wamid." + i, "+316", "ev-1", 1_000L, 1_200L);
+        }
+
+        assertEquals(3.0, meterRegistry.get("whatsapp.delivery_tracking.dropped").counter().count());
+    }
+
+    @Test
+    void testUnknownStatusesAndDisabledTrackingAreIgnored() {
+        service.recordStatusUpdates(List.of(new StatusUpdate("wamid.1", "deleted", 1L, "+316", null)));
+        service.flush();
+
+        DeliveryTrackingService disabled = new DeliveryTrackingService(messageDeliveryRepository, meterRegistry,
+                false, 500, 10_000);
+        disabled.recordOutbound("wamid.2", "+316", "ev-1", 1_000L, 1_200L);
+        disabled.flush();
+
+        verifyNoInteractions(messageDeliveryRepository);
+    }
+
+    @Test
+    void testGetEventDeliveryStats() {
+        when(messageDeliveryRepository.findByEventId("ev-1")).thenReturn(List.of(
+                delivery(DeliveryStatus.READ, 0L, 100L, 1_100L),
+                delivery(DeliveryStatus.DELIVERED, 0L, 300L, 2_300L),
+                delivery(DeliveryStatus.FAILED, 0L, 200L, null),
+                delivery(DeliveryStatus.ACCEPTED, 0L, 400L, null)));
+
+        DeliveryStats stats = service.getEventDeliveryStats("ev-1");
+
+        assertEquals(4, stats.getTotalMessages());
+        assertEquals(0.5, stats.getDeliveryRate());
+        assertEquals(0.25, stats.getReadRate());
+        assertEquals(0.25, stats.getFailureRate());
+        assertEquals(200L, stats.getMedianQueueMillis());
+        assertEquals(400L, stats.getP95QueueMillis());
+        assertEquals(1_000L, stats.getMedianUpstreamMillis());
+        assertEquals(2_000L, stats.getP95UpstreamMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    private MessageDelivery singleWrite() {
+        ArgumentCaptor<Collection<MessageDelivery>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(messageDeliveryRepository).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        return captor.getValue().iterator().next();
+    }
+
+    private static MessageDelivery delivery(DeliveryStatus status, Long queuedAt, Long acceptedAt, Long deliveredAt) {
+        return MessageDelivery.builder()
+                .messageId("wamid-" + status)
+                .eventId("ev-1")
+                .status(status)
+                .queuedAt(queuedAt)
+                .acceptedAt(acceptedAt)
+                .deliveredAt(deliveredAt)
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.socialsports.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
+import com.socialsports.model.EventStatus;
+import com.socialsports.model.SportType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService senders = Executors.newSingleThreadExecutor();
+    private final EventFeed feed = new EventFeed(new ObjectMapper().registerModule(new JavaTimeModule()),
+            meterRegistry, 100, 2, 60_000, senders);
+
+    @AfterEach
+    void tearDown() {
+        senders.shutdownNow();
+    }
+
+    @Test
+    void testSubscribersOnlyGetMatchingChanges() throws Exception {
+        RecordingEmitter tennis = new RecordingEmitter();
+        RecordingEmitter oneEvent = new RecordingEmitter();
+        feed.subscribe(new EventFeed.Filter(SportType.TENNIS, null, null), tennis);
+        feed.subscribe(new EventFeed.Filter(null, null, Set.of("e2")), oneEvent);
+
+        feed.onEventChange(change(EventChangeType.PARTICIPANT_JOINED, event("e1", SportType.TENNIS)));
+        feed.onEventChange(change(EventChangeType.CREATED, event("e2", SportType.BASKETBALL)));
+        flush();
+
+        assertEquals(1, tennis.sent.size());
+        assertTrue(tennis.sent.get(0).contains("event:participant_joined"));
+        assertTrue(tennis.sent.get(0).contains("\"participantCount\":2"));
+        assertFalse(tennis.sent.get(0).contains("+100"), "Phone numbers must not be pushed");
+        assertEquals(1, oneEvent.sent.size());
+        assertTrue(oneEvent.sent.get(0).contains("\"id\":\"e2\""));
+    }
+
+    @Test
+    void testReminderBookkeepingIsNotPushed() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(new EventFeed.Filter(null, null, null), emitter);
+
+        feed.onEventChange(change(EventChangeType.REMINDER_SENT, event("e1", SportType.TENNIS)));
+        flush();
+
+        assertTrue(emitter.sent.isEmpty());
+    }
+
+    @Test
+    void testSubscriberFallingBehindIsDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        feed.subscribe(new EventFeed.Filter(null, null, null), slow);
+
+        // The first update blocks in send, two more fill the queue and the fourth overflows it
+        for (int i = 0; i < 4; i++) {
+            feed.onEventChange(change(EventChangeType.PARTICIPANT_JOINED, event("e1", SportType.TENNIS)));
+        }
+
+        assertEquals(0, feed.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("event.feed.disconnects").tag("reason", "overflow").counter().count());
+        release.countDown();
+        flush();
+        assertTrue(slow.completed);
+    }
+
+    @Test
+    void testIdleSubscriberGetsAHeartbeat() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(new EventFeed.Filter(null, null, null), emitter);
+
+        feed.sendHeartbeats();
+        flush();
+
+        assertEquals(1, emitter.sent.size());
+        assertTrue(emitter.sent.get(0).startsWith(":heartbeat"));
+    }
+
+    @Test
+    void testSubscriberLimit() {
+        EventFeed small = new EventFeed(new ObjectMapper(), meterRegistry, 1, 2, 60_000, senders);
+        small.subscribe(new EventFeed.Filter(null, null, null), new RecordingEmitter());
+
+        assertThrows(IllegalStateException.class,
+                () -> small.subscribe(new EventFeed.Filter(null, null, null), new RecordingEmitter()));
+    }
+
+    private void flush() throws Exception {
+        // Single sender thread: once this runs, everything queued before it has been sent
+        senders.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static EventChange change(EventChangeType type, Event event) {
+        return EventChange.builder().type(type).event(event).build();
+    }
+
+    private static Event event(String id, SportType sportType) {
+        return Event.builder()
+                .id(id)
+                .sportType(sportType)
+                .status(EventStatus.CREATED)
+                .participantLimit(4)
+                .participantPhoneNumbers(List.of("+100", "+200"))
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+        volatile boolean completed;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.socialsports.service;
+
+import com.socialsports.model.ArchivedEvent;
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
+import com.socialsports.model.EventStatus;
+import com.socialsports.repository.EventArchiveRepository;
+import com.socialsports.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventLifecycleServiceTest {
+
+    private static final Instant NOW = Instant.parse("2030-05-06T10:00:00Z");
+    private static final LocalDateTime LOCAL_NOW = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventArchiveRepository eventArchiveRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventLifecycleService lifecycleService;
+
+    @BeforeEach
+    void setUp() {
+        lifecycleService = new EventLifecycleService(eventRepository, eventArchiveRepository, eventPublisher,
+                meterRegistry, true, Duration.ofHours(3), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFinishedEventsAreCompletedArchivedAndDeleted() {
+        Event confirmed = event("played", LOCAL_NOW.minusDays(1), EventStatus.CONFIRMED);
+        Event canceled = event("canceled", LOCAL_NOW.minusDays(40), EventStatus.CANCELED);
+        when(eventRepository.findStartedBefore(LOCAL_NOW.minusHours(3))).thenReturn(List.of(confirmed, canceled));
+        when(eventArchiveRepository.saveAll(anyCollection())).thenReturn(List.of());
+        when(eventRepository.deleteAll(anyCollection())).thenReturn(List.of());
+
+        int moved = lifecycleService.archiveFinishedEvents();
+
+        assertEquals(2, moved);
+        ArgumentCaptor<Collection<ArchivedEvent>> archived = ArgumentCaptor.forClass(Collection.class);
+        verify(eventArchiveRepository).saveAll(archived.capture());
+        List<ArchivedEvent> items = List.copyOf(archived.getValue());
+        assertEquals("2030-05", items.get(0).getArchiveMonth());
+        assertEquals(EventStatus.COMPLETED, items.get(0).getEvent().getStatus());
+        assertEquals("2030-03", items.get(1).getArchiveMonth());
+        assertEquals(EventStatus.CANCELED, items.get(1).getEvent().getStatus());
+        verify(eventRepository).deleteAll(List.of(confirmed, canceled));
+
+        ArgumentCaptor<EventChange> change = ArgumentCaptor.forClass(EventChange.class);
+        verify(eventPublisher).publishEvent(change.capture());
+        assertEquals(EventChangeType.COMPLETED, change.getValue().getType());
+        assertEquals("played", change.getValue().getEvent().getId());
+        assertEquals(2.0, meterRegistry.get("event.lifecycle.archived").counter().count());
+    }
+
+    @Test
+    void testEventsNotArchivedStayInTheHotTable() {
+        Event first = event("first", LOCAL_NOW.minusDays(1), EventStatus.CONFIRMED);
+        Event second = event("second", LOCAL_NOW.minusDays(2), EventStatus.CONFIRMED);
+        when(eventRepository.findStartedBefore(any(LocalDateTime.class))).thenReturn(List.of(first, second));
+        when(eventArchiveRepository.saveAll(anyCollection()))
+                .thenReturn(List.of(ArchivedEvent.of(second, LOCAL_NOW)));
+        when(eventRepository.deleteAll(anyCollection())).thenReturn(List.of());
+
+        int moved = lifecycleService.archiveFinishedEvents();
+
+        assertEquals(1, moved);
+        verify(eventRepository).deleteAll(List.of(first));
+    }
+
+    @Test
+    void testNothingToDo() {
+        when(eventRepository.findStartedBefore(any(LocalDateTime.class))).thenReturn(List.of());
+
+        assertEquals(0, lifecycleService.archiveFinishedEvents());
+
+        verifyNoInteractions(eventArchiveRepository, eventPublisher);
+    }
+
+    private static Event event(String id, LocalDateTime eventTime, EventStatus status) {
+        Event event = Event.builder()
+                .id(id)
+                .status(status)
+                .participantPhoneNumbers(List.of("+31600000001"))
+                .build();
+        event.setEventTime(eventTime);
+        return event;
+    }
+}
@@ -0,0 +1,76 @@
+package com.socialsports.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLockManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventLockManager locks = new EventLockManager(meterRegistry, 256);
+
+    @Test
+    void testStripeCountIsRoundedToAPowerOfTwo() {
+        assertEquals(256, locks.getStripeCount());
+        assertEquals(128, new EventLockManager(meterRegistry, 100).getStripeCount());
+        assertEquals(1, new EventLockManager(meterRegistry, 0).getStripeCount());
+    }
+
+    @Test
+    void testSameEventAlwaysMapsToTheSameStripe() {
+        assertSame(locks.stripeOf("event-1"), locks.stripeOf(new String("event-1")));
+    }
+
+    @Test
+    void testLocksAreReentrant() {
+        String result = locks.withLock("event-1", () -> locks.withLock("event-1", () -> "nested"));
+
+        assertEquals("nested", result);
+        assertFalse(locks.stripeOf("event-1").isLocked());
+        assertEquals(0.0, meterRegistry.get("event.locks.contended").counter().count());
+    }
+
+    @Test
+    void testLockIsReleasedWhenTheActionThrows() {
+        assertThrows(IllegalStateException.class, () -> locks.runWithLock("event-1", () -> {
+            throw new IllegalStateException("already canceled");
+        }));
+
+        assertFalse(locks.stripeOf("event-1").isLocked());
+    }
+
+    @Test
+    void testWaitingForAHeldLockCountsAsContention() throws Exception {
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.execute(() -> locks.runWithLock("event-1", () -> {
+            held.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        Thread waiter = new Thread(() -> locks.runWithLock("event-1", () -> { }));
+        waiter.start();
+        while (!locks.stripeOf("event-1").hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        waiter.join(5000);
+        executor.shutdown();
+
+        assertFalse(waiter.isAlive());
+        assertEquals(1.0, meterRegistry.get("event.locks.contended").counter().count());
+        assertEquals(1, meterRegistry.get("event.locks.wait").timer().count());
+    }
+}
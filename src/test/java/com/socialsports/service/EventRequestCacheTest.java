@@ -0,0 +1,154 @@
+package com.socialsports.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialsports.model.SportType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRequestCacheTest {
+
+    // Monday 2030-05-06
+    private static final Instant NOW = Instant.parse("2030-05-06T10:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(NOW);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testKeyNormalizesCaseWhitespaceAndRelativeDates() {
+        EventRequestCache cache = cache(100, null);
+
+        String key = cache.key("Padel  TOMORROW 7pm at Padel City with 3 others!");
+
+        assertEquals("padel 2030-05-07 7pm at padel city with 3 others", key);
+        assertEquals(key, cache.key("padel 2030-05-07 7pm at Padel City with 3 others"));
+        assertEquals(key, cache.key("padel on tuesday 7pm at padel city with 3 others."));
+        assertEquals("2030-05-06 padel 7pm", cache.key("Padel 7pm"));
+        assertEquals("tennis 2030-05-06 at 18:30", cache.key("tennis today at 18:30"));
+    }
+
+    @Test
+    void testNextWeekdayIsNeverToday() {
+        // The clock is on a Monday
+        EventRequestCache cache = cache(100, null);
+
+        assertEquals("padel 2030-05-06 at 7pm", cache.key("padel monday at 7pm"));
+        assertEquals("padel 2030-05-06 at 7pm", cache.key("padel on monday at 7pm"));
+        assertEquals("padel 2030-05-13 at 7pm", cache.key("padel next monday at 7pm"));
+        assertEquals("padel 2030-05-07 at 7pm", cache.key("padel next tuesday at 7pm"));
+    }
+
+    @Test
+    void testHitsMissesAndTtl() {
+        EventRequestCache cache = cache(100, null);
+        String key = cache.key("tennis tomorrow at 3pm");
+
+        assertNull(cache.get(key));
+        cache.put(key, details());
+        assertEquals(details(), cache.get(key));
+
+        clock.advance(Duration.ofHours(2));
+        assertNull(cache.get(key));
+
+        assertEquals(1.0, meterRegistry.get("llm.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("llm.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        EventRequestCache cache = cache(2, null);
+        cache.put("a", details());
+        cache.put("b", details());
+        cache.get("a");
+        cache.put("c", details());
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void testReturnedDetailsAreCopies() {
+        EventRequestCache cache = cache(100, null);
+        cache.put("a", details());
+
+        cache.get("a").put("location", "Elsewhere");
+
+        assertEquals("Central Courts", cache.get("a").get("location"));
+    }
+
+    @Test
+    void testPersistentTierSurvivesRestart() {
+        Path file = tempDir.resolve("cache/requests.ndjson");
+        EventRequestCache cache = cache(100, file);
+        cache.load();
+        cache.put("fresh", details());
+        clock.advance(Duration.ofMinutes(30));
+        cache.put("later", details());
+        cache.close();
+
+        // 31 minutes later "fresh" has expired, "later" has not
+        clock.advance(Duration.ofMinutes(31));
+        EventRequestCache restarted = cache(100, file);
+        restarted.load();
+
+        assertNull(restarted.get("fresh"));
+        assertEquals(details(), restarted.get("later"));
+        assertEquals(1, restarted.size());
+    }
+
+    private EventRequestCache cache(int maxEntries, Path persistentPath) {
+        return new EventRequestCache(meterRegistry, new ObjectMapper(), maxEntries, Duration.ofHours(1),
+                persistentPath, clock);
+    }
+
+    private static Map<String, Object> details() {
+        return Map.of(
+                "sportType", SportType.TENNIS,
+                "time", LocalDateTime.of(2030, 5, 7, 15, 0),
+                "location", "Central Courts",
+                "playerCount", 3);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.socialsports.service;
+
+import com.socialsports.model.Event;
+import com.socialsports.model.EventStatus;
+import com.socialsports.model.ReminderRunStats;
+import com.socialsports.model.User;
+import com.socialsports.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private WhatsAppService whatsAppService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        eventService = eventService(false);
+    }
+
+    @Test
+    void testReminderRunSendsAndAutoCancelsInParallel() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            events.add(event("confirmed-" + i, 1, EventStatus.CONFIRMED));
+        }
+        events.add(event("too-few-players", 1, EventStatus.CREATED));
+        events.add(event("next-week", 24 * 7, EventStatus.CONFIRMED));
+        when(eventRepository.findUpcomingEvents(any(LocalDateTime.class))).thenReturn(events);
+        stubFindByKey(events);
+        when(eventRepository.saveIfReminderNotSent(any(Event.class), anyString(), anyInt(), anyInt())).thenReturn(true);
+        when(eventRepository.saveIfParticipantsUnchanged(any(Event.class), anyInt(), anyInt())).thenReturn(true);
+
+        ReminderRunStats stats = eventService.sendEventReminders();
+
+        assertEquals(202, stats.getEventsScanned());
+        assertEquals(202, stats.getEventsProcessed());
+        // 24h and 2h reminders are both due an hour before the event
+        assertEquals(400, stats.getRemindersSent());
+        assertEquals(1, stats.getEventsAutoCanceled());
+        assertEquals(0, stats.getFailures());
+        verify(whatsAppService, times(400)).sendEventReminder(any(Event.class), anyString());
+        verify(whatsAppService).sendEventCancellationNotification(argThat(e -> e.getId().equals("too-few-players")),
+                anyString());
+        assertEquals(400.0, meterRegistry.get("event.reminders").tag("outcome", "sent").counter().count());
+        // Due events are re-read by key, never by scanning the table again
+        verify(eventRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testFailingEventDoesNotAbortTheRun() {
+        Event broken = event("broken", 1, EventStatus.CONFIRMED);
+        Event healthy = event("healthy", 1, EventStatus.CONFIRMED);
+        when(eventRepository.findUpcomingEvents(any(LocalDateTime.class))).thenReturn(List.of(broken, healthy));
+        stubFindByKey(List.of(broken, healthy));
+        when(eventRepository.saveIfReminderNotSent(any(Event.class), anyString(), anyInt(), anyInt())).thenReturn(true);
+        when(eventRepository.saveIfParticipantsUnchanged(any(Event.class), anyInt(), anyInt())).thenReturn(true);
+        lenient().doThrow(new IllegalStateException("Graph API down")).when(whatsAppService)
+                .sendEventReminder(argThat(e -> e.getId().equals("broken")), anyString());
+
+        ReminderRunStats stats = eventService.sendEventReminders();
+
+        assertEquals(1, stats.getFailures());
+        assertEquals(2, stats.getRemindersSent());
+        verify(whatsAppService).sendEventReminder(argThat(e -> e.getId().equals("healthy")), eq(EventService.REMINDER_24H));
+        verify(whatsAppService).sendEventReminder(argThat(e -> e.getId().equals("healthy")), eq(EventService.REMINDER_2H));
+        // The failed reminder is released for the next run
+        verify(eventRepository).saveIfParticipantsUnchanged(argThat(e -> e.getId().equals("broken")
+                && !e.getRemindersSent().get(EventService.REMINDER_24H)), eq(2), eq(0));
+    }
+
+    @Test
+    void testReminderClaimedByAnotherNodeIsNotSent() {
+        List<Event> events = List.of(event("e1", 1, EventStatus.CONFIRMED));
+        when(eventRepository.findUpcomingEvents(any(LocalDateTime.class))).thenReturn(events);
+        stubFindByKey(events);
+        when(eventRepository.saveIfReminderNotSent(any(Event.class), anyString(), anyInt(), anyInt())).thenReturn(false);
+
+        ReminderRunStats stats = eventService.sendEventReminders();
+
+        assertEquals(0, stats.getRemindersSent());
+        verify(whatsAppService, never()).sendEventReminder(any(Event.class), anyString());
+    }
+
+    @Test
+    void testReminderRunActsOnTheCurrentEvent() {
+        Event scanned = event("e1", 1, EventStatus.CREATED);
+        // Someone joined after the scan read the event: it must not be auto-canceled
+        Event current = event("e1", 1, EventStatus.CONFIRMED);
+        when(eventRepository.findUpcomingEvents(any(LocalDateTime.class))).thenReturn(List.of(scanned));
+        stubFindByKey(List.of(current));
+        when(eventRepository.saveIfReminderNotSent(any(Event.class), anyString(), anyInt(), anyInt())).thenReturn(true);
+
+        ReminderRunStats stats = eventService.sendEventReminders();
+
+        assertEquals(0, stats.getEventsAutoCanceled());
+        assertEquals(2, stats.getRemindersSent());
+        verify(whatsAppService, never()).sendEventCancellationNotification(any(Event.class), anyString());
+    }
+
+    @Test
+    void testCancelIsRetriedOnTheCurrentEventAfterAConcurrentJoin() {
+        Event read = openEvent("open", 4);
+        // Another node committed a join between our read and our write
+        Event current = copy(read);
+        current.setParticipantPhoneNumbers(List.of("+31600000001", "+31610000009"));
+        when(eventRepository.findById("open")).thenReturn(Optional.of(read));
+        when(eventRepository.findByKey("open", read.getEventTimeString())).thenReturn(Optional.of(current));
+        when(eventRepository.saveIfParticipantsUnchanged(any(Event.class), eq(1), eq(0))).thenReturn(false);
+        when(eventRepository.saveIfParticipantsUnchanged(any(Event.class), eq(2), eq(0))).thenReturn(true);
+
+        Event canceled = eventService.cancelEvent("open", "Court closed");
+
+        assertEquals(EventStatus.CANCELED, canceled.getStatus());
+        // The joiner is kept, and hears about the cancellation
+        assertEquals(List.of("+31600000001", "+31610000009"), canceled.getParticipantPhoneNumbers());
+        verify(whatsAppService, times(1)).sendEventCancellationNotification(any(Event.class), anyString());
+        verify(whatsAppService).sendEventCancellationNotification(current, "Court closed");
+    }
+
+    @Test
+    void testConcurrentJoinsFillTheEventExactly() throws Exception {
+        Map<String, Event> table = useTable(openEvent("open", 4));
+        when(whatsAppService.createWhatsAppGroup(anyString(), anyList())).thenReturn("group-1");
+
+        int joiners = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(joiners);
+        for (int i = 0; i < joiners; i++) {
+            String user = "+3161000000" + i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    eventService.joinEvent("open", user);
+                    joined.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    assertEquals("This event is already full", e.getMessage());
+                    full.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Creator plus three joiners fill the four seats; nobody's join is lost
+        assertEquals(3, joined.get());
+        assertEquals(5, full.get());
+        assertEquals(4, table.get("open").getParticipantPhoneNumbers().size());
+        assertEquals(EventStatus.CONFIRMED, table.get("open").getStatus());
+        verify(whatsAppService, times(1)).createWhatsAppGroup(anyString(), anyList());
+        verify(whatsAppService, times(3)).sendEventJoinConfirmation(any(Event.class), anyString());
+    }
+
+    @Test
+    void testWaitlistedUserIsPromotedWhenSomeoneLeaves() {
+        eventService = eventService(true);
+        Map<String, Event> table = useTable(openEvent("open", 2));
+        when(whatsAppService.createWhatsAppGroup(anyString(), anyList())).thenReturn("group-1");
+
+        eventService.joinEvent("open", "+31610000001");
+        Event waitlisted = eventService.joinEvent("open", "+31610000002");
+
+        assertEquals(List.of("+31600000001", "+31610000001"), waitlisted.getParticipantPhoneNumbers());
+        assertEquals(List.of("+31610000002"), waitlisted.getWaitlistPhoneNumbers());
+        verify(whatsAppService).sendTextMessage(eq("+31610000002"), contains("number 1 on the waitlist"));
+
+        eventService.leaveEvent("open", "+31610000001");
+
+        assertEquals(List.of("+31600000001", "+31610000002"), table.get("open").getParticipantPhoneNumbers());
+        assertEquals(List.of(), table.get("open").getWaitlistPhoneNumbers());
+        verify(whatsAppService).sendEventJoinConfirmation(any(Event.class), eq("+31610000002"));
+    }
+
+    @Test
+    void testLeavingTheWaitlistByUserId() {
+        Event event = openEvent("open", 2);
+        event.setParticipantPhoneNumbers(List.of("user-1", "user-3"));
+        event.setWaitlistPhoneNumbers(List.of("user-2"));
+        when(eventRepository.findById("open")).thenReturn(Optional.of(event));
+        when(eventRepository.saveIfParticipantsUnchanged(any(Event.class), eq(2), eq(1))).thenReturn(true);
+        when(userService.getUserById("user-2"))
+                .thenReturn(Optional.of(User.builder().userId("user-2").phoneNumber("+31610000002").build()));
+
+        eventService.leaveEvent("open", "user-2");
+
+        verify(eventRepository).saveIfParticipantsUnchanged(argThat(e -> e.getWaitlistPhoneNumbers().isEmpty()
+                && e.getParticipantPhoneNumbers().equals(List.of("user-1", "user-3"))), eq(2), eq(1));
+        verify(whatsAppService).sendTextMessage(eq("+31610000002"), contains("left the waitlist"));
+    }
+
+    /**
+     * Backs the repository with a map; each read returns a fresh copy, as DynamoDB would
+     */
+    private Map<String, Event> useTable(Event... events) {
+        Map<String, Event> table = new ConcurrentHashMap<>();
+        for (Event event : events) {
+            table.put(event.getId(), event);
+        }
+        when(eventRepository.findById(anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(table.get(inv.getArgument(0, String.class))).map(EventServiceTest::copy));
+        lenient().when(eventRepository.findByKey(anyString(), anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(table.get(inv.getArgument(0, String.class))).map(EventServiceTest::copy));
+        lenient().when(eventRepository.save(any(Event.class))).thenAnswer(inv -> {
+            Event saved = copy(inv.getArgument(0));
+            table.put(saved.getId(), saved);
+            return saved;
+        });
+        when(eventRepository.saveIfParticipantsUnchanged(any(Event.class), anyInt(), anyInt())).thenAnswer(inv -> {
+            Event saved = copy(inv.getArgument(0));
+            synchronized (table) {
+                Event stored = table.get(saved.getId());
+                if (stored.getParticipantPhoneNumbers().size() != inv.getArgument(1, Integer.class)) {
+                    return false;
+                }
+                table.put(saved.getId(), saved);
+                return true;
+            }
+        });
+        when(userService.getUserById(anyString()))
+                .thenAnswer(inv -> Optional.of(User.builder().phoneNumber(inv.getArgument(0)).build()));
+        return table;
+    }
+
+    private EventService eventService(boolean waitlist) {
+        ShardLeaseManager singleNode = new ShardLeaseManager(null, false, 16, 30_000, "test-node", Clock.systemUTC());
+        JoinAdmissionQueue admission = new JoinAdmissionQueue(eventRepository, meterRegistry, true, waitlist,
+                Duration.ofSeconds(5), 100, Clock.systemUTC());
+        EventService service = new EventService(eventRepository, userService, whatsAppService, eventPublisher,
+                singleNode, meterRegistry, new EventLockManager(meterRegistry, 256), admission);
+        ReflectionTestUtils.setField(service, "reminderConcurrency", 8);
+        return service;
+    }
+
+    private static Event openEvent(String id, int limit) {
+        Event event = event(id, 24 * 3, EventStatus.CREATED);
+        event.setCreatorPhoneNumber("+31600000001");
+        event.setParticipantPhoneNumbers(List.of("+31600000001"));
+        event.setParticipantLimit(limit);
+        return event;
+    }
+
+    private void stubFindByKey(List<Event> events) {
+        when(eventRepository.findByKey(anyString(), anyString())).thenAnswer(inv -> events.stream()
+                .filter(event -> event.getId().equals(inv.getArgument(0)))
+                .findFirst());
+    }
+
+    private static Event copy(Event event) {
+        return Event.builder()
+                .id(event.getId())
+                .eventTime(event.getEventTime())
+                .status(event.getStatus())
+                .creatorPhoneNumber(event.getCreatorPhoneNumber())
+                .participantPhoneNumbers(new ArrayList<>(event.getParticipantPhoneNumbers()))
+                .waitlistPhoneNumbers(event.getWaitlistPhoneNumbers() == null
+                        ? null : new ArrayList<>(event.getWaitlistPhoneNumbers()))
+                .participantLimit(event.getParticipantLimit())
+                .whatsappGroupId(event.getWhatsappGroupId())
+                .remindersSent(new HashMap<>(event.getRemindersSent()))
+                .build();
+    }
+
+    private static Event event(String id, int startsInHours, EventStatus status) {
+        Map<String, Boolean> remindersSent = new HashMap<>();
+        remindersSent.put(EventService.REMINDER_24H, false);
+        remindersSent.put(EventService.REMINDER_2H, false);
+        return Event.builder()
+                .id(id)
+                .eventTime(LocalDateTime.now().plusHours(startsInHours))
+                .status(status)
+                .participantPhoneNumbers(List.of("+31600000001", "+31600000002"))
+                .remindersSent(remindersSent)
+                .build();
+    }
+}
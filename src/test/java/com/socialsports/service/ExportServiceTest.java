@@ -0,0 +1,104 @@
+package com.socialsports.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.socialsports.model.Event;
+import com.socialsports.model.User;
+import com.socialsports.repository.EventRepository;
+import com.socialsports.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(eventRepository, userRepository, objectMapper, meterRegistry, 100);
+    }
+
+    @Test
+    void testEventsAreWrittenOnePerLine() throws Exception {
+        when(eventRepository.streamAll(null, 100)).thenReturn(Stream.of(
+                Event.builder().id("e1").location("Court 1").build(),
+                Event.builder().id("e2").location("Court 2").build()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportEvents(null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertEquals("e1", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("Court 2", objectMapper.readTree(lines[1]).get("location").asText());
+        assertEquals("", lines[2]);
+        assertEquals(2.0, meterRegistry.get("export.records").tag("type", "events").counter().count());
+    }
+
+    @Test
+    void testSinceIsPassedToTheScan() throws Exception {
+        LocalDateTime since = LocalDateTime.parse("2030-05-06T10:00:00");
+        when(userRepository.streamAll(since, 100)).thenReturn(Stream.of(
+                User.builder().userId("u1").updatedAt(since.plusHours(1)).build()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportUsers(since, out);
+
+        JsonNode user = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertEquals("u1", user.get("userId").asText());
+    }
+
+    @Test
+    void testEmptyExportWritesNothingAndClosesTheScan() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(eventRepository.streamAll(null, 100)).thenReturn(Stream.<Event>empty().onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportEvents(null, out));
+
+        assertEquals(0, out.size());
+        assertTrue(closed.get());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testOutputStreamIsLeftOpenForTheCaller() throws Exception {
+        when(eventRepository.streamAll(null, 100)).thenReturn(Stream.of(Event.builder().id("e1").build()));
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        exportService.exportEvents(null, out);
+
+        assertFalse(closed.get());
+        assertEquals("e1", objectMapper.readTree(out.toString(StandardCharsets.UTF_8)).get("id").asText());
+    }
+}
@@ -0,0 +1,118 @@
+package com.socialsports.service;
+
+import com.socialsports.model.IdempotencyRecord;
+import com.socialsports.repository.IdempotencyRepository;
+import com.socialsports.service.IdempotencyService.Claim;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final Instant NOW = Instant.parse("2030-05-06T10:00:00Z");
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(idempotencyRepository, meterRegistry, true, Duration.ofHours(24),
+                Duration.ofSeconds(60), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testFirstUseOfAKeyIsAcquired() {
+        when(idempotencyRepository.tryStart(any(), anyLong(), anyLong())).thenReturn(true);
+
+        assertEquals(Claim.Status.ACQUIRED, service.begin("u1:key", "hash").status());
+
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRepository).tryStart(record.capture(), eq(NOW.getEpochSecond()),
+                eq(NOW.toEpochMilli() - 60_000));
+        assertEquals(IdempotencyRecord.IN_PROGRESS, record.getValue().getState());
+        assertEquals(NOW.plus(Duration.ofHours(24)).getEpochSecond(), record.getValue().getExpiresAt());
+    }
+
+    @Test
+    void testCompletedKeyIsReplayed() {
+        IdempotencyRecord stored = completed("hash");
+        when(idempotencyRepository.tryStart(any(), anyLong(), anyLong())).thenReturn(false);
+        when(idempotencyRepository.findByKey("u1:key")).thenReturn(Optional.of(stored));
+
+        Claim claim = service.begin("u1:key", "hash");
+
+        assertEquals(Claim.Status.REPLAY, claim.status());
+        assertSame(stored, claim.stored());
+        assertEquals(1.0, meterRegistry.get("idempotency.requests").tag("outcome", "replay").counter().count());
+    }
+
+    @Test
+    void testKeyReusedForAnotherRequestIsAMismatch() {
+        when(idempotencyRepository.tryStart(any(), anyLong(), anyLong())).thenReturn(false);
+        when(idempotencyRepository.findByKey("u1:key")).thenReturn(Optional.of(completed("other")));
+
+        assertEquals(Claim.Status.MISMATCH, service.begin("u1:key", "hash").status());
+    }
+
+    @Test
+    void testRunningRequestIsInProgress() {
+        IdempotencyRecord running = IdempotencyRecord.builder()
+                .idempotencyKey("u1:key")
+                .requestHash("hash")
+                .state(IdempotencyRecord.IN_PROGRESS)
+                .build();
+        when(idempotencyRepository.tryStart(any(), anyLong(), anyLong())).thenReturn(false);
+        when(idempotencyRepository.findByKey("u1:key")).thenReturn(Optional.of(running));
+
+        assertEquals(Claim.Status.IN_PROGRESS, service.begin("u1:key", "hash").status());
+    }
+
+    @Test
+    void testKeyReleasedMeanwhileIsClaimedAgain() {
+        when(idempotencyRepository.tryStart(any(), anyLong(), anyLong())).thenReturn(false, true);
+        when(idempotencyRepository.findByKey("u1:key")).thenReturn(Optional.empty());
+
+        assertEquals(Claim.Status.ACQUIRED, service.begin("u1:key", "hash").status());
+        verify(idempotencyRepository, times(2)).tryStart(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testCompleteStoresTheResponse() {
+        service.complete("u1:key", "hash", 201, "application/json", "{\"id\":\"e1\"}");
+
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRepository).save(record.capture());
+        assertEquals(IdempotencyRecord.COMPLETED, record.getValue().getState());
+        assertEquals(201, record.getValue().getResponseStatus());
+        assertEquals("{\"id\":\"e1\"}", record.getValue().getResponseBody());
+    }
+
+    private static IdempotencyRecord completed(String requestHash) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey("u1:key")
+                .requestHash(requestHash)
+                .state(IdempotencyRecord.COMPLETED)
+                .responseStatus(201)
+                .contentType("application/json")
+                .responseBody("{\"id\":\"e1\"}")
+                .build();
+    }
+}
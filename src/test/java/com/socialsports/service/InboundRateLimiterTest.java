@@ -0,0 +1,106 @@
+package com.socialsports.service;
+
+import com.socialsports.service.InboundRateLimiter.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InboundRateLimiterTest {
+
+    private AtomicLong nanos;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong(0);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testSenderIsThrottledOnceThenDropped() {
+        InboundRateLimiter limiter = limiter(2, 1, 100, 100, 1000);
+
+        assertEquals(Decision.ALLOW, limiter.check("+111"));
+        assertEquals(Decision.ALLOW, limiter.check("+111"));
+        assertEquals(Decision.THROTTLE, limiter.check("+111"));
+        assertEquals(Decision.DROP, limiter.check("+111"));
+
+        // Other senders are unaffected
+        assertEquals(Decision.ALLOW, limiter.check("+222"));
+        assertEquals(2.0, meterRegistry.get("webhook.messages.rate_limited").tag("scope", "sender").counter().count());
+    }
+
+    @Test
+    void testSenderRecoversAfterRefill() {
+        InboundRateLimiter limiter = limiter(1, 1, 100, 100, 1000);
+
+        assertEquals(Decision.ALLOW, limiter.check("+111"));
+        assertEquals(Decision.THROTTLE, limiter.check("+111"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(Decision.ALLOW, limiter.check("+111"));
+
+        // A new burst gets a fresh throttle notice
+        assertEquals(Decision.THROTTLE, limiter.check("+111"));
+    }
+
+    @Test
+    void testGlobalLimitAppliesAcrossSenders() {
+        InboundRateLimiter limiter = limiter(10, 1, 2, 1, 1000);
+
+        assertEquals(Decision.ALLOW, limiter.check("+111"));
+        assertEquals(Decision.ALLOW, limiter.check("+222"));
+        // Shed without a throttle notice, however often it happens
+        assertEquals(Decision.SHED, limiter.check("+333"));
+        assertEquals(Decision.SHED, limiter.check("+333"));
+        assertEquals(2.0, meterRegistry.get("webhook.messages.rate_limited").tag("scope", "global").counter().count());
+        assertEquals(0.0, meterRegistry.get("webhook.messages.rate_limited").tag("scope", "sender").counter().count());
+    }
+
+    @Test
+    void testGlobalRejectionDoesNotSpendTheSendersToken() {
+        // One message per sender, which barely refills
+        InboundRateLimiter limiter = limiter(1, 0.001, 1, 1, 1000);
+
+        assertEquals(Decision.ALLOW, limiter.check("+111"));
+        assertEquals(Decision.SHED, limiter.check("+222"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(Decision.ALLOW, limiter.check("+222"));
+    }
+
+    @Test
+    void testIdleSendersAreEvicted() {
+        InboundRateLimiter limiter = limiter(10, 1, 100, 100, 1000);
+        limiter.check("+111");
+        limiter.check("+222");
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        limiter.check("+333");
+        limiter.evictIdleSenders();
+
+        assertEquals(1, limiter.trackedSenders());
+    }
+
+    @Test
+    void testTrackedSendersAreBounded() {
+        InboundRateLimiter limiter = limiter(10, 1, 100_000, 100_000, 128);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.check("+" + i);
+        }
+
+        assertTrue(limiter.trackedSenders() <= 128);
+    }
+
+    private InboundRateLimiter limiter(double senderCapacity, double senderRefillPerSecond,
+                                       double globalCapacity, double globalRefillPerSecond, int maxSenders) {
+        return new InboundRateLimiter(meterRegistry, senderCapacity, senderRefillPerSecond,
+                globalCapacity, globalRefillPerSecond, maxSenders, TimeUnit.MINUTES.toNanos(10), nanos::get);
+    }
+}
@@ -0,0 +1,302 @@
+package com.socialsports.service;
+
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
+import com.socialsports.model.EventStatus;
+import com.socialsports.repository.EventRepository;
+import com.socialsports.service.JoinAdmissionQueue.JoinRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JoinAdmissionQueueTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testFullEventIsRejectedWithoutCommitting() {
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event("e1", 2, "u1", "u2")));
+        JoinAdmissionQueue queue = queue(false);
+
+        for (String user : List.of("u3", "u4", "u5")) {
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> queue.join("e1", user, batch -> fail("Full event must not be committed")));
+            assertEquals("This event is already full", e.getMessage());
+        }
+
+        // The capacity view is loaded once
+        verify(eventRepository, times(1)).findById("e1");
+        assertEquals(3.0, meterRegistry.get("event.admission.rejected").tag("reason", "full").counter().count());
+    }
+
+    @Test
+    void testClosedEventAndDuplicateJoinAreRejected() {
+        Event canceled = event("e1", 4, "u1");
+        canceled.setStatus(EventStatus.CANCELED);
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(canceled));
+        when(eventRepository.findById("e2")).thenReturn(Optional.of(event("e2", 4, "u1")));
+        JoinAdmissionQueue queue = queue(false);
+
+        assertThrows(IllegalStateException.class, () -> queue.join("e1", "u2", batch -> fail("Closed")));
+        IllegalStateException duplicate = assertThrows(IllegalStateException.class,
+                () -> queue.join("e2", "u1", batch -> fail("Duplicate")));
+        assertEquals("You are already a participant in this event", duplicate.getMessage());
+    }
+
+    @Test
+    void testJoinsArrivingDuringACommitAreCommittedTogether() throws Exception {
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event("e1", 10, "u0")));
+        JoinAdmissionQueue queue = queue(false);
+
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch firstCommitStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        Function<List<JoinRequest>, Event> commit = batch -> {
+            List<String> users = batch.stream().map(JoinRequest::getUserId).toList();
+            batches.add(users);
+            if (batches.size() == 1) {
+                firstCommitStarted.countDown();
+                await(releaseFirstCommit);
+            }
+            List<String> participants = new ArrayList<>(List.of("u0"));
+            batches.forEach(participants::addAll);
+            return event("e1", 10, participants.toArray(String[]::new));
+        };
+
+        Thread leader = new Thread(() -> queue.join("e1", "u1", commit));
+        leader.start();
+        assertTrue(firstCommitStarted.await(5, TimeUnit.SECONDS));
+
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 2; i <= 5; i++) {
+            String user = "u" + i;
+            Thread follower = new Thread(() -> queue.join("e1", user, commit));
+            followers.add(follower);
+            follower.start();
+        }
+        // Followers park on their results once queued
+        for (Thread follower : followers) {
+            while (follower.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+        }
+        releaseFirstCommit.countDown();
+        leader.join(5000);
+        for (Thread follower : followers) {
+            follower.join(5000);
+        }
+
+        assertEquals(2, batches.size());
+        assertEquals(List.of("u1"), batches.get(0));
+        assertEquals(List.of("u2", "u3", "u4", "u5"), batches.get(1).stream().sorted().toList());
+        assertEquals(5.0, meterRegistry.get("event.admission.committed_joins").counter().count());
+    }
+
+    @Test
+    void testLastSeatIsAdmittedAfterTheCommitPublishedItsChange() throws Exception {
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event("e1", 3, "u1")));
+        JoinAdmissionQueue queue = queue(false);
+
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch changePublished = new CountDownLatch(1);
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        Function<List<JoinRequest>, Event> commit = batch -> {
+            batches.add(batch.stream().map(JoinRequest::getUserId).toList());
+            List<String> participants = new ArrayList<>(List.of("u1"));
+            batches.forEach(participants::addAll);
+            Event joined = event("e1", 3, participants.toArray(String[]::new));
+            if (batches.size() == 1) {
+                // EventService publishes the joined event before the commit returns
+                queue.onEventChange(EventChange.builder()
+                        .type(EventChangeType.PARTICIPANT_JOINED)
+                        .event(joined)
+                        .build());
+                changePublished.countDown();
+                await(releaseCommit);
+            }
+            return joined;
+        };
+
+        Thread leader = new Thread(() -> queue.join("e1", "u2", commit));
+        leader.start();
+        assertTrue(changePublished.await(5, TimeUnit.SECONDS));
+        Thread last = new Thread(() -> queue.join("e1", "u3", commit));
+        last.start();
+        while (last.getState() != Thread.State.WAITING && last.isAlive()) {
+            Thread.onSpinWait();
+        }
+        releaseCommit.countDown();
+        leader.join(5000);
+        last.join(5000);
+
+        assertEquals(List.of(List.of("u2"), List.of("u3")), batches);
+        assertNull(meterRegistry.find("event.admission.rejected").tag("reason", "full").counter());
+    }
+
+    @Test
+    void testChangeDuringACommitKeepsTheBatchAsMembers() throws Exception {
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event("e1", 4, "u1")));
+        JoinAdmissionQueue queue = queue(false);
+
+        CountDownLatch changePublished = new CountDownLatch(1);
+        CountDownLatch releaseCommit = new CountDownLatch(1);
+        Thread leader = new Thread(() -> queue.join("e1", "u2", batch -> {
+            // A change from elsewhere that does not include the join being committed
+            queue.onEventChange(EventChange.builder()
+                    .type(EventChangeType.PARTICIPANT_LEFT)
+                    .event(event("e1", 4, "u1"))
+                    .build());
+            changePublished.countDown();
+            await(releaseCommit);
+            return event("e1", 4, "u1", "u2");
+        }));
+        leader.start();
+        assertTrue(changePublished.await(5, TimeUnit.SECONDS));
+
+        IllegalStateException duplicate = assertThrows(IllegalStateException.class,
+                () -> queue.join("e1", "u2", batch -> fail("Duplicate")));
+        assertEquals("You are already a participant in this event", duplicate.getMessage());
+        releaseCommit.countDown();
+        leader.join(5000);
+    }
+
+    @Test
+    void testViewIsLoadedWithoutBlockingChangeNotifications() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(eventRepository.findById("e1")).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            return Optional.of(event("e1", 2, "u1", "u2"));
+        });
+        JoinAdmissionQueue queue = queue(false);
+        Thread joiner = new Thread(() -> queue.join("e1", "u3", batch -> event("e1", 2, "u1", "u3")));
+        joiner.start();
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        // Returns while the load is still in progress
+        queue.onEventChange(EventChange.builder()
+                .type(EventChangeType.PARTICIPANT_LEFT)
+                .event(event("e1", 2, "u1"))
+                .build());
+        releaseLoad.countDown();
+        joiner.join(5000);
+
+        // The older load does not overwrite the newer view, so u3 got the free seat
+        assertNull(meterRegistry.find("event.admission.rejected").tag("reason", "full").counter());
+    }
+
+    @Test
+    void testCommitFailureFailsTheBatchAndReloadsTheView() {
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event("e1", 4, "u1")));
+        JoinAdmissionQueue queue = queue(false);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> queue.join("e1", "u2", batch -> {
+            throw new IllegalStateException("This event is changing quickly, please try again");
+        }));
+        assertEquals("This event is changing quickly, please try again", e.getMessage());
+
+        Event joined = queue.join("e1", "u2", batch -> event("e1", 4, "u1", "u2"));
+        assertEquals(List.of("u1", "u2"), joined.getParticipantPhoneNumbers());
+        verify(eventRepository, times(2)).findById("e1");
+    }
+
+    @Test
+    void testViewIsReloadedByKeyOnceTheEventIsKnown() {
+        Event stored = event("e1", 4, "u1");
+        stored.setEventTime(LocalDateTime.of(2030, 5, 6, 18, 30));
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(stored));
+        when(eventRepository.findByKey("e1", "2030-05-06T18:30:00")).thenReturn(Optional.of(stored));
+        JoinAdmissionQueue queue = queue(false);
+
+        assertThrows(IllegalStateException.class, () -> queue.join("e1", "u2", batch -> {
+            throw new IllegalStateException("This event is changing quickly, please try again");
+        }));
+        queue.join("e1", "u2", batch -> event("e1", 4, "u1", "u2"));
+
+        verify(eventRepository, times(1)).findById("e1");
+        verify(eventRepository).findByKey("e1", "2030-05-06T18:30:00");
+    }
+
+    @Test
+    void testViewFollowsEventChanges() {
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event("e1", 2, "u1", "u2")));
+        JoinAdmissionQueue queue = queue(false);
+        assertThrows(IllegalStateException.class, () -> queue.join("e1", "u3", batch -> fail("Full")));
+
+        queue.onEventChange(EventChange.builder()
+                .type(EventChangeType.PARTICIPANT_LEFT)
+                .event(event("e1", 2, "u1"))
+                .build());
+
+        Event joined = queue.join("e1", "u3", batch -> event("e1", 2, "u1", "u3"));
+        assertEquals(List.of("u1", "u3"), joined.getParticipantPhoneNumbers());
+    }
+
+    @Test
+    void testFullEventGoesToTheCommitWithWaitlist() {
+        when(eventRepository.findById("e1")).thenReturn(Optional.of(event("e1", 2, "u1", "u2")));
+        JoinAdmissionQueue queue = queue(true);
+
+        Event waitlisted = event("e1", 2, "u1", "u2");
+        waitlisted.setWaitlistPhoneNumbers(List.of("u3"));
+        assertSame(waitlisted, queue.join("e1", "u3", batch -> waitlisted));
+    }
+
+    @Test
+    void testDisabledQueueCommitsEachJoinDirectly() {
+        JoinAdmissionQueue queue = new JoinAdmissionQueue(eventRepository, meterRegistry, false, false,
+                Duration.ofSeconds(5), 100, Clock.systemUTC());
+
+        Event joined = queue.join("e1", "u2", batch -> {
+            assertEquals(1, batch.size());
+            return event("e1", 4, "u1", "u2");
+        });
+
+        assertEquals(2, joined.getParticipantPhoneNumbers().size());
+        verifyNoInteractions(eventRepository);
+    }
+
+    private JoinAdmissionQueue queue(boolean waitlist) {
+        return new JoinAdmissionQueue(eventRepository, meterRegistry, true, waitlist, Duration.ofMinutes(1), 100,
+                Clock.systemUTC());
+    }
+
+    private static Event event(String id, int limit, String... participants) {
+        return Event.builder()
+                .id(id)
+                .status(EventStatus.CREATED)
+                .participantLimit(limit)
+                .participantPhoneNumbers(List.of(participants))
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
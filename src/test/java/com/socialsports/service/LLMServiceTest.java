@@ -1,14 +1,32 @@
 package com.socialsports.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.socialsports.model.SportType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -16,18 +34,27 @@ import static org.mockito.Mockito.when;
 
 class LLMServiceTest {
 
-    private LLMService llmService;
+    private static final String TENNIS_MESSAGE = "I want to play tennis at Central Courts with 3 other people tomorrow at 3pm";
+
+    // Confidence no local extraction reaches, so every request goes to the API
+    private static final double ALWAYS_ESCALATE = 1.1;
+
     private LLMService mockLlmService;
+    private HttpServer server;
 
     @BeforeEach
     void setUp() {
-        // Real implementation for method-level tests
-        llmService = new LLMService("dummy-api-key");
-        
         // Mock implementation for natural language parsing tests
         mockLlmService = Mockito.mock(LLMService.class);
     }
 
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
     @Test
     void testParseNaturalLanguageEventRequest_Tennis() {
         // Create expected result for tennis scenario
@@ -85,21 +112,219 @@ class LLMServiceTest {
     }
 
     @Test
-    void testParseTimeString() {
-        // Using reflection to test private method
-        LocalDateTime result = (LocalDateTime) ReflectionTestUtils.invokeMethod(llmService, "parseTimeString", "3:30pm");
-        
-        assertNotNull(result);
-        assertEquals(15, result.getHour());
-        assertEquals(30, result.getMinute());
+    void testConfidentLocalExtractionSkipsApi() {
+        AtomicInteger calls = new AtomicInteger();
+        LLMService service = serviceAgainst(exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 200, completion("{}"));
+        }, Duration.ofSeconds(2), 4, 0.8);
+
+        CompletableFuture<Map<String, Object>> confident = service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE);
+        Map<String, Object> vague = service.parseNaturalLanguageEventRequestAsync("anyone up for a game later?").join();
+
+        assertTrue(confident.isDone());
+        assertEquals(SportType.TENNIS, confident.join().get("sportType"));
+        assertEquals("Central Courts", confident.join().get("location"));
+        assertTrue(vague.isEmpty());
+        assertEquals(1, calls.get());
     }
 
     @Test
-    void testParseTimeString_24HourFormat() {
-        LocalDateTime result = (LocalDateTime) ReflectionTestUtils.invokeMethod(llmService, "parseTimeString", "15:30");
-        
-        assertNotNull(result);
-        assertEquals(15, result.getHour());
-        assertEquals(30, result.getMinute());
+    void testParseWithChatCompletion() {
+        AtomicInteger calls = new AtomicInteger();
+        LLMService service = serviceAgainst(exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 200, completion(
+                    "```json\\n{\\\"sportType\\\":\\\"tennis\\\",\\\"time\\\":\\\"2030-05-01T15:00\\\",\\\"location\\\":null,\\\"playerCount\\\":3}\\n```"));
+        }, Duration.ofSeconds(2), 4);
+
+        Map<String, Object> result = service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE).join();
+
+        assertEquals(1, calls.get());
+        assertEquals(SportType.TENNIS, result.get("sportType"));
+        assertEquals(LocalDateTime.of(2030, 5, 1, 15, 0), result.get("time"));
+        assertEquals(3, result.get("playerCount"));
+        // Left out by the model, filled in by the local extractor
+        assertEquals("Central Courts", result.get("location"));
+    }
+
+    @Test
+    void testRepeatPhrasingIsAnsweredFromCache() {
+        AtomicInteger calls = new AtomicInteger();
+        LLMService service = serviceAgainst(exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 200, completion("{\\\"sportType\\\":\\\"TENNIS\\\",\\\"playerCount\\\":3}"));
+        }, Duration.ofSeconds(2), 4);
+
+        Map<String, Object> first = service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE).join();
+        CompletableFuture<Map<String, Object>> second =
+                service.parseNaturalLanguageEventRequestAsync("  " + TENNIS_MESSAGE.toUpperCase() + "!");
+
+        assertTrue(second.isDone());
+        assertEquals(first, second.join());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testFallbackResultsAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        LLMService service = serviceAgainst(exchange -> {
+            calls.incrementAndGet();
+            respond(exchange, 500, "{}");
+        }, Duration.ofSeconds(2), 4);
+
+        service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE).join();
+        service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE).join();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testBurstIsSentAsOneBatchAndFannedOut() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AtomicInteger calls = new AtomicInteger();
+        String url = startServer(exchange -> {
+            calls.incrementAndGet();
+            // Answer each message with its position as the player count
+            JsonNode request = objectMapper.readTree((String) exchange.getAttribute("body"));
+            JsonNode messages = objectMapper.readTree(request.path("messages").path(1).path("content").asText());
+            StringBuilder results = new StringBuilder();
+            for (int i = 0; i < messages.size(); i++) {
+                results.append(i == 0 ? "" : ",").append("{\\\"playerCount\\\":").append(i + 1).append('}');
+            }
+            respond(exchange, 200, completion("{\\\"results\\\":[" + results + "]}"));
+        });
+        LLMService service = new LLMService(LLMService.Settings.builder()
+                .apiKey("test-key")
+                .apiUrl(url)
+                .minLocalConfidence(ALWAYS_ESCALATE)
+                .batchWindow(Duration.ofMillis(100))
+                .batchMaxSize(8)
+                .build(), objectMapper, cache());
+
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+        for (String message : List.of("anyone for tennis?", "padel later maybe", "football anyone")) {
+            futures.add(service.parseNaturalLanguageEventRequestAsync(message));
+        }
+
+        assertEquals(1, futures.get(0).join().get("playerCount"));
+        assertEquals(2, futures.get(1).join().get("playerCount"));
+        assertEquals(3, futures.get(2).join().get("playerCount"));
+        assertEquals(SportType.PADEL, futures.get(1).join().get("sportType"));
+        assertEquals(1, calls.get());
+        service.shutdown();
+    }
+
+    @Test
+    void testFallsBackToRegexOnTimeout() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        LLMService service = serviceAgainst(exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, completion("{}"));
+        }, Duration.ofMillis(200), 4);
+
+        long start = System.nanoTime();
+        Map<String, Object> result = service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertTrue(elapsedMillis < 2_000, "took " + elapsedMillis + "ms");
+        assertEquals(SportType.TENNIS, result.get("sportType"));
+        assertEquals("Central Courts", result.get("location"));
+    }
+
+    @Test
+    void testFallsBackToRegexOnErrorStatus() {
+        LLMService service = serviceAgainst(exchange -> respond(exchange, 429, "{\"error\":{\"message\":\"slow down\"}}"),
+                Duration.ofSeconds(2), 4);
+
+        Map<String, Object> result = service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE).join();
+
+        assertEquals(SportType.TENNIS, result.get("sportType"));
+        assertEquals(3, result.get("playerCount"));
+    }
+
+    @Test
+    void testConcurrencyLimitSkipsApiWithoutWaiting() {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        LLMService service = serviceAgainst(exchange -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, completion("{}"));
+        }, Duration.ofSeconds(5), 1);
+
+        CompletableFuture<Map<String, Object>> inFlight = service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE);
+        CompletableFuture<Map<String, Object>> rejected = service.parseNaturalLanguageEventRequestAsync(TENNIS_MESSAGE);
+
+        assertTrue(rejected.isDone());
+        assertEquals(SportType.TENNIS, rejected.join().get("sportType"));
+        release.countDown();
+        assertEquals(SportType.TENNIS, inFlight.join().get("sportType"));
+        assertEquals(1, calls.get());
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private LLMService serviceAgainst(Handler handler, Duration timeout, int maxConcurrentRequests) {
+        return serviceAgainst(handler, timeout, maxConcurrentRequests, ALWAYS_ESCALATE);
+    }
+
+    private LLMService serviceAgainst(Handler handler, Duration timeout, int maxConcurrentRequests,
+                                      double minLocalConfidence) {
+        return new LLMService(LLMService.Settings.builder()
+                .apiKey("test-key")
+                .apiUrl(startServer(handler))
+                .timeout(timeout)
+                .maxConcurrentRequests(maxConcurrentRequests)
+                .minLocalConfidence(minLocalConfidence)
+                .build(), new ObjectMapper(), cache());
+    }
+
+    /**
+     * Starts a fake chat-completions endpoint; the request body is available as the "body" attribute
+     */
+    private String startServer(Handler handler) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.setAttribute("body", new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            handler.handle(exchange);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        return "http://localhost:" + server.getAddress().getPort() + "/v1/chat/completions";
+    }
+
+    private static EventRequestCache cache() {
+        return new EventRequestCache(new SimpleMeterRegistry(), new ObjectMapper(), 100, Duration.ofHours(1), null,
+                Clock.systemDefaultZone());
+    }
+
+    private static String completion(String content) {
+        return "{\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"" + content + "\"}}]}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.socialsports.service;
+
+import com.socialsports.repository.ProcessedMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageDeduplicatorTest {
+
+    @Mock
+    private ProcessedMessageRepository processedMessageRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2024-01-01T10:00:00Z"));
+    }
+
+    @Test
+    void testRedeliveryIsDetectedAndCounted() {
+        MessageDeduplicator deduplicator = inMemory(100, Duration.ofMinutes(5));
+
+        assertFalse(deduplicator.isDuplicate("wamid.1"));
+        assertTrue(deduplicator.isDuplicate("wamid.1"));
+        assertFalse(deduplicator.isDuplicate("wamid.2"));
+
+        assertEquals(1.0, meterRegistry.counter("webhook.messages.duplicates").count());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        MessageDeduplicator deduplicator = inMemory(100, Duration.ofMinutes(5));
+
+        assertFalse(deduplicator.isDuplicate("wamid.1"));
+        clock.advance(Duration.ofMinutes(6));
+
+        assertFalse(deduplicator.isDuplicate("wamid.1"));
+        assertEquals(1, deduplicator.size());
+    }
+
+    @Test
+    void testSetIsBounded() {
+        MessageDeduplicator deduplicator = inMemory(2, Duration.ofMinutes(5));
+
+        deduplicator.isDuplicate("a");
+        deduplicator.isDuplicate("b");
+        deduplicator.isDuplicate("c");
+
+        assertEquals(2, deduplicator.size());
+        assertFalse(deduplicator.isDuplicate("a")); // Evicted as eldest
+    }
+
+    @Test
+    void testMissingIdIsNeverDuplicate() {
+        MessageDeduplicator deduplicator = inMemory(100, Duration.ofMinutes(5));
+
+        assertFalse(deduplicator.isDuplicate(null));
+        assertFalse(deduplicator.isDuplicate(null));
+    }
+
+    @Test
+    void testForgottenMessageIsNoLongerDuplicate() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(processedMessageRepository, meterRegistry,
+                100, Duration.ofMinutes(5), true, clock);
+        when(processedMessageRepository.markProcessed(eq("wamid.1"), any(Instant.class))).thenReturn(true);
+
+        assertFalse(deduplicator.isDuplicate("wamid.1"));
+        deduplicator.forget("wamid.1");
+
+        assertFalse(deduplicator.isDuplicate("wamid.1"));
+        verify(processedMessageRepository).forget("wamid.1");
+    }
+
+    @Test
+    void testPersistentTierCatchesDuplicatesFromOtherInstances() {
+        when(processedMessageRepository.markProcessed(eq("wamid.1"), any(Instant.class))).thenReturn(false);
+        MessageDeduplicator deduplicator = new MessageDeduplicator(processedMessageRepository, meterRegistry,
+                100, Duration.ofMinutes(5), true, clock);
+
+        assertTrue(deduplicator.isDuplicate("wamid.1"));
+        verify(processedMessageRepository).markProcessed("wamid.1", clock.instant().plus(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void testPersistentTierFailureFailsOpen() {
+        when(processedMessageRepository.markProcessed(any(), any())).thenThrow(new RuntimeException("unavailable"));
+        MessageDeduplicator deduplicator = new MessageDeduplicator(processedMessageRepository, meterRegistry,
+                100, Duration.ofMinutes(5), true, clock);
+
+        assertFalse(deduplicator.isDuplicate("wamid.1"));
+    }
+
+    private MessageDeduplicator inMemory(int maxEntries, Duration ttl) {
+        return new MessageDeduplicator(processedMessageRepository, meterRegistry, maxEntries, ttl, false, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.socialsports.service;
+
+import com.socialsports.model.InboundMessage;
+import com.socialsports.service.InboundRateLimiter.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageDispatcherTest {
+
+    @Mock
+    private MessageProcessingService messageProcessingService;
+
+    @Mock
+    private MessageDeduplicator messageDeduplicator;
+
+    @Mock
+    private InboundRateLimiter inboundRateLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testFullLaneDropsAndCountsMessages() throws Exception {
+        when(inboundRateLimiter.check("+111")).thenReturn(Decision.ALLOW);
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            processing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(messageProcessingService).processMessage(eq("+111"), anyString());
+        // One lane holding two queued messages
+        MessageDispatcher dispatcher = new MessageDispatcher(messageProcessingService, messageDeduplicator,
+                inboundRateLimiter, meterRegistry, 1, 2, false);
+
+        dispatcher.dispatch(message("m1"));
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(message("m2"));
+        dispatcher.dispatch(message("m3"));
+        dispatcher.dispatch(message("m4"));
+        release.countDown();
+        dispatcher.shutdown();
+
+        assertEquals(1.0, meterRegistry.get("webhook.messages.lane_full").counter().count());
+        verify(messageProcessingService, times(3)).processMessage(eq("+111"), anyString());
+        verify(messageProcessingService, never()).processMessage("+111", "m4");
+        // Only the dropped message may be redelivered
+        verify(messageDeduplicator).forget("m4");
+        verify(messageDeduplicator, never()).forget("m2");
+    }
+
+    private static InboundMessage message(String id) {
+        return InboundMessage.builder()
+                .id(id)
+                .from("+111")
+                .body(id)
+                .build();
+    }
+}
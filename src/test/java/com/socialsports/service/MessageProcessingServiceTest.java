@@ -0,0 +1,48 @@
+package com.socialsports.service;
+
+import com.socialsports.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageProcessingServiceTest {
+
+    private static final String PHONE_NUMBER = "+31610000002";
+    private static final String USER_ID = "user-2";
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private WhatsAppService whatsAppService;
+
+    @InjectMocks
+    private MessageProcessingService messageProcessingService;
+
+    @Test
+    void testJoinAndLeaveUseTheSendersUserId() {
+        when(userService.getUserByPhoneNumber(PHONE_NUMBER)).thenReturn(Optional.of(User.builder()
+                .userId(USER_ID)
+                .phoneNumber(PHONE_NUMBER)
+                .build()));
+
+        messageProcessingService.processMessage(PHONE_NUMBER, "JOIN event-1");
+        messageProcessingService.processMessage(PHONE_NUMBER, "LEAVE event-1");
+
+        // Participant and waitlist entries are user IDs, so a waitlisted sender can leave too
+        verify(eventService).joinEvent("event-1", USER_ID);
+        verify(eventService).leaveEvent("event-1", USER_ID);
+        verify(whatsAppService, never()).sendTextMessage(anyString(), anyString());
+    }
+}
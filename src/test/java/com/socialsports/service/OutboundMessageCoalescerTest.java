@@ -0,0 +1,117 @@
+package com.socialsports.service;
+
+import com.socialsports.model.OutboundMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundMessageCoalescerTest {
+
+    private ScheduledExecutorService scheduler;
+    private Map<String, List<String>> sent;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        sent = new ConcurrentHashMap<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testMessagesToSameRecipientAreMerged() {
+        OutboundMessageCoalescer coalescer = coalescer(Duration.ofHours(1), 10);
+
+        coalescer.submit(message("+111", "Joined"));
+        coalescer.submit(message("+111", "Reminder"));
+        coalescer.submit(message("+222", "Cancelled"));
+        coalescer.flushAll();
+
+        assertEquals(List.of("Joined" + OutboundMessageCoalescer.SECTION_SEPARATOR + "Reminder"), sent.get("+111"));
+        assertEquals(List.of("Cancelled"), sent.get("+222"));
+    }
+
+    @Test
+    void testBatchIsFlushedAtMessageCap() {
+        OutboundMessageCoalescer coalescer = coalescer(Duration.ofHours(1), 2);
+
+        coalescer.submit(message("+111", "a"));
+        coalescer.submit(message("+111", "b"));
+        coalescer.submit(message("+111", "c"));
+
+        assertEquals(List.of("a" + OutboundMessageCoalescer.SECTION_SEPARATOR + "b"), sent.get("+111"));
+
+        coalescer.flushAll();
+        assertEquals(2, sent.get("+111").size());
+        assertEquals("c", sent.get("+111").get(1));
+    }
+
+    @Test
+    void testBatchIsFlushedBeforeExceedingTextLimit() {
+        OutboundMessageCoalescer coalescer = coalescer(Duration.ofHours(1), 10);
+        String large = "x".repeat(3000);
+
+        coalescer.submit(message("+111", large));
+        coalescer.submit(message("+111", large));
+        coalescer.flushAll();
+
+        assertEquals(List.of(large, large), sent.get("+111"));
+    }
+
+    @Test
+    void testBatchIsFlushedWhenWindowEnds() throws InterruptedException {
+        OutboundMessageCoalescer coalescer = coalescer(Duration.ofMillis(20), 10);
+
+        coalescer.submit(message("+111", "a"));
+        coalescer.submit(message("+111", "b"));
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!sent.containsKey("+111") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of("a" + OutboundMessageCoalescer.SECTION_SEPARATOR + "b"), sent.get("+111"));
+    }
+
+    @Test
+    void testMergedMessageKeepsSharedEventIdAndFirstQueueTime() {
+        List<OutboundMessage> delivered = new CopyOnWriteArrayList<>();
+        OutboundMessageCoalescer coalescer = new OutboundMessageCoalescer(Duration.ofHours(1), 10,
+                delivered::add, scheduler, Runnable::run, new SimpleMeterRegistry());
+
+        coalescer.submit(new OutboundMessage("+111", "a", "ev-1", 100));
+        coalescer.submit(new OutboundMessage("+111", "b", "ev-1", 200));
+        coalescer.submit(new OutboundMessage("+222", "c", "ev-1", 300));
+        coalescer.submit(new OutboundMessage("+222", "d", "ev-2", 400));
+        coalescer.flushAll();
+
+        OutboundMessage first = delivered.stream().filter(m -> m.getRecipient().equals("+111")).findFirst().orElseThrow();
+        OutboundMessage second = delivered.stream().filter(m -> m.getRecipient().equals("+222")).findFirst().orElseThrow();
+        assertEquals("ev-1", first.getEventId());
+        assertEquals(100, first.getQueuedAt());
+        assertNull(second.getEventId());
+    }
+
+    private OutboundMessageCoalescer coalescer(Duration window, int maxMessages) {
+        return new OutboundMessageCoalescer(window, maxMessages,
+                message -> sent.computeIfAbsent(message.getRecipient(), r -> new CopyOnWriteArrayList<>()).add(message.getBody()),
+                scheduler, Runnable::run, new SimpleMeterRegistry());
+    }
+
+    private static OutboundMessage message(String recipient, String body) {
+        return new OutboundMessage(recipient, body, null, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,167 @@
+package com.socialsports.service;
+
+import com.socialsports.model.Event;
+import com.socialsports.model.EventChange;
+import com.socialsports.model.EventChangeType;
+import com.socialsports.model.EventStatus;
+import com.socialsports.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2030-05-06T10:00:00Z");
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventService eventService;
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private ReminderScheduler reminderScheduler;
+
+    @BeforeEach
+    void setUp() {
+        ShardLeaseManager singleNode = new ShardLeaseManager(null, false, 16, 30_000, "test-node", clock);
+        reminderScheduler = new ReminderScheduler(eventRepository, eventService, singleNode, true,
+                Duration.ofSeconds(1), 64, clock, Runnable::run);
+    }
+
+    @Test
+    void testRemindersFireOnTime() {
+        Event event = event("e1", Duration.ofHours(30), false);
+        reminderScheduler.onEventChange(change(EventChangeType.CREATED, event));
+        assertEquals(2, reminderScheduler.getPendingCount());
+
+        advance(Duration.ofHours(6).minusSeconds(1));
+        verifyNoInteractions(eventService);
+
+        advance(Duration.ofSeconds(1));
+        // The timer carries the full key, so the event is read by key when it fires
+        verify(eventService).sendEventReminder("e1", event.getEventTimeString(), EventService.REMINDER_24H);
+        verify(eventService, never()).sendEventReminder("e1", event.getEventTimeString(), EventService.REMINDER_2H);
+
+        advance(Duration.ofHours(22));
+        verify(eventService).sendEventReminder("e1", event.getEventTimeString(), EventService.REMINDER_2H);
+        assertEquals(0, reminderScheduler.getPendingCount());
+    }
+
+    @Test
+    void testCancelledEventsAndSentRemindersHaveNoTimers() {
+        Event event = event("e1", Duration.ofHours(30), false);
+        reminderScheduler.onEventChange(change(EventChangeType.CREATED, event));
+
+        event.getRemindersSent().put(EventService.REMINDER_24H, true);
+        reminderScheduler.onEventChange(change(EventChangeType.REMINDER_SENT, event));
+        assertEquals(1, reminderScheduler.getPendingCount());
+
+        event.setStatus(EventStatus.CANCELED);
+        reminderScheduler.onEventChange(change(EventChangeType.CANCELED, event));
+        assertEquals(0, reminderScheduler.getPendingCount());
+
+        advance(Duration.ofHours(30));
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void testOverdueReminderFiresOnNextTick() {
+        // Confirmed five hours before the event: the 24h reminder is already due
+        reminderScheduler.onEventChange(change(EventChangeType.PARTICIPANT_JOINED, event("e1", Duration.ofHours(5), true)));
+
+        advance(Duration.ofSeconds(1));
+
+        verify(eventService).sendEventReminder(eq("e1"), anyString(), eq(EventService.REMINDER_24H));
+        verify(eventService, never()).sendEventReminder(eq("e1"), anyString(), eq(EventService.REMINDER_2H));
+    }
+
+    @Test
+    void testRegistersUpcomingEventsFromRepository() {
+        when(eventRepository.findUpcomingEvents(any(LocalDateTime.class)))
+                .thenReturn(List.of(event("e1", Duration.ofHours(30), false), event("e2", Duration.ofHours(3), true)));
+
+        reminderScheduler.registerUpcomingEvents();
+
+        assertEquals(4, reminderScheduler.getPendingCount());
+    }
+
+    @Test
+    void testReminderFailureDoesNotStopTheWheel() {
+        doThrow(new IllegalStateException("WhatsApp down")).when(eventService).sendEventReminder(anyString(), anyString(), anyString());
+        reminderScheduler.onEventChange(change(EventChangeType.CREATED, event("e1", Duration.ofHours(3), true)));
+
+        advance(Duration.ofSeconds(1));
+        advance(Duration.ofHours(1));
+
+        verify(eventService).sendEventReminder(eq("e1"), anyString(), eq(EventService.REMINDER_24H));
+        verify(eventService).sendEventReminder(eq("e1"), anyString(), eq(EventService.REMINDER_2H));
+    }
+
+    private void advance(Duration duration) {
+        clock.advance(duration);
+        reminderScheduler.tick();
+    }
+
+    private Event event(String id, Duration startsIn, boolean confirmed) {
+        Map<String, Boolean> remindersSent = new HashMap<>();
+        remindersSent.put(EventService.REMINDER_24H, false);
+        remindersSent.put(EventService.REMINDER_2H, false);
+        return Event.builder()
+                .id(id)
+                .eventTime(LocalDateTime.ofInstant(NOW.plus(startsIn), ZoneOffset.UTC))
+                .status(confirmed ? EventStatus.CONFIRMED : EventStatus.CREATED)
+                .remindersSent(remindersSent)
+                .build();
+    }
+
+    private static EventChange change(EventChangeType type, Event event) {
+        return EventChange.builder().type(type).event(event).occurredAt(LocalDateTime.now()).build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
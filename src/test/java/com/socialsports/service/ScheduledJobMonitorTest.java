@@ -0,0 +1,126 @@
+package com.socialsports.service;
+
+import com.socialsports.model.ScheduledJobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledJobMonitorTest {
+
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MutableClock clock;
+    private ScheduledJobMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2030-05-06T10:00:00Z"));
+        monitor = new ScheduledJobMonitor(meterRegistry, clock);
+    }
+
+    @Test
+    void testSuccessfulRunIsRecorded() {
+        assertTrue(monitor.run("job", INTERVAL, () -> clock.advance(Duration.ofSeconds(2))));
+
+        ScheduledJobStatus status = monitor.getStatus("job");
+        assertEquals(Instant.parse("2030-05-06T10:00:00Z"), status.getLastStartedAt());
+        assertEquals(2000, status.getLastDurationMillis());
+        assertEquals(ScheduledJobMonitor.SUCCESS, status.getLastOutcome());
+        assertFalse(status.isRunning());
+        assertEquals(1, status.getRuns());
+        assertEquals(1, meterRegistry.get("scheduled.job").tag("job", "job").tag("outcome", "success").timer().count());
+        assertEquals(2.0, meterRegistry.get("scheduled.job.last.duration").tag("job", "job").gauge().value());
+        assertEquals(1.0, meterRegistry.get("scheduled.job.last.success").tag("job", "job").gauge().value());
+    }
+
+    @Test
+    void testFailureIsRecordedNotThrown() {
+        assertFalse(monitor.run("job", INTERVAL, () -> {
+            throw new IllegalStateException("table unavailable");
+        }));
+
+        ScheduledJobStatus status = monitor.getStatus("job");
+        assertEquals(ScheduledJobMonitor.FAILURE, status.getLastOutcome());
+        assertEquals("IllegalStateException: table unavailable", status.getLastError());
+        assertEquals(1, status.getFailures());
+        assertEquals(1, meterRegistry.get("scheduled.job").tag("outcome", "failure").timer().count());
+        assertEquals(0.0, meterRegistry.get("scheduled.job.last.success").tag("job", "job").gauge().value());
+
+        monitor.run("job", INTERVAL, () -> { });
+        assertNull(monitor.getStatus("job").getLastError());
+    }
+
+    @Test
+    void testRunLongerThanIntervalIsAnOverrun() {
+        monitor.run("job", INTERVAL, () -> clock.advance(Duration.ofSeconds(30)));
+        monitor.run("job", INTERVAL, () -> clock.advance(Duration.ofSeconds(90)));
+
+        assertEquals(1, monitor.getStatus("job").getOverruns());
+        assertEquals(1.0, meterRegistry.get("scheduled.job.overruns").tag("job", "job").counter().count());
+    }
+
+    @Test
+    void testLateStartIsAMisfire() {
+        monitor.run("job", INTERVAL, () -> clock.advance(Duration.ofSeconds(10)));
+
+        // Fixed delay: next start 10 s run + 60 s delay later, within tolerance
+        clock.advance(Duration.ofSeconds(62));
+        monitor.run("job", INTERVAL, () -> { });
+        assertEquals(0, monitor.getStatus("job").getMisfires());
+
+        // Skipped a whole interval
+        clock.advance(Duration.ofMinutes(2));
+        monitor.run("job", INTERVAL, () -> { });
+        assertEquals(1, monitor.getStatus("job").getMisfires());
+        assertEquals(1.0, meterRegistry.get("scheduled.job.misfires").tag("job", "job").counter().count());
+    }
+
+    @Test
+    void testJobsAreTrackedSeparately() {
+        monitor.run("stats-refresh", Duration.ofHours(6), () -> { });
+        monitor.run("event-reminders", Duration.ofHours(1), () -> { });
+        monitor.run("event-reminders", Duration.ofHours(1), () -> { });
+
+        assertEquals(2, monitor.getStatuses().size());
+        assertEquals("event-reminders", monitor.getStatuses().get(0).getJob());
+        assertEquals(2, monitor.getStatus("event-reminders").getRuns());
+        assertEquals(1, monitor.getStatus("stats-refresh").getRuns());
+        assertNull(monitor.getStatus("unknown"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.socialsports.service;
+
+import com.socialsports.config.SchedulingConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledTasksServiceTest {
+
+    @Test
+    void testLeaseHeartbeatHasTheLeasesSchedulerToItself() throws Exception {
+        Method heartbeat = ScheduledTasksService.class.getMethod("renewShardLeases");
+        assertEquals(SchedulingConfig.LEASES_SCHEDULER, heartbeat.getAnnotation(Scheduled.class).scheduler());
+
+        List<String> sharing = Arrays.stream(ScheduledTasksService.class.getMethods())
+                .filter(method -> method.isAnnotationPresent(Scheduled.class))
+                .filter(method -> SchedulingConfig.LEASES_SCHEDULER.equals(method.getAnnotation(Scheduled.class).scheduler()))
+                .map(Method::getName)
+                .toList();
+        assertEquals(List.of("renewShardLeases"), sharing);
+    }
+}
@@ -0,0 +1,197 @@
+package com.socialsports.service;
+
+import com.socialsports.model.Lease;
+import com.socialsports.repository.LeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardLeaseManagerTest {
+
+    private static final int SHARDS = 16;
+    private static final long TTL_MS = 30_000;
+
+    @Mock
+    private LeaseRepository leaseRepository;
+
+    // Stand-in for the Lease table with the same conditional semantics
+    private final Map<String, Lease> table = new ConcurrentHashMap<>();
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-05-06T10:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(leaseRepository.tryAcquire(anyString(), anyString(), anyLong(), anyLong())).thenAnswer(call -> {
+            String key = call.getArgument(0);
+            String owner = call.getArgument(1);
+            long now = call.getArgument(2);
+            Lease current = table.get(key);
+            if (current != null && current.getExpiresAt() >= now && !current.getOwner().equals(owner)) {
+                return false;
+            }
+            table.put(key, Lease.builder().leaseKey(key).owner(owner).expiresAt(call.getArgument(3)).build());
+            return true;
+        });
+        lenient().doAnswer(call -> {
+            Lease current = table.get(call.<String>getArgument(0));
+            if (current != null && current.getOwner().equals(call.getArgument(1))) {
+                table.remove(call.<String>getArgument(0));
+            }
+            return null;
+        }).when(leaseRepository).release(anyString(), anyString());
+        lenient().doAnswer(call -> {
+            Lease current = table.get(call.<String>getArgument(0));
+            if (current != null && current.getExpiresAt() < call.<Long>getArgument(1)) {
+                table.remove(call.<String>getArgument(0));
+            }
+            return null;
+        }).when(leaseRepository).deleteExpired(anyString(), anyLong());
+        lenient().when(leaseRepository.findAll()).thenAnswer(call -> List.copyOf(table.values()));
+    }
+
+    @Test
+    void testSingleNodeClaimsEveryShard() {
+        ShardLeaseManager node = node("a");
+
+        node.heartbeat();
+
+        assertEquals(SHARDS, node.getOwnedShards().size());
+        assertTrue(node.owns(LocalDateTime.of(2030, 5, 7, 18, 0)));
+    }
+
+    @Test
+    void testShardsAreSplitWhenANodeJoins() {
+        ShardLeaseManager a = node("a");
+        ShardLeaseManager b = node("b");
+
+        a.heartbeat();
+        b.heartbeat(); // Sees two nodes, but every shard is taken
+        assertTrue(b.getOwnedShards().isEmpty());
+        a.heartbeat(); // Releases its surplus
+        b.heartbeat(); // Claims it
+
+        assertEquals(SHARDS / 2, a.getOwnedShards().size());
+        assertEquals(SHARDS / 2, b.getOwnedShards().size());
+        Set<Integer> overlap = new HashSet<>(a.getOwnedShards());
+        overlap.retainAll(b.getOwnedShards());
+        assertTrue(overlap.isEmpty());
+
+        // Each event is owned by exactly one node
+        for (int hour = 0; hour < 48; hour++) {
+            LocalDateTime eventTime = LocalDateTime.of(2030, 5, 7, 0, 0).plusHours(hour);
+            assertTrue(a.owns(eventTime) ^ b.owns(eventTime));
+        }
+    }
+
+    @Test
+    void testShardsOfADeadNodeAreTakenOverAfterExpiry() {
+        ShardLeaseManager a = node("a");
+        ShardLeaseManager b = node("b");
+        a.heartbeat();
+        b.heartbeat();
+        a.heartbeat();
+        b.heartbeat();
+        Set<Integer> acquired = new HashSet<>();
+        a.addAcquisitionListener(acquired::addAll);
+
+        // b stops heartbeating
+        clock.advance(Duration.ofMillis(TTL_MS / 2));
+        a.heartbeat();
+        assertEquals(SHARDS / 2, a.getOwnedShards().size());
+
+        clock.advance(Duration.ofMillis(TTL_MS));
+        a.heartbeat();
+        assertEquals(SHARDS, a.getOwnedShards().size());
+        assertEquals(b.getOwnedShards(), acquired);
+    }
+
+    @Test
+    void testLeasesOfLongDeadNodesAreDeleted() {
+        ShardLeaseManager a = node("a");
+        ShardLeaseManager crashed = node("crashed");
+        a.heartbeat();
+        crashed.heartbeat();
+
+        clock.advance(Duration.ofMillis(TTL_MS * 2));
+        a.heartbeat();
+        assertTrue(table.containsKey("node/crashed"), "Recently expired node leases are kept");
+
+        clock.advance(Duration.ofMillis(TTL_MS * ShardLeaseManager.DEAD_NODE_TTLS));
+        a.heartbeat();
+        assertFalse(table.containsKey("node/crashed"));
+        assertTrue(table.containsKey("node/a"));
+    }
+
+    @Test
+    void testReleaseAllHandsShardsOver() {
+        ShardLeaseManager a = node("a");
+        ShardLeaseManager b = node("b");
+        a.heartbeat();
+
+        a.releaseAll();
+        b.heartbeat();
+
+        assertTrue(a.getOwnedShards().isEmpty());
+        assertEquals(SHARDS, b.getOwnedShards().size());
+    }
+
+    @Test
+    void testDisabledOwnsEverythingWithoutLeases() {
+        ShardLeaseManager node = new ShardLeaseManager(leaseRepository, false, SHARDS, TTL_MS, "a", clock);
+
+        node.heartbeat();
+
+        assertTrue(node.owns(LocalDateTime.of(2030, 5, 7, 18, 0)));
+        verifyNoInteractions(leaseRepository);
+    }
+
+    private ShardLeaseManager node(String nodeId) {
+        return new ShardLeaseManager(leaseRepository, true, SHARDS, TTL_MS, nodeId, clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.socialsports.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialsports.model.SportType;
+import com.socialsports.service.EventRequestCache;
+import com.socialsports.service.LLMService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatCompletionsSimulatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private ChatCompletionsSimulator simulator;
+
+    @AfterEach
+    void tearDown() {
+        simulator.stop();
+    }
+
+    @Test
+    void testAnswersBatchWithScriptedResults() throws IOException {
+        simulator = start(0.0);
+        simulator.script("Padel later?", objectMapper.readTree("{\"sportType\":\"PADEL\",\"playerCount\":3}"));
+
+        JsonNode response = restTemplate.postForObject(simulator.getCompletionsUrl(),
+                chatRequest(objectMapper.writeValueAsString(List.of("  padel LATER? ", "unscripted"))), JsonNode.class);
+
+        JsonNode answer = objectMapper.readTree(response.path("choices").path(0).path("message").path("content").asText());
+        assertEquals("PADEL", answer.path("results").path(0).path("sportType").asText());
+        assertEquals(3, answer.path("results").path(0).path("playerCount").asInt());
+        assertTrue(answer.path("results").path(1).path("sportType").isNull());
+        assertEquals(Map.of("requests", 1L, "messages", 2L, "scripted", 1L, "failed", 0L, "rateLimited", 0L),
+                simulator.getStats());
+    }
+
+    @Test
+    void testRateLimitResponses() throws IOException {
+        simulator = start(1.0);
+
+        HttpClientErrorException e = assertThrows(HttpClientErrorException.class, () ->
+                restTemplate.postForObject(simulator.getCompletionsUrl(), chatRequest("tennis?"), String.class));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+        assertEquals(1L, simulator.getStats().get("rateLimited"));
+    }
+
+    @Test
+    void testDrivesLLMServiceOffline() throws IOException {
+        simulator = start(0.0);
+        simulator.loadScript(new ByteArrayInputStream("""
+                {"message": "anyone for a game later", "answer": {"sportType": "SQUASH", "location": "Squash Club"}}
+                """.getBytes(StandardCharsets.UTF_8)));
+        LLMService llmService = new LLMService(LLMService.Settings.builder()
+                .apiKey("test-key")
+                .apiUrl(simulator.getCompletionsUrl())
+                .timeout(Duration.ofSeconds(2))
+                .build(), objectMapper,
+                new EventRequestCache(new SimpleMeterRegistry(), objectMapper, 100, 60, ""));
+
+        Map<String, Object> result = llmService.parseNaturalLanguageEventRequest("Anyone for a game later");
+
+        assertEquals(SportType.SQUASH, result.get("sportType"));
+        assertEquals("Squash Club", result.get("location"));
+        assertEquals(1L, simulator.getStats().get("scripted"));
+    }
+
+    private ChatCompletionsSimulator start(double rateLimitRate) throws IOException {
+        ChatCompletionsSimulator started = new ChatCompletionsSimulator(objectMapper,
+                new ChatCompletionsSimulator.Settings(0, 0, 0, 0.0, rateLimitRate));
+        started.start();
+        return started;
+    }
+
+    private static Map<String, Object> chatRequest(String userContent) {
+        return Map.of("model", "gpt-4", "messages", List.of(
+                Map.of("role", "system", "content", "Extract event details"),
+                Map.of("role", "user", "content", userContent)));
+    }
+}
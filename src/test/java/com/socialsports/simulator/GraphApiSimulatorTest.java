@@ -0,0 +1,94 @@
+package com.socialsports.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphApiSimulatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final RestTemplate restTemplate = new RestTemplate();
+    private GraphApiSimulator simulator;
+
+    @AfterEach
+    void tearDown() {
+        simulator.stop();
+    }
+
+    @Test
+    void testAcceptsAndRecordsMessages() throws IOException {
+        simulator = start(0.0, 0.0);
+
+        JsonNode response = restTemplate.postForObject(simulator.getBaseUrl() + "/v17.0/123/messages",
+                textMessage("+111", "hello"), JsonNode.class);
+
+        String messageId = response.path("messages").path(0).path("id").asText();
+        assertTrue(messageId.startsWith("wamid.SIM"));
+
+        List<GraphApiSimulator.RecordedMessage> recorded = simulator.getRecordedMessages();
+        assertEquals(1, recorded.size());
+        assertEquals(messageId, recorded.get(0).getMessageId());
+        assertEquals("123", recorded.get(0).getPhoneNumberId());
+        assertEquals("+111", recorded.get(0).getTo());
+        assertEquals("hello", recorded.get(0).getBody());
+        assertEquals(1L, simulator.getStats().get("accepted"));
+    }
+
+    @Test
+    void testRateLimitResponses() throws IOException {
+        simulator = start(0.0, 1.0);
+
+        HttpClientErrorException e = assertThrows(HttpClientErrorException.class, () ->
+                restTemplate.postForObject(simulator.getBaseUrl() + "/v17.0/123/messages",
+                        textMessage("+111", "hello"), String.class));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+        assertTrue(e.getResponseBodyAsString().contains("130429"));
+        assertTrue(simulator.getRecordedMessages().isEmpty());
+    }
+
+    @Test
+    void testErrorResponses() throws IOException {
+        simulator = start(1.0, 0.0);
+
+        assertThrows(HttpServerErrorException.class, () ->
+                restTemplate.postForObject(simulator.getBaseUrl() + "/v17.0/123/messages",
+                        textMessage("+111", "hello"), String.class));
+        assertEquals(1L, simulator.getStats().get("failed"));
+    }
+
+    @Test
+    void testResetClearsRecordedMessages() throws IOException {
+        simulator = start(0.0, 0.0);
+        restTemplate.postForObject(simulator.getBaseUrl() + "/v17.0/123/messages",
+                textMessage("+111", "hello"), String.class);
+
+        restTemplate.delete(simulator.getBaseUrl() + "/__simulator/messages");
+
+        assertTrue(simulator.getRecordedMessages().isEmpty());
+        assertEquals(0L, simulator.getStats().get("accepted"));
+    }
+
+    private GraphApiSimulator start(double errorRate, double rateLimitRate) throws IOException {
+        GraphApiSimulator started = new GraphApiSimulator(objectMapper,
+                new GraphApiSimulator.Settings(0, 0, 0, errorRate, rateLimitRate, 100));
+        started.start();
+        return started;
+    }
+
+    private static Map<String, Object> textMessage(String to, String body) {
+        return Map.of("messaging_product", "whatsapp", "to", to, "type", "text", "text", Map.of("body", body));
+    }
+}
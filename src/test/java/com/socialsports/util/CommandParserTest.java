@@ -0,0 +1,72 @@
+package com.socialsports.util;
+
+import com.socialsports.model.Command;
+import com.socialsports.model.CommandType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandParserTest {
+
+    @Test
+    void testParseCommandWithEventId() {
+        Command command = CommandParser.parse("join evt-123");
+
+        assertEquals(CommandType.JOIN, command.getType());
+        assertEquals("evt-123", command.getArgument());
+    }
+
+    @Test
+    void testParseAliases() {
+        assertEquals(CommandType.JOIN, CommandParser.parse("IN evt-1").getType());
+        assertEquals(CommandType.LEAVE, CommandParser.parse("out evt-1").getType());
+        assertEquals(CommandType.LEAVE, CommandParser.parse("Afmelden evt-1").getType());
+        assertEquals(CommandType.HELP, CommandParser.parse("ayuda").getType());
+    }
+
+    @Test
+    void testParseKeywordWithTrailingPunctuation() {
+        assertEquals(CommandType.HELP, CommandParser.parse("Help!").getType());
+        assertEquals(CommandType.HELP, CommandParser.parse("?").getType());
+        assertEquals(CommandType.EVENTS, CommandParser.parse("events?").getType());
+
+        Command command = CommandParser.parse("JOIN, evt-123");
+        assertEquals(CommandType.JOIN, command.getType());
+        assertEquals("evt-123", command.getArgument());
+    }
+
+    @Test
+    void testParseCreateEventKeepsArguments() {
+        Command command = CommandParser.parse(
+                "  create   EVENT PADEL AT City Club ON 2024-05-01 18:30 FOR 4 PLAYERS SKILL 3 ");
+
+        assertEquals(CommandType.CREATE_EVENT, command.getType());
+        assertEquals("PADEL AT City Club ON 2024-05-01 18:30 FOR 4 PLAYERS SKILL 3", command.getArgument());
+    }
+
+    @Test
+    void testParseCreateWithoutEventIsUnknown() {
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("CREATE EVENTS").getType());
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("create").getType());
+    }
+
+    @Test
+    void testParseMissingArgument() {
+        Command command = CommandParser.parse("LEAVE");
+
+        assertEquals(CommandType.LEAVE, command.getType());
+        assertNull(command.getArgument());
+    }
+
+    @Test
+    void testParseUnknownAndEmpty() {
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("hello there").getType());
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse("   ").getType());
+        assertEquals(CommandType.UNKNOWN, CommandParser.parse(null).getType());
+    }
+
+    @Test
+    void testCommandsWithoutArgumentAreShared() {
+        assertSame(CommandParser.parse("HELP"), CommandParser.parse("help please"));
+    }
+}
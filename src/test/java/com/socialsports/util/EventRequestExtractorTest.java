@@ -0,0 +1,93 @@
+package com.socialsports.util;
+
+import com.socialsports.model.EventRequestExtraction;
+import com.socialsports.model.SportType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRequestExtractorTest {
+
+    // Monday
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 6, 10, 0);
+
+    @Test
+    void testExtractCompleteRequest() {
+        EventRequestExtraction extraction = EventRequestExtractor.extract(
+                "padel tomorrow 7pm at Padel City with 3 others", NOW);
+
+        Map<String, Object> details = extraction.getDetails();
+        assertEquals(SportType.PADEL, details.get("sportType"));
+        assertEquals(LocalDateTime.of(2030, 5, 7, 19, 0), details.get("time"));
+        assertEquals("Padel City", details.get("location"));
+        assertEquals(3, details.get("playerCount"));
+        assertEquals(1.0, extraction.getConfidence(), 1e-9);
+    }
+
+    @Test
+    void testExtractMultiWordSportAndWeekday() {
+        Map<String, Object> details = EventRequestExtractor.extract(
+                "Table tennis on Friday 18:30 @ the Sports Hall for 2 players", NOW).getDetails();
+
+        assertEquals(SportType.TABLE_TENNIS, details.get("sportType"));
+        assertEquals(LocalDateTime.of(2030, 5, 10, 18, 30), details.get("time"));
+        assertEquals("the Sports Hall", details.get("location"));
+        assertEquals(2, details.get("playerCount"));
+    }
+
+    @Test
+    void testPlayerCountIsNotMistakenForTime() {
+        Map<String, Object> details = EventRequestExtractor.extract(
+                "Looking for 10 people to play soccer at City Park at 18:30", NOW).getDetails();
+
+        assertEquals(SportType.FOOTBALL, details.get("sportType"));
+        assertEquals(LocalDateTime.of(2030, 5, 6, 18, 30), details.get("time"));
+        assertEquals("City Park", details.get("location"));
+        assertEquals(10, details.get("playerCount"));
+    }
+
+    @Test
+    void testVagueRequestHasLowConfidence() {
+        EventRequestExtraction extraction = EventRequestExtractor.extract("anyone fancy a game this weekend?", NOW);
+
+        assertTrue(extraction.getDetails().isEmpty());
+        assertEquals(0.0, extraction.getConfidence());
+    }
+
+    @Test
+    void testConflictingValuesLowerConfidence() {
+        EventRequestExtraction extraction = EventRequestExtractor.extract(
+                "tennis or squash at 7pm at Central Courts with 3 others", NOW);
+
+        assertTrue(extraction.getConfidence() < 0.8, "confidence " + extraction.getConfidence());
+    }
+
+    @Test
+    void testParseTimeString() {
+        LocalDateTime result = EventRequestExtractor.parseTime("3:30pm", NOW);
+
+        assertNotNull(result);
+        assertEquals(15, result.getHour());
+        assertEquals(30, result.getMinute());
+    }
+
+    @Test
+    void testParseTimeString_24HourFormat() {
+        LocalDateTime result = EventRequestExtractor.parseTime("15:30", NOW);
+
+        assertNotNull(result);
+        assertEquals(15, result.getHour());
+        assertEquals(30, result.getMinute());
+    }
+
+    @Test
+    void testParseTimeStringRejectsInvalidTimes() {
+        assertNull(EventRequestExtractor.parseTime("13pm", NOW));
+        assertNull(EventRequestExtractor.parseTime("25:00", NOW));
+        assertEquals(0, EventRequestExtractor.parseTime("12am", NOW).getHour());
+        assertEquals(12, EventRequestExtractor.parseTime("12pm", NOW).getHour());
+    }
+}
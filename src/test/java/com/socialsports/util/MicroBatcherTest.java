@@ -0,0 +1,100 @@
+package com.socialsports.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    private ScheduledExecutorService scheduler;
+    private List<List<String>> batches;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testFullBatchIsSentImmediately() {
+        MicroBatcher<String, String> batcher = upperCasing(Duration.ofHours(1), 3);
+
+        CompletableFuture<String> a = batcher.submit("a");
+        CompletableFuture<String> b = batcher.submit("b");
+        assertTrue(batches.isEmpty());
+        CompletableFuture<String> c = batcher.submit("c");
+
+        assertEquals(List.of(List.of("a", "b", "c")), batches);
+        assertEquals("A", a.join());
+        assertEquals("B", b.join());
+        assertEquals("C", c.join());
+    }
+
+    @Test
+    void testPartialBatchIsSentWhenWindowEnds() {
+        MicroBatcher<String, String> batcher = upperCasing(Duration.ofMillis(50), 10);
+
+        CompletableFuture<String> a = batcher.submit("a");
+        CompletableFuture<String> b = batcher.submit("b");
+
+        assertEquals("B", b.join());
+        assertEquals("A", a.join());
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+
+    @Test
+    void testFailureFailsEveryItemInBatch() {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(Duration.ofHours(1), 2,
+                items -> CompletableFuture.failedFuture(new IllegalStateException("upstream down")), scheduler);
+
+        CompletableFuture<String> a = batcher.submit("a");
+        CompletableFuture<String> b = batcher.submit("b");
+
+        assertThrows(CompletionException.class, a::join);
+        assertThrows(CompletionException.class, b::join);
+    }
+
+    @Test
+    void testMissingResultsFailTheBatch() {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(Duration.ofHours(1), 2,
+                items -> CompletableFuture.completedFuture(List.of("only one")), scheduler);
+
+        CompletableFuture<String> a = batcher.submit("a");
+        batcher.submit("b");
+
+        assertThrows(CompletionException.class, a::join);
+    }
+
+    @Test
+    void testFlushSendsPendingItems() {
+        MicroBatcher<String, String> batcher = upperCasing(Duration.ofHours(1), 10);
+
+        CompletableFuture<String> a = batcher.submit("a");
+        batcher.flush();
+
+        assertEquals("A", a.join());
+        assertEquals(1, batches.size());
+    }
+
+    private MicroBatcher<String, String> upperCasing(Duration window, int maxSize) {
+        return new MicroBatcher<>(window, maxSize, items -> {
+            batches.add(List.copyOf(items));
+            return CompletableFuture.completedFuture(items.stream().map(String::toUpperCase).toList());
+        }, scheduler);
+    }
+}
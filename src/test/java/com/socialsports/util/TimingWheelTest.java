@@ -0,0 +1,93 @@
+package com.socialsports.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000;
+
+    // 8 slots x 3 levels of 1 s ticks: 8 s, 64 s and 512 s per level, overflow beyond
+    private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofSeconds(1), 8, 3, START);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void testFiresOnFirstTickAtOrAfterDeadline() {
+        schedule("a", START + 2_500);
+
+        assertTrue(run(START + 2_999).isEmpty());
+        assertEquals(List.of("a"), run(START + 3_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testTimersCascadeFromHigherLevelsAndOverflow() {
+        schedule("level1", START + 30_000);
+        schedule("level2", START + 300_000);
+        schedule("overflow", START + 3_600_000);
+
+        assertTrue(run(START + 29_000).isEmpty());
+        assertEquals(List.of("level1"), run(START + 30_000));
+        assertTrue(run(START + 299_000).isEmpty());
+        assertEquals(List.of("level2"), run(START + 300_000));
+        assertTrue(run(START + 3_599_000).isEmpty());
+        assertEquals(List.of("overflow"), run(START + 3_600_000));
+    }
+
+    @Test
+    void testRescheduleReplacesAndCancelRemoves() {
+        schedule("a", START + 5_000);
+        schedule("a", START + 100_000);
+        schedule("b", START + 5_000);
+        assertTrue(wheel.cancel("b"));
+        assertFalse(wheel.cancel("b"));
+
+        assertTrue(run(START + 99_000).isEmpty());
+        assertEquals(List.of("a"), run(START + 100_000));
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextTick() {
+        run(START + 10_000);
+        schedule("late", START);
+
+        assertEquals(List.of("late"), run(START + 11_000));
+    }
+
+    @Test
+    void testEveryTimerFiresExactlyOnItsTick() {
+        Random random = new Random(42);
+        Map<String, Long> expectedTick = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = START + 1 + random.nextInt(2_000_000);
+            expectedTick.put("t" + i, (deadline + 999) / 1_000);
+            schedule("t" + i, deadline);
+        }
+
+        for (long now = START; now <= START + 2_001_000; now += 1_000) {
+            for (String key : run(now)) {
+                assertEquals(expectedTick.remove(key), now / 1_000, key);
+            }
+        }
+        assertTrue(expectedTick.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    private void schedule(String key, long deadline) {
+        wheel.schedule(key, deadline, () -> fired.add(key));
+    }
+
+    private List<String> run(long now) {
+        fired.clear();
+        wheel.advance(now).forEach(Runnable::run);
+        return List.copyOf(fired);
+    }
+}
@@ -0,0 +1,82 @@
+package com.socialsports.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialsports.model.InboundMessage;
+import com.socialsports.model.StatusUpdate;
+import com.socialsports.model.WebhookFormat;
+import com.socialsports.model.WebhookPayload;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookPayloadParserTest {
+
+    private final WebhookPayloadParser parser = new WebhookPayloadParser(new ObjectMapper());
+
+    @Test
+    void testParseCloudApiSkipsUnusedFields() throws IOException {
+        String json = """
+            {"object":"whatsapp_business_account","entry":[{"id":"1","changes":[{"field":"messages","value":{
+              "messaging_product":"whatsapp",
+              "metadata":{"display_phone_number":"31000","phone_number_id":"42"},
+              "contacts":[{"profile":{"name":"Ana"},"wa_id":"31600000001"}],
+              "messages":[
+                {"from":"31600000001","id":"wamid.A","timestamp":"1700000000","type":"text","text":{"body":"JOIN ev-1","preview_url":false}},
+                {"from":"31600000002","id":"wamid.B","timestamp":"1700000001","type":"image","image":{"id":"m1","mime_type":"image/jpeg"}}
+              ]}}]}]}
+            """;
+
+        WebhookPayload payload = parse(json);
+
+        assertEquals(WebhookFormat.CLOUD_API, payload.getFormat());
+        assertEquals(List.of(new InboundMessage("wamid.A", "31600000001", "JOIN ev-1")), payload.getMessages());
+    }
+
+    @Test
+    void testParseCloudApiStatuses() throws IOException {
+        String json = """
+            {"entry":[{"changes":[{"value":{"statuses":[
+              {"id":"wamid.A","status":"read","timestamp":"1700000010","recipient_id":"31600000001"},
+              {"id":"wamid.B","status":"failed","timestamp":"1700000011","recipient_id":"31600000002",
+               "errors":[{"code":131047,"title":"Re-engagement message"},{"code":1}]}
+            ]}}]}]}
+            """;
+
+        WebhookPayload payload = parse(json);
+
+        assertTrue(payload.getMessages().isEmpty());
+        assertEquals(List.of(
+                new StatusUpdate("wamid.A", "read", 1700000010L, "31600000001", null),
+                new StatusUpdate("wamid.B", "failed", 1700000011L, "31600000002", 131047)),
+                payload.getStatuses());
+    }
+
+    @Test
+    void testParseTwilio() throws IOException {
+        WebhookPayload payload = parse("{\"AccountSid\":\"AC1\",\"From\":\"whatsapp:+316\",\"Body\":\"HELP\",\"MessageSid\":\"SM9\"}");
+
+        assertEquals(WebhookFormat.TWILIO, payload.getFormat());
+        assertEquals(List.of(new InboundMessage("SM9", "whatsapp:+316", "HELP")), payload.getMessages());
+    }
+
+    @Test
+    void testParseUnknownFormat() throws IOException {
+        WebhookPayload payload = parse("{\"hello\":{\"nested\":[1,2,3]},\"Body\":\"no sender\"}");
+
+        assertEquals(WebhookFormat.UNKNOWN, payload.getFormat());
+        assertTrue(payload.getMessages().isEmpty());
+    }
+
+    @Test
+    void testParseRejectsNonObject() {
+        assertThrows(IOException.class, () -> parse("[1,2]"));
+    }
+
+    private WebhookPayload parse(String json) throws IOException {
+        return parser.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+}